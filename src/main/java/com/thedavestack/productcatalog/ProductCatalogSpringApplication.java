@@ -2,12 +2,15 @@ package com.thedavestack.productcatalog;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.thedavestack.productcatalog.mcp.APIDocumentationResourceProvider;
 import com.thedavestack.productcatalog.mcp.BusinessRulesResourceProvider;
@@ -15,11 +18,15 @@ import com.thedavestack.productcatalog.mcp.CategoryInformationResourceProvider;
 import com.thedavestack.productcatalog.mcp.InventoryStatusResourceProvider;
 import com.thedavestack.productcatalog.mcp.ProductCatalogResourceProvider;
 import com.thedavestack.productcatalog.mcp.ProductManagementPromptProvider;
+import com.thedavestack.productcatalog.security.Permission;
+import com.thedavestack.productcatalog.security.PermissionToolCallback;
 import com.thedavestack.productcatalog.service.ProductService;
+import com.thedavestack.productcatalog.service.StockAdjustmentService;
 
 import io.modelcontextprotocol.server.McpServerFeatures;
 
 @SpringBootApplication
+@EnableScheduling
 public class ProductCatalogSpringApplication {
 
     public static void main(String[] args) {
@@ -31,15 +38,34 @@ public class ProductCatalogSpringApplication {
      * descriptions for better AI interaction and understanding.
      *
      * <p>Available Tools: - findAllProducts: Retrieve complete product catalog - findById: Get
-     * specific product by ID - createProduct: Create new product with validation -
-     * createMultipleProducts: Bulk product creation - updateProduct: Update existing product fields
-     * - deleteProduct: Soft delete product (preserves data) - findAll (paginated): Products with
-     * pagination support - findWithFilters: Advanced search with multiple criteria -
-     * findLowStockProducts: Identify products needing reorder
+     * specific product by ID - findByIdAsOf: Product state at a past instant - createProduct:
+     * Create new product with validation - createMultipleProducts: Bulk product creation -
+     * updateProduct: Update existing product fields - deleteProduct: Soft delete product (preserves
+     * data) - findAll (paginated): Products with pagination support - findWithFilters: Advanced
+     * search with multiple criteria - findLowStockProducts: Identify products needing reorder -
+     * adjustStock: Atomic relative stock change
+     *
+     * <p>Tools are guarded by the same permissions as the matching REST endpoints: READ by default,
+     * WRITE to create, update or adjust stock, DELETE to delete.
      */
     @Bean
-    public ToolCallbackProvider productCatalogTools(ProductService productService) {
-        return MethodToolCallbackProvider.builder().toolObjects(productService).build();
+    public ToolCallbackProvider productCatalogTools(
+            ProductService productService, StockAdjustmentService stockAdjustmentService) {
+        ToolCallback[] tools =
+                MethodToolCallbackProvider.builder()
+                        .toolObjects(productService, stockAdjustmentService)
+                        .build()
+                        .getToolCallbacks();
+        return ToolCallbackProvider.from(
+                PermissionToolCallback.guard(
+                        tools,
+                        Map.of(
+                                "createProduct", Permission.WRITE,
+                                "createMultipleProducts", Permission.WRITE,
+                                "updateProduct", Permission.WRITE,
+                                "adjustStock", Permission.WRITE,
+                                "deleteProduct", Permission.DELETE),
+                        Permission.READ));
     }
 
     @Bean
@@ -6,11 +6,11 @@ import java.util.Map;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
 import org.springframework.boot.actuate.endpoint.annotation.Selector;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
+import com.thedavestack.productcatalog.dto.AuditLogCursor;
 import com.thedavestack.productcatalog.model.AuditLog;
 import com.thedavestack.productcatalog.service.AuditService;
 
@@ -24,29 +24,41 @@ public class AuditEndpoint {
     private final AuditService auditService;
 
     @ReadOperation
-    public Map<String, Object> auditSummary() {
+    public Map<String, Object> auditSummary(@Nullable String cursor) {
         Map<String, Object> summary = new HashMap<>();
 
-        Pageable pageable = PageRequest.of(0, 10);
-        Page<AuditLog> recentAudits = auditService.findAuditLogs(null, null, null, null, pageable);
+        AuditLogCursor position = AuditLogCursor.decode(cursor);
+        Slice<AuditLog> recentAudits =
+                auditService.findAuditLogs(null, null, null, null, position, 10);
 
-        summary.put("totalAuditLogs", recentAudits.getTotalElements());
+        // Estimated from table statistics; an exact count would scan every partition
+        summary.put("totalAuditLogs", auditService.estimateAuditLogCount(null, null, null, null));
         summary.put("recentAudits", recentAudits.getContent());
+        summary.put("nextCursor", nextCursor(recentAudits));
 
         return summary;
     }
 
     @ReadOperation
-    public Map<String, Object> auditByEntity(@Selector String entityId) {
+    public Map<String, Object> auditByEntity(@Selector String entityId, @Nullable String cursor) {
         Map<String, Object> result = new HashMap<>();
 
-        Pageable pageable = PageRequest.of(0, 20);
-        Page<AuditLog> audits = auditService.findByEntityId(entityId, pageable);
+        AuditLogCursor position = AuditLogCursor.decode(cursor);
+        Slice<AuditLog> audits =
+                auditService.findAuditLogs(null, entityId, null, null, position, 20);
 
         result.put("entityId", entityId);
-        result.put("totalLogs", audits.getTotalElements());
+        result.put("totalLogs", auditService.estimateAuditLogCount(null, entityId, null, null));
         result.put("auditLogs", audits.getContent());
+        result.put("nextCursor", nextCursor(audits));
 
         return result;
     }
+
+    private static String nextCursor(Slice<AuditLog> slice) {
+        if (!slice.hasNext()) {
+            return null;
+        }
+        return AuditLogCursor.after(slice.getContent().get(slice.getContent().size() - 1)).encode();
+    }
 }
@@ -0,0 +1,346 @@
+/**
+ * AuditArchive.java
+ *
+ * <p>Purpose: - Cold tier for audit history: keeps months that are no longer queried hot as
+ * append-only segment files on local disk, so PostgreSQL only holds the recent partitions.
+ *
+ * <p>Logic Overview: - A monthly partition is archived by streaming its rows ordered by entity and
+ * newest first into one or more {@link AuditSegment} files, rolling over before a file outgrows a
+ * single memory mapping. - Segments are written under a temporary name and renamed when complete,
+ * so archiving a partition again after a crash simply rewrites it. - Completed segments are mapped
+ * on startup and after archiving; lookups by entity walk them newest month first and stop as soon
+ * as enough entries are found. - Expired months are removed by deleting their files.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thedavestack.productcatalog.dto.AuditLogCursor;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AuditArchive {
+
+    /** Partition name, then the part number within the month. */
+    private static final Pattern SEGMENT_NAME =
+            Pattern.compile("(audit_logs_p\\d{6})\\.(\\d+)\\.seg");
+
+    /** Keeps each file well inside the 2 GiB limit of a single mapping. */
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AuditPayloadCodec payloadCodec;
+    private final boolean enabled;
+    private final Path directory;
+    private final int fetchSize;
+
+    /** Open segments keyed by file name, newest month and highest part first. */
+    private final NavigableMap<String, AuditSegment> segments =
+            new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+
+    public AuditArchive(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AuditPayloadCodec payloadCodec,
+            @Value("${app.audit.archive.enabled:false}") boolean enabled,
+            @Value("${app.audit.archive.dir:audit-archive}") Path directory,
+            @Value("${app.products.stream-fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.payloadCodec = payloadCodec;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.fetchSize = fetchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".seg.tmp")) {
+                    // Left behind by an interrupted archive run; the partition is still in the
+                    // database and will be archived again
+                    Files.delete(file);
+                } else if (SEGMENT_NAME.matcher(name).matches()) {
+                    segments.put(name, AuditSegment.open(file));
+                }
+            }
+        }
+        log.info("Opened {} audit archive segments in {}", segments.size(), directory);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        for (AuditSegment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Copies every row of a monthly audit_logs partition into segment files. The partition itself
+     * is left in place for the caller to drop once this returns.
+     *
+     * @param partition the partition name, e.g. {@code audit_logs_p202401}.
+     * @return the number of rows archived.
+     */
+    public long archivePartition(String partition) {
+        if (!SEGMENT_NAME.matcher(partition + ".0.seg").matches()) {
+            throw new IllegalArgumentException("Not an audit log partition: " + partition);
+        }
+        removeSegments(name -> name.startsWith(partition + "."));
+        List<Path> written = new ArrayList<>();
+        long rows =
+                transactionTemplate.execute(
+                        status -> {
+                            try (PartitionCopy copy = new PartitionCopy(partition, written)) {
+                                jdbcTemplate.query(
+                                        connection -> {
+                                            PreparedStatement statement =
+                                                    connection.prepareStatement(
+                                                            "SELECT id, entity_type, entity_id,"
+                                                                    + " action, username, old_values,"
+                                                                    + " new_values, changes, created_at"
+                                                                    + " FROM "
+                                                                    + partition
+                                                                    + " ORDER BY entity_id COLLATE \"C\","
+                                                                    + " created_at DESC, id DESC");
+                                            statement.setFetchSize(fetchSize);
+                                            return statement;
+                                        },
+                                        copy::append);
+                                copy.finish();
+                                return copy.rows;
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+        try {
+            for (Path file : written) {
+                segments.put(file.getFileName().toString(), AuditSegment.open(file));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info(
+                "Archived {} audit entries from {} into {} segments",
+                rows,
+                partition,
+                written.size());
+        return rows;
+    }
+
+    /**
+     * Returns the newest month with archived segments. Every older month has been archived too,
+     * since partitions are archived oldest first.
+     *
+     * @return the partition name of that month, or empty if nothing is archived.
+     */
+    public Optional<String> newestArchivedPartition() {
+        Map.Entry<String, AuditSegment> newest = segments.firstEntry();
+        if (newest == null) {
+            return Optional.empty();
+        }
+        return Optional.of(newest.getKey().substring(0, newest.getKey().indexOf('.')));
+    }
+
+    /**
+     * Deletes the segments of every month before the given partition's month.
+     *
+     * @param partition the oldest partition name to keep, e.g. {@code audit_logs_p201901}.
+     * @return the number of segment files deleted.
+     */
+    public int deleteBefore(String partition) {
+        return removeSegments(name -> name.compareTo(partition) < 0);
+    }
+
+    /**
+     * Finds archived entries of one entity after the cursor position, newest first.
+     *
+     * @param entityId the entity to look up.
+     * @param cursor the position of the last entry already returned.
+     * @param filter additional conditions an entry must meet.
+     * @param limit maximum number of entries to return.
+     * @return the matching entries, with payloads decoded to JSON.
+     */
+    public List<AuditLog> findByEntityId(
+            String entityId, AuditLogCursor cursor, Predicate<AuditLog> filter, int limit) {
+        List<AuditLog> result = new ArrayList<>();
+        if (!enabled) {
+            return result;
+        }
+        long beforeMicros =
+                cursor.isFirst() ? Long.MAX_VALUE : AuditSegment.Entry.toMicros(cursor.createdAt());
+        UUID beforeId = cursor.isFirst() ? null : UUID.fromString(cursor.id());
+        try {
+            // Parts of the same month overlap in time, so they are merged before the month is
+            // emitted; months themselves are disjoint and already newest first
+            String month = null;
+            List<AuditSegment.Entry> monthEntries = new ArrayList<>();
+            for (Map.Entry<String, AuditSegment> named : segments.entrySet()) {
+                String segmentMonth = named.getKey().substring(0, named.getKey().indexOf('.'));
+                if (!segmentMonth.equals(month)) {
+                    if (emit(monthEntries, filter, limit, result)) {
+                        return result;
+                    }
+                    month = segmentMonth;
+                }
+                monthEntries.addAll(named.getValue().find(entityId, beforeMicros, beforeId));
+            }
+            emit(monthEntries, filter, limit, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /** Adds a month's entries newest first; returns true once the limit is reached. */
+    private boolean emit(
+            List<AuditSegment.Entry> entries,
+            Predicate<AuditLog> filter,
+            int limit,
+            List<AuditLog> result) {
+        entries.sort(
+                Comparator.comparingLong(AuditSegment.Entry::createdAtMicros)
+                        .thenComparing(entry -> entry.id().toString())
+                        .reversed());
+        for (AuditSegment.Entry entry : entries) {
+            AuditLog auditLog = toAuditLog(entry);
+            if (filter.test(auditLog)) {
+                result.add(auditLog);
+                if (result.size() >= limit) {
+                    return true;
+                }
+            }
+        }
+        entries.clear();
+        return false;
+    }
+
+    private AuditLog toAuditLog(AuditSegment.Entry entry) {
+        return AuditLog.builder()
+                .id(entry.id().toString())
+                .entityType(entry.entityType())
+                .entityId(entry.entityId())
+                .action(AuditLog.AuditAction.valueOf(entry.action()))
+                .username(entry.username())
+                .oldValues(payloadCodec.decode(entry.oldValues()))
+                .newValues(payloadCodec.decode(entry.newValues()))
+                .changes(payloadCodec.decode(entry.changes()))
+                .createdAt(entry.createdAt())
+                .build();
+    }
+
+    private int removeSegments(Predicate<String> names) {
+        int removed = 0;
+        for (String name : List.copyOf(segments.keySet())) {
+            if (!names.test(name)) {
+                continue;
+            }
+            AuditSegment segment = segments.remove(name);
+            try {
+                segment.close();
+                Files.deleteIfExists(segment.path());
+                removed++;
+            } catch (IOException e) {
+                log.error("Failed to delete audit segment {}: {}", name, e.getMessage());
+            }
+        }
+        return removed;
+    }
+
+    /** Streams one partition's rows into segment files, rolling over at the size limit. */
+    private final class PartitionCopy implements AutoCloseable {
+
+        private final String partition;
+        private final List<Path> written;
+        private AuditSegmentWriter writer;
+        private long rows;
+
+        PartitionCopy(String partition, List<Path> written) {
+            this.partition = partition;
+            this.written = written;
+        }
+
+        void append(ResultSet row) throws SQLException {
+            try {
+                if (writer == null || writer.size() >= MAX_SEGMENT_BYTES) {
+                    finish();
+                    Path file = directory.resolve(partition + "." + written.size() + ".seg");
+                    writer = new AuditSegmentWriter(file, BLOCK_SIZE);
+                    written.add(file);
+                }
+                Timestamp createdAt = row.getTimestamp("created_at");
+                writer.append(
+                        new AuditSegment.Entry(
+                                row.getObject("id", UUID.class),
+                                row.getString("entity_type"),
+                                row.getString("entity_id"),
+                                row.getString("action"),
+                                row.getString("username"),
+                                row.getBytes("old_values"),
+                                row.getBytes("new_values"),
+                                row.getBytes("changes"),
+                                AuditSegment.Entry.toMicros(createdAt.toInstant())));
+                rows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.finish();
+                writer.close();
+                writer = null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
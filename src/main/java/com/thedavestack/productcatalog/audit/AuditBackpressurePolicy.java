@@ -0,0 +1,11 @@
+package com.thedavestack.productcatalog.audit;
+
+/** What {@link AuditLogWriter} does with an entry when its buffer is full. */
+public enum AuditBackpressurePolicy {
+    /** Wait for the writer to free a slot; the caller slows down to the database's pace. */
+    BLOCK,
+    /** Discard the entry and count it in {@code audit.writer.dropped}. */
+    DROP,
+    /** Append the entry to a local spill file that is replayed once the writer catches up. */
+    SPILL
+}
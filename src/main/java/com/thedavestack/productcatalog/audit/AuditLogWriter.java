@@ -0,0 +1,331 @@
+/**
+ * AuditLogWriter.java
+ *
+ * <p>Purpose: - Persists audit entries in JDBC batches from a single background thread, replacing
+ * one async task, connection and INSERT per entry.
+ *
+ * <p>Logic Overview: - Callers hand entries to a bounded lock-free ring buffer and return
+ * immediately. - The writer thread flushes whenever a full batch is queued or the oldest queued
+ * entry has waited for the flush interval, whichever comes first. - When the buffer is full the
+ * configured {@link AuditBackpressurePolicy} applies: block the caller, drop and count, or spill to
+ * a local NDJSON file that is replayed when the writer is idle. - Queue depth, flush latency and
+ * written, dropped, spilled and failed counts are published to Micrometer as audit.writer.*.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thedavestack.productcatalog.model.AuditLog;
+import com.thedavestack.productcatalog.model.UuidV7Generator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (id, entity_type, entity_id, action, username, old_values,"
+                    + " new_values, changes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT DO NOTHING";
+
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final long BLOCK_PARK_NANOS = Duration.ofMillis(1).toNanos();
+    private static final long SPILL_REPLAY_INTERVAL_NANOS = Duration.ofSeconds(5).toNanos();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AuditPayloadCodec payloadCodec;
+    private final AuditRingBuffer<AuditLog> buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final AuditBackpressurePolicy policy;
+    private final Path spillDirectory;
+    // A lock rather than a monitor, so virtual threads spilling to disk do not pin their carrier
+    private final ReentrantLock spillLock = new ReentrantLock();
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter spilled;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+    private long lastReplayAttempt;
+
+    public AuditLogWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            AuditPayloadCodec payloadCodec,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.writer.buffer-size:8192}") int bufferSize,
+            @Value("${app.audit.writer.batch-size:500}") int batchSize,
+            @Value("${app.audit.writer.flush-interval:200ms}") Duration flushInterval,
+            @Value("${app.audit.writer.backpressure:BLOCK}") AuditBackpressurePolicy policy,
+            @Value("${app.audit.writer.spill-dir:${java.io.tmpdir}/product-catalog-audit}")
+                    Path spillDirectory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.payloadCodec = payloadCodec;
+        this.buffer = new AuditRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.policy = policy;
+        this.spillDirectory = spillDirectory;
+
+        Gauge.builder("audit.writer.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.queue.capacity", buffer, AuditRingBuffer::capacity)
+                .register(meterRegistry);
+        this.flushTimer =
+                Timer.builder("audit.writer.flush")
+                        .description("Time taken to write one batch of audit entries")
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry);
+        this.written = meterRegistry.counter("audit.writer.written");
+        this.dropped = meterRegistry.counter("audit.writer.dropped");
+        this.spilled = meterRegistry.counter("audit.writer.spilled");
+        this.failed = meterRegistry.counter("audit.writer.failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = Thread.ofPlatform().name("audit-writer").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(Duration.ofSeconds(30));
+        }
+    }
+
+    /**
+     * Queues an entry for writing. Assigns its ID and timestamp if they are not set, so the order
+     * of entries reflects when they were produced rather than when they were flushed.
+     *
+     * @param entry the audit entry; must not be modified afterwards.
+     */
+    public void write(AuditLog entry) {
+        stamp(entry);
+        if (!running) {
+            // Shutting down: nothing drains the buffer any more
+            flush(List.of(entry));
+            return;
+        }
+        if (buffer.offer(entry)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writerThread);
+            }
+            return;
+        }
+        switch (policy) {
+            case BLOCK -> {
+                while (!buffer.offer(entry)) {
+                    if (!running) {
+                        flush(List.of(entry));
+                        return;
+                    }
+                    LockSupport.unpark(writerThread);
+                    LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                }
+            }
+            case DROP -> dropped.increment();
+            case SPILL -> spill(List.of(entry));
+        }
+    }
+
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime();
+        while (running) {
+            boolean wasEmpty = batch.isEmpty();
+            buffer.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            if (wasEmpty && !batch.isEmpty()) {
+                deadline = now + flushIntervalNanos;
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && now - deadline >= 0)) {
+                flush(batch);
+                batch.clear();
+            } else if (batch.isEmpty()) {
+                replaySpillFiles();
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            } else {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+        }
+        do {
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        } while (buffer.size() > 0);
+    }
+
+    private void flush(List<AuditLog> batch) {
+        try {
+            flushTimer.record(() -> insert(batch));
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to write {} audit entries: {}", batch.size(), e.getMessage());
+            if (policy == AuditBackpressurePolicy.SPILL) {
+                spill(batch);
+            } else {
+                failed.increment(batch.size());
+            }
+        }
+    }
+
+    private void insert(List<AuditLog> batch) {
+        jdbcTemplate.batchUpdate(
+                INSERT_SQL,
+                batch,
+                batch.size(),
+                (statement, entry) -> bind(statement, entry, payloadCodec));
+    }
+
+    /**
+     * Binds an entry to the parameters of an INSERT listing the audit_logs columns in order,
+     * encoding its payloads with the given codec.
+     */
+    static void bind(PreparedStatement statement, AuditLog entry, AuditPayloadCodec codec)
+            throws SQLException {
+        statement.setObject(1, UUID.fromString(entry.getId()));
+        statement.setString(2, entry.getEntityType());
+        statement.setString(3, entry.getEntityId());
+        statement.setString(4, entry.getAction().name());
+        statement.setString(5, entry.getUsername());
+        statement.setBytes(6, codec.encode(entry.getOldValues()));
+        statement.setBytes(7, codec.encode(entry.getNewValues()));
+        statement.setBytes(8, codec.encode(entry.getChanges()));
+        statement.setTimestamp(9, Timestamp.from(entry.getCreatedAt()));
+    }
+
+    /** Assigns the ID and timestamp of an entry if they are not set yet. */
+    static void stamp(AuditLog entry) {
+        if (entry.getId() == null) {
+            entry.setId(UuidV7Generator.next().toString());
+        }
+        if (entry.getCreatedAt() == null) {
+            entry.setCreatedAt(Instant.now());
+        }
+    }
+
+    private void spill(List<AuditLog> entries) {
+        spillLock.lock();
+        try {
+            try {
+                Files.createDirectories(spillDirectory);
+                try (BufferedWriter writer =
+                        Files.newBufferedWriter(
+                                spillDirectory.resolve(SPILL_FILE),
+                                StandardCharsets.UTF_8,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.APPEND)) {
+                    for (AuditLog entry : entries) {
+                        writer.write(objectMapper.writeValueAsString(entry));
+                        writer.newLine();
+                    }
+                }
+                spilled.increment(entries.size());
+            } catch (IOException e) {
+                log.error("Failed to spill {} audit entries: {}", entries.size(), e.getMessage());
+                failed.increment(entries.size());
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /** Loads spilled entries back once the writer is idle, at most every few seconds. */
+    private void replaySpillFiles() {
+        if (policy != AuditBackpressurePolicy.SPILL
+                || System.nanoTime() - lastReplayAttempt < SPILL_REPLAY_INTERVAL_NANOS
+                || !Files.isDirectory(spillDirectory)) {
+            return;
+        }
+        lastReplayAttempt = System.nanoTime();
+        try {
+            spillLock.lock();
+            try {
+                Path spillFile = spillDirectory.resolve(SPILL_FILE);
+                if (Files.exists(spillFile)) {
+                    Files.move(
+                            spillFile,
+                            spillDirectory.resolve(
+                                    SPILL_FILE + "." + System.nanoTime() + REPLAY_SUFFIX));
+                }
+            } finally {
+                spillLock.unlock();
+            }
+            try (DirectoryStream<Path> files =
+                    Files.newDirectoryStream(spillDirectory, "*" + REPLAY_SUFFIX)) {
+                for (Path file : files) {
+                    replay(file);
+                }
+            }
+        } catch (IOException | DataAccessException e) {
+            log.warn("Audit spill replay deferred: {}", e.getMessage());
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            for (String line : (Iterable<String>) lines::iterator) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(line, AuditLog.class));
+                if (batch.size() == batchSize) {
+                    insert(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch);
+        }
+        // Entries keep their IDs and inserts skip existing keys, so a replay interrupted before
+        // this point can simply run again
+        Files.delete(file);
+        log.info("Replayed spilled audit entries from {}", file.getFileName());
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * AuditOutbox.java
+ *
+ * <p>Purpose: - Makes audit entries part of the business transaction they describe, so entries for
+ * rolled-back changes are never persisted and no second connection is taken per write.
+ *
+ * <p>Logic Overview: - Entries queued inside a read-write transaction are collected per
+ * transaction. - Just before commit they are inserted into audit_outbox with one JDBC batch on the
+ * transaction's own connection. - After commit the {@link AuditOutboxRelay} is signalled to move
+ * them into audit_logs; on rollback they are discarded with the rest of the transaction. - Entries
+ * queued outside a transaction are left to the caller, which hands them to the {@link
+ * AuditLogWriter}.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class AuditOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_outbox (id, entity_type, entity_id, action, username, old_values,"
+                    + " new_values, changes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditOutboxRelay relay;
+    private final AuditPayloadCodec payloadCodec;
+
+    /**
+     * Queues an entry to be written with the current transaction.
+     *
+     * @param entry the audit entry; must not be modified afterwards.
+     * @return true if the entry was queued, false if no read-write transaction is active.
+     */
+    public boolean enqueue(AuditLog entry) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        AuditLogWriter.stamp(entry);
+        PendingEntries pending =
+                (PendingEntries) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingEntries();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.entries.add(entry);
+        return true;
+    }
+
+    private final class PendingEntries implements TransactionSynchronization {
+
+        private final List<AuditLog> entries = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            jdbcTemplate.batchUpdate(
+                    INSERT_SQL,
+                    entries,
+                    entries.size(),
+                    (statement, entry) -> AuditLogWriter.bind(statement, entry, payloadCodec));
+        }
+
+        @Override
+        public void afterCommit() {
+            relay.signal();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditOutbox.this);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * AuditOutboxRelay.java
+ *
+ * <p>Purpose: - Moves committed audit entries from audit_outbox into audit_logs in batches, off the
+ * request path.
+ *
+ * <p>Logic Overview: - A single background thread wakes when a transaction with audit entries
+ * commits, or after the poll interval at the latest. - Each batch is moved by one statement that
+ * deletes the oldest outbox rows and inserts them into audit_logs, so a row is never lost or copied
+ * twice; SKIP LOCKED lets several application instances relay side by side. - Batches are moved
+ * back to back until the outbox is drained. - Relayed counts, batch latency and failures are
+ * published to Micrometer as audit.outbox.*.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AuditOutboxRelay {
+
+    private static final String COLUMNS =
+            "id, entity_type, entity_id, action, username, old_values, new_values, changes,"
+                    + " created_at";
+
+    private static final String MOVE_SQL =
+            "WITH moved AS (DELETE FROM audit_outbox WHERE id IN (SELECT id FROM audit_outbox"
+                    + " ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING "
+                    + COLUMNS
+                    + "), inserted AS (INSERT INTO audit_logs ("
+                    + COLUMNS
+                    + ") SELECT "
+                    + COLUMNS
+                    + " FROM moved ON CONFLICT DO NOTHING) SELECT count(*) FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final long pollIntervalNanos;
+
+    private final Timer relayTimer;
+    private final Counter relayed;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile Thread relayThread;
+
+    public AuditOutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.outbox.batch-size:500}") int batchSize,
+            @Value("${app.audit.outbox.poll-interval:1s}") Duration pollInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.relayTimer =
+                Timer.builder("audit.outbox.relay")
+                        .description("Time taken to move one batch of audit entries")
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry);
+        this.relayed = meterRegistry.counter("audit.outbox.relayed");
+        this.failed = meterRegistry.counter("audit.outbox.failed");
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        relayThread = Thread.ofPlatform().name("audit-outbox-relay").daemon().start(this::run);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(Duration.ofSeconds(30));
+        }
+    }
+
+    /** Wakes the relay after a transaction has committed new outbox entries. */
+    public void signal() {
+        Thread thread = relayThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            drain();
+            LockSupport.parkNanos(this, pollIntervalNanos);
+        }
+        drain();
+    }
+
+    /**
+     * Moves batches until the outbox is empty or a move fails.
+     *
+     * @return the number of entries moved.
+     */
+    int drain() {
+        int total = 0;
+        try {
+            int moved;
+            do {
+                Timer.Sample sample = Timer.start();
+                moved = moveBatch();
+                sample.stop(relayTimer);
+                relayed.increment(moved);
+                total += moved;
+            } while (moved >= batchSize);
+        } catch (DataAccessException e) {
+            // Rows stay in the outbox and are retried on the next wake-up
+            log.error("Failed to relay audit entries: {}", e.getMessage());
+            failed.increment();
+        }
+        return total;
+    }
+
+    private int moveBatch() {
+        Integer moved = jdbcTemplate.queryForObject(MOVE_SQL, Integer.class, batchSize);
+        return moved != null ? moved : 0;
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * AuditPartitionMaintenance.java
+ *
+ * <p>Purpose: - Keeps the monthly audit_logs partitions ahead of the clock and enforces audit
+ * retention by dropping whole partitions instead of deleting rows.
+ *
+ * <p>Logic Overview: - On startup and then daily, creates any missing partitions for the current
+ * month and the configured number of months ahead, so inserts never hit a missing range. - When the
+ * {@link AuditArchive} is enabled, partitions older than the hot window are copied into segment
+ * files oldest first and each is dropped only once its copy is complete; retention then applies to
+ * the archived months. - Otherwise, when a retention period is configured, partitions that end
+ * before the retention cutoff are dropped. - Cutoffs are UTC month starts, so exactly the current
+ * month plus the configured months are kept. - Exposes the oldest instant still in the database so
+ * audit queries can bound created_at and let PostgreSQL prune partitions; with the archive it is
+ * taken from the newest archived month, not the clock.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AuditPartitionMaintenance {
+
+    private static final String PARTITION_PREFIX = "audit_logs_p";
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT child.relname FROM pg_inherits"
+                    + " JOIN pg_class parent ON parent.oid = pg_inherits.inhparent"
+                    + " JOIN pg_class child ON child.oid = pg_inherits.inhrelid"
+                    + " WHERE parent.relname = 'audit_logs'"
+                    + " AND child.relname ~ '^audit_logs_p[0-9]{6}$'"
+                    + " AND child.relname < ? ORDER BY child.relname";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditArchive archive;
+    private final Clock clock;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final int hotMonths;
+
+    public AuditPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            AuditArchive archive,
+            @Value("${app.audit.partitions.months-ahead:3}") int monthsAhead,
+            @Value("${app.audit.retention-months:0}") int retentionMonths,
+            @Value("${app.audit.archive.hot-months:3}") int hotMonths) {
+        this(jdbcTemplate, archive, Clock.systemUTC(), monthsAhead, retentionMonths, hotMonths);
+    }
+
+    AuditPartitionMaintenance(
+            JdbcTemplate jdbcTemplate,
+            AuditArchive archive,
+            Clock clock,
+            int monthsAhead,
+            int retentionMonths,
+            int hotMonths) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archive = archive;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.hotMonths = hotMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    /** Creates upcoming partitions and archives or drops old ones. Safe to run repeatedly. */
+    @Scheduled(cron = "${app.audit.partitions.maintenance-cron:0 15 0 * * *}", zone = "UTC")
+    public void maintain() {
+        LocalDate today = LocalDate.now(clock);
+        try {
+            Integer created =
+                    jdbcTemplate.queryForObject(
+                            "SELECT audit_logs_create_partitions(?, ?)",
+                            Integer.class,
+                            today,
+                            today.plusMonths(monthsAhead));
+            if (created != null && created > 0) {
+                log.info("Created {} audit log partitions", created);
+            }
+            if (archive.isEnabled()) {
+                archiveColdPartitions();
+                if (retentionMonths > 0) {
+                    int deleted = archive.deleteBefore(partitionName(monthsAgo(retentionMonths)));
+                    if (deleted > 0) {
+                        log.info("Deleted {} expired audit archive segments", deleted);
+                    }
+                }
+            } else if (retentionMonths > 0) {
+                int dropped = dropPartitionsBefore(monthsAgo(retentionMonths));
+                if (dropped > 0) {
+                    log.info(
+                            "Dropped {} audit log partitions older than {} months",
+                            dropped,
+                            retentionMonths);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Audit log partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the oldest instant still held in audit_logs: with the archive enabled, the end of the
+     * newest archived month, otherwise the retention cutoff, or the epoch when nothing expires.
+     * Queries bounded by it never read a month twice or touch a partition that is due to be
+     * dropped.
+     */
+    public Instant oldestInDatabase() {
+        if (archive.isEnabled()) {
+            // Follows what has been copied rather than the hot window, so a partition past the
+            // window stays queryable here until its archive run succeeds
+            return archive.newestArchivedPartition()
+                    .map(partition -> startOf(monthOf(partition).plusMonths(1)))
+                    .orElse(Instant.EPOCH);
+        }
+        if (retentionMonths <= 0) {
+            return Instant.EPOCH;
+        }
+        return startOf(monthsAgo(retentionMonths));
+    }
+
+    private void archiveColdPartitions() {
+        List<String> cold =
+                jdbcTemplate.queryForList(
+                        PARTITIONS_SQL, String.class, partitionName(monthsAgo(hotMonths)));
+        for (String partition : cold) {
+            // Oldest first, and a failure stops the loop, so nothing is dropped uncopied
+            long rows = archive.archivePartition(partition);
+            dropPartitionsBefore(monthOf(partition).plusMonths(1));
+            log.info("Moved {} audit entries from {} to the archive", rows, partition);
+        }
+    }
+
+    private int dropPartitionsBefore(LocalDate month) {
+        Integer dropped =
+                jdbcTemplate.queryForObject(
+                        "SELECT audit_logs_drop_partitions_before(?)",
+                        Integer.class,
+                        startOf(month).atOffset(ZoneOffset.UTC));
+        return dropped != null ? dropped : 0;
+    }
+
+    private LocalDate monthsAgo(int months) {
+        return LocalDate.now(clock).withDayOfMonth(1).minusMonths(months);
+    }
+
+    private static Instant startOf(LocalDate month) {
+        return month.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    private static LocalDate monthOf(String partition) {
+        return LocalDate.parse(
+                partition.substring(PARTITION_PREFIX.length()) + "01",
+                DateTimeFormatter.BASIC_ISO_DATE);
+    }
+
+    private static String partitionName(LocalDate month) {
+        return PARTITION_PREFIX + month.format(PARTITION_MONTH);
+    }
+}
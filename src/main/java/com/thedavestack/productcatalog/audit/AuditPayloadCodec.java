@@ -0,0 +1,147 @@
+/**
+ * AuditPayloadCodec.java
+ *
+ * <p>Purpose: - Converts audit payloads between the JSON text used by the application and the
+ * compact binary form stored in the bytea payload columns.
+ *
+ * <p>Logic Overview: - Encoding streams the JSON tokens straight into a Smile generator without
+ * building a tree, then optionally LZ4-compresses the result. - Each payload is prefixed with the
+ * tag of its {@link AuditPayloadFormat}, followed for compressed payloads by the uncompressed
+ * length. - Decoding dispatches on the tag, so changing app.audit.payload.format only affects new
+ * rows. - Compression is skipped when it does not save space, which is typical for small patches.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+@Component
+public class AuditPayloadCodec {
+
+    private static final int LENGTH_BYTES = Integer.BYTES;
+
+    private final AuditPayloadFormat format;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final LZ4Compressor compressor;
+    private final LZ4FastDecompressor decompressor;
+
+    public AuditPayloadCodec(
+            @Value("${app.audit.payload.format:SMILE_LZ4}") AuditPayloadFormat format) {
+        this.format = format;
+        LZ4Factory lz4 = LZ4Factory.fastestInstance();
+        this.compressor = lz4.fastCompressor();
+        this.decompressor = lz4.fastDecompressor();
+    }
+
+    public AuditPayloadFormat format() {
+        return format;
+    }
+
+    /**
+     * Encodes a JSON document in the configured format.
+     *
+     * @param json the JSON text, or null.
+     * @return the tagged payload, or null if {@code json} is null.
+     */
+    public byte[] encode(String json) {
+        if (json == null) {
+            return null;
+        }
+        if (format == AuditPayloadFormat.JSON) {
+            return tagged(AuditPayloadFormat.JSON, json.getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] smile = toSmile(json);
+        if (format == AuditPayloadFormat.SMILE_LZ4) {
+            byte[] compressed =
+                    new byte[1 + LENGTH_BYTES + compressor.maxCompressedLength(smile.length)];
+            int length =
+                    compressor.compress(
+                            smile,
+                            0,
+                            smile.length,
+                            compressed,
+                            1 + LENGTH_BYTES,
+                            compressed.length - 1 - LENGTH_BYTES);
+            if (LENGTH_BYTES + length < smile.length) {
+                compressed[0] = AuditPayloadFormat.SMILE_LZ4.tag();
+                ByteBuffer.wrap(compressed, 1, LENGTH_BYTES).putInt(smile.length);
+                return Arrays.copyOf(compressed, 1 + LENGTH_BYTES + length);
+            }
+        }
+        return tagged(AuditPayloadFormat.SMILE, smile);
+    }
+
+    /**
+     * Decodes a payload written in any {@link AuditPayloadFormat}.
+     *
+     * @param payload the tagged payload, or null.
+     * @return the JSON text, or null if {@code payload} is null.
+     */
+    public String decode(byte[] payload) {
+        if (payload == null) {
+            return null;
+        }
+        if (payload.length == 0) {
+            throw new IllegalArgumentException("Empty audit payload");
+        }
+        return switch (AuditPayloadFormat.fromTag(payload[0])) {
+            case JSON -> new String(payload, 1, payload.length - 1, StandardCharsets.UTF_8);
+            case SMILE -> fromSmile(payload, 1, payload.length - 1);
+            case SMILE_LZ4 -> {
+                int length = ByteBuffer.wrap(payload, 1, LENGTH_BYTES).getInt();
+                byte[] smile = new byte[length];
+                decompressor.decompress(payload, 1 + LENGTH_BYTES, smile, 0, length);
+                yield fromSmile(smile, 0, length);
+            }
+        };
+    }
+
+    private byte[] toSmile(String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length());
+        try (JsonParser parser = jsonFactory.createParser(json);
+                JsonGenerator generator = smileFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit payload is not valid JSON", e);
+        }
+        return out.toByteArray();
+    }
+
+    private String fromSmile(byte[] smile, int offset, int length) {
+        StringWriter out = new StringWriter(length * 2);
+        try (JsonParser parser = smileFactory.createParser(smile, offset, length);
+                JsonGenerator generator = jsonFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt audit payload", e);
+        }
+        return out.toString();
+    }
+
+    private static byte[] tagged(AuditPayloadFormat format, byte[] body) {
+        byte[] payload = new byte[body.length + 1];
+        payload[0] = format.tag();
+        System.arraycopy(body, 0, payload, 1, body.length);
+        return payload;
+    }
+}
@@ -0,0 +1,41 @@
+package com.thedavestack.productcatalog.audit;
+
+/**
+ * Encodings of stored audit payloads. Every payload starts with the tag byte of its format, so rows
+ * written under different settings stay readable side by side.
+ */
+public enum AuditPayloadFormat {
+    /** UTF-8 JSON text, as stored before payloads were binary. */
+    JSON((byte) 0),
+    /** Binary Smile encoding of the JSON document; repeated property names are back-referenced. */
+    SMILE((byte) 1),
+    /**
+     * Smile compressed with LZ4 block compression. Falls back to {@link #SMILE} for payloads that
+     * do not get smaller.
+     */
+    SMILE_LZ4((byte) 2);
+
+    private final byte tag;
+
+    AuditPayloadFormat(byte tag) {
+        this.tag = tag;
+    }
+
+    public byte tag() {
+        return tag;
+    }
+
+    /**
+     * Returns the format identified by a payload's first byte.
+     *
+     * @throws IllegalArgumentException if the tag is unknown.
+     */
+    public static AuditPayloadFormat fromTag(byte tag) {
+        for (AuditPayloadFormat format : values()) {
+            if (format.tag == tag) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown audit payload format " + tag);
+    }
+}
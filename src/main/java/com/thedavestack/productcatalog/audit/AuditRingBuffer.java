@@ -0,0 +1,99 @@
+/**
+ * AuditRingBuffer.java
+ *
+ * <p>Purpose: - Bounded, lock-free queue between request threads producing audit entries and the
+ * single thread that writes them.
+ *
+ * <p>Logic Overview: - Array-backed ring with a sequence number per slot (Vyukov's bounded queue).
+ * - Producers claim a slot with one CAS on the tail and publish by advancing the slot sequence, so
+ * they never block each other on a lock. - The single consumer drains published slots in order and
+ * hands them back to producers by advancing their sequence by one lap.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+class AuditRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity the number of slots, rounded up to a power of two.
+     */
+    AuditRingBuffer(int capacity) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element if there is room. Safe to call from any number of threads.
+     *
+     * @param element the element to add.
+     * @return false if the buffer is full.
+     */
+    boolean offer(T element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long sequence = sequences.get(index);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                return false;
+            }
+            // Another producer claimed this position first; retry with the new tail
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Moves up to {@code maxElements} published elements into the target list. Must only be called
+     * from the single consumer thread.
+     *
+     * @param target the list to append to.
+     * @param maxElements the maximum number of elements to move.
+     * @return the number of elements moved.
+     */
+    int drainTo(List<T> target, int maxElements) {
+        int drained = 0;
+        long position = head.get();
+        while (drained < maxElements) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            target.add(slots.get(index));
+            slots.set(index, null);
+            sequences.set(index, position + mask + 1);
+            position++;
+            drained++;
+        }
+        head.set(position);
+        return drained;
+    }
+
+    /** Approximate number of queued elements; exact only when producers are idle. */
+    int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), mask + 1L));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,306 @@
+/**
+ * AuditSegment.java
+ *
+ * <p>Purpose: - Read side of an archived audit segment file written by {@link AuditSegmentWriter}.
+ *
+ * <p>Logic Overview: - The file is memory-mapped read-only, so block reads are served from the page
+ * cache without copying through a file handle. - The sparse block index is loaded once on open and
+ * kept on the heap. - A lookup binary-searches the index for the first block that can hold the
+ * entity, then decompresses consecutive blocks while their entity range still covers it; blocks
+ * whose time range cannot satisfy the bound are skipped without decompressing.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+final class AuditSegment implements Closeable {
+
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final BlockIndex[] blocks;
+    private final LZ4FastDecompressor decompressor =
+            LZ4Factory.fastestInstance().fastDecompressor();
+
+    private AuditSegment(
+            Path path, FileChannel channel, MappedByteBuffer mapped, BlockIndex[] blocks) {
+        this.path = path;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Maps a complete segment file and loads its index.
+     *
+     * @throws IOException if the file cannot be read or is not a complete segment.
+     */
+    static AuditSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < 2 * Integer.BYTES + FOOTER_BYTES) {
+                throw new IOException("Unexpected audit segment size " + size + ": " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt(0) != AuditSegmentWriter.MAGIC
+                    || mapped.getInt((int) size - Integer.BYTES) != AuditSegmentWriter.MAGIC) {
+                throw new IOException("Not an audit segment: " + path);
+            }
+            if (mapped.getInt(Integer.BYTES) != AuditSegmentWriter.VERSION) {
+                throw new IOException("Unsupported audit segment version: " + path);
+            }
+            int indexOffset = (int) mapped.getLong((int) size - FOOTER_BYTES);
+            DataInputStream index =
+                    new DataInputStream(
+                            new ByteBufferInputStream(
+                                    mapped.slice(
+                                            indexOffset, (int) size - FOOTER_BYTES - indexOffset)));
+            BlockIndex[] blocks = new BlockIndex[index.readInt()];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = BlockIndex.readFrom(index);
+            }
+            return new AuditSegment(path, channel, mapped, blocks);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * Returns the entries of one entity created before the given bound, newest first.
+     *
+     * @param entityId the entity to look up.
+     * @param beforeMicros exclusive upper bound on the creation time in epoch microseconds, with
+     *     ties at the bound included when their ID sorts before {@code beforeId}.
+     * @param beforeId tie-breaker for entries created exactly at the bound, or null for none.
+     * @return the matching entries in (created_at, id) descending order.
+     */
+    List<Entry> find(String entityId, long beforeMicros, UUID beforeId) throws IOException {
+        List<Entry> result = new ArrayList<>();
+        for (int i = firstBlockFor(entityId);
+                i < blocks.length && blocks[i].firstEntityId().compareTo(entityId) <= 0;
+                i++) {
+            BlockIndex block = blocks[i];
+            if (block.minCreatedAt() > beforeMicros) {
+                continue;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(decompress(block)));
+            for (int n = 0; n < block.entries(); n++) {
+                Entry entry = Entry.readFrom(in);
+                int order = entry.entityId().compareTo(entityId);
+                if (order > 0) {
+                    break;
+                }
+                if (order == 0 && entry.isBefore(beforeMicros, beforeId)) {
+                    result.add(entry);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Index of the first block whose last entity is not before the given one. */
+    private int firstBlockFor(String entityId) {
+        int low = 0;
+        int high = blocks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (blocks[mid].lastEntityId().compareTo(entityId) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private byte[] decompress(BlockIndex block) {
+        byte[] raw = new byte[block.rawLength()];
+        decompressor.decompress(
+                mapped.slice((int) block.offset(), block.compressedLength()),
+                0,
+                ByteBuffer.wrap(raw),
+                0,
+                raw.length);
+        return raw;
+    }
+
+    /** Sparse index entry describing one compressed block. */
+    record BlockIndex(
+            String firstEntityId,
+            String lastEntityId,
+            long minCreatedAt,
+            long maxCreatedAt,
+            long offset,
+            int compressedLength,
+            int rawLength,
+            int entries) {
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeUTF(firstEntityId);
+            out.writeUTF(lastEntityId);
+            out.writeLong(minCreatedAt);
+            out.writeLong(maxCreatedAt);
+            out.writeLong(offset);
+            out.writeInt(compressedLength);
+            out.writeInt(rawLength);
+            out.writeInt(entries);
+        }
+
+        static BlockIndex readFrom(DataInput in) throws IOException {
+            return new BlockIndex(
+                    in.readUTF(),
+                    in.readUTF(),
+                    in.readLong(),
+                    in.readLong(),
+                    in.readLong(),
+                    in.readInt(),
+                    in.readInt(),
+                    in.readInt());
+        }
+    }
+
+    /**
+     * One archived audit row. Payloads are kept exactly as stored in audit_logs, in their tagged
+     * {@link AuditPayloadFormat}, so archiving never re-encodes them.
+     */
+    record Entry(
+            UUID id,
+            String entityType,
+            String entityId,
+            String action,
+            String username,
+            byte[] oldValues,
+            byte[] newValues,
+            byte[] changes,
+            long createdAtMicros) {
+
+        static long toMicros(Instant instant) {
+            return Math.addExact(
+                    Math.multiplyExact(instant.getEpochSecond(), 1_000_000L),
+                    instant.getNano() / 1_000);
+        }
+
+        Instant createdAt() {
+            return Instant.ofEpochSecond(
+                    Math.floorDiv(createdAtMicros, 1_000_000L),
+                    Math.floorMod(createdAtMicros, 1_000_000L) * 1_000L);
+        }
+
+        boolean isBefore(long micros, UUID id) {
+            if (createdAtMicros != micros) {
+                return createdAtMicros < micros;
+            }
+            return id != null && this.id.toString().compareTo(id.toString()) < 0;
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            out.writeLong(id.getMostSignificantBits());
+            out.writeLong(id.getLeastSignificantBits());
+            out.writeLong(createdAtMicros);
+            out.writeUTF(entityType);
+            out.writeUTF(entityId);
+            out.writeUTF(action);
+            out.writeBoolean(username != null);
+            if (username != null) {
+                out.writeUTF(username);
+            }
+            writeBytes(out, oldValues);
+            writeBytes(out, newValues);
+            writeBytes(out, changes);
+        }
+
+        static Entry readFrom(DataInput in) throws IOException {
+            UUID id = new UUID(in.readLong(), in.readLong());
+            long createdAtMicros = in.readLong();
+            String entityType = in.readUTF();
+            String entityId = in.readUTF();
+            String action = in.readUTF();
+            String username = in.readBoolean() ? in.readUTF() : null;
+            return new Entry(
+                    id,
+                    entityType,
+                    entityId,
+                    action,
+                    username,
+                    readBytes(in),
+                    readBytes(in),
+                    readBytes(in),
+                    createdAtMicros);
+        }
+
+        private static void writeBytes(DataOutput out, byte[] value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            out.writeInt(value.length);
+            out.write(value);
+        }
+
+        private static byte[] readBytes(DataInput in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] value = new byte[length];
+            in.readFully(value);
+            return value;
+        }
+    }
+
+    /** Reads a mapped region without copying it to the heap first. */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * AuditSegmentWriter.java
+ *
+ * <p>Purpose: - Writes archived audit entries into immutable, block-compressed segment files read
+ * back by {@link AuditSegment}.
+ *
+ * <p>Logic Overview: - Entries must arrive ordered by entity ID, then newest first. - They are
+ * serialized into blocks of roughly the configured size, each compressed with LZ4 and appended to
+ * the file. - For every block the sparse index records the first and last entity ID, the time
+ * range, the file offset and the sizes. - On finish the index and a footer pointing at it are
+ * appended, the file is forced to disk and atomically renamed into place, so a segment either
+ * exists complete or not at all.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+
+final class AuditSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x41534547; // "ASEG"
+    static final int VERSION = 1;
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+
+    private final ByteArrayOutputStream block;
+    private final DataOutputStream blockOut;
+    private final List<AuditSegment.BlockIndex> index = new ArrayList<>();
+    private long position;
+    private long entries;
+    private String firstEntityId;
+    private String lastEntityId;
+    private long minCreatedAt;
+    private long maxCreatedAt;
+    private int blockEntries;
+    private boolean finished;
+
+    AuditSegmentWriter(Path target, int blockSize) throws IOException {
+        this.target = target;
+        this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel =
+                FileChannel.open(
+                        temp,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE);
+        OutputStream stream = Channels.newOutputStream(channel);
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+        this.blockSize = blockSize;
+        this.block = new ByteArrayOutputStream(blockSize + (blockSize >> 2));
+        this.blockOut = new DataOutputStream(block);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        position = 2 * Integer.BYTES;
+    }
+
+    /** Bytes written to the file so far, including the block being filled. */
+    long size() {
+        return position + block.size();
+    }
+
+    long entries() {
+        return entries;
+    }
+
+    void append(AuditSegment.Entry entry) throws IOException {
+        if (blockEntries == 0) {
+            firstEntityId = entry.entityId();
+            minCreatedAt = Long.MAX_VALUE;
+            maxCreatedAt = Long.MIN_VALUE;
+        }
+        lastEntityId = entry.entityId();
+        minCreatedAt = Math.min(minCreatedAt, entry.createdAtMicros());
+        maxCreatedAt = Math.max(maxCreatedAt, entry.createdAtMicros());
+        entry.writeTo(blockOut);
+        blockEntries++;
+        entries++;
+        if (block.size() >= blockSize) {
+            flushBlock();
+        }
+    }
+
+    /** Writes the index and footer and moves the completed segment into place. */
+    void finish() throws IOException {
+        flushBlock();
+        long indexOffset = position;
+        out.writeInt(index.size());
+        for (AuditSegment.BlockIndex entry : index) {
+            entry.writeTo(out);
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(MAGIC);
+        out.flush();
+        channel.force(true);
+        channel.close();
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockEntries == 0) {
+            return;
+        }
+        byte[] raw = block.toByteArray();
+        byte[] compressed = compressor.compress(raw);
+        out.write(compressed);
+        index.add(
+                new AuditSegment.BlockIndex(
+                        firstEntityId,
+                        lastEntityId,
+                        minCreatedAt,
+                        maxCreatedAt,
+                        position,
+                        compressed.length,
+                        raw.length,
+                        blockEntries));
+        position += compressed.length;
+        block.reset();
+        blockEntries = 0;
+    }
+}
@@ -0,0 +1,252 @@
+/**
+ * AuditTail.java
+ *
+ * <p>Purpose: - Live fan-out of audit entries to Server-Sent Events subscribers, so watchers see
+ * changes as they happen without polling the database.
+ *
+ * <p>Logic Overview: - Entries are published in memory by {@code AuditService} as they are
+ * produced; entries written inside a transaction are only published once it commits. - Publishing
+ * never blocks: each matching subscriber gets the entry offered to its own bounded queue, and a
+ * subscriber whose queue is full is disconnected with an {@code overflow} event so it can resume
+ * from the audit history. - Every subscriber is drained by its own virtual thread, which writes to
+ * the connection and sends a heartbeat comment when idle so dead clients are noticed. - With no
+ * subscribers, publishing is a single empty-list check.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class AuditTail {
+
+    /** Event sent to a subscriber that fell too far behind, just before it is disconnected. */
+    static final String OVERFLOW_EVENT = "overflow";
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final int bufferSize;
+    private final long heartbeatNanos;
+    private final Counter published;
+    private final Counter overflowed;
+
+    public AuditTail(
+            MeterRegistry meterRegistry,
+            @Value("${app.audit.stream.buffer-size:256}") int bufferSize,
+            @Value("${app.audit.stream.heartbeat-interval:15s}") Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.published = meterRegistry.counter("audit.stream.published");
+        this.overflowed = meterRegistry.counter("audit.stream.overflowed");
+        Gauge.builder("audit.stream.subscribers", subscribers, List::size).register(meterRegistry);
+    }
+
+    /** Receives the entries of one subscription, on that subscription's own thread. */
+    interface Sink {
+
+        void send(AuditLog entry) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        /** Ends the subscription; {@code overflow} is true if the subscriber fell behind. */
+        void close(boolean overflow);
+    }
+
+    /**
+     * Opens an SSE subscription to audit entries matching the filter.
+     *
+     * @param filter the entries the subscriber is interested in.
+     * @return the emitter streaming matching entries until the client disconnects.
+     */
+    public SseEmitter subscribe(Predicate<AuditLog> filter) {
+        // No timeout: heartbeats detect clients that went away
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = register(filter, new EmitterSink(emitter));
+        emitter.onCompletion(subscriber::cancel);
+        emitter.onTimeout(subscriber::cancel);
+        emitter.onError(error -> subscriber.cancel());
+        return emitter;
+    }
+
+    /**
+     * Publishes an audit entry to the current subscribers, after the surrounding transaction
+     * commits if there is one.
+     *
+     * @param entry the stamped audit entry.
+     */
+    public void publish(AuditLog entry) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        deliver(entry);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.end();
+        }
+    }
+
+    Subscriber register(Predicate<AuditLog> filter, Sink sink) {
+        Subscriber subscriber = new Subscriber(filter, sink, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        subscriber.thread = Thread.ofVirtual().name("audit-stream").start(subscriber::run);
+        return subscriber;
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void deliver(AuditLog entry) {
+        published.increment();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.filter.test(entry) && !subscriber.queue.offer(entry)) {
+                overflowed.increment();
+                subscriber.overflow();
+            }
+        }
+    }
+
+    /** One subscription: its filter, bounded buffer and the virtual thread draining it. */
+    final class Subscriber {
+
+        private final Predicate<AuditLog> filter;
+        private final Sink sink;
+        private final BlockingQueue<AuditLog> queue;
+        private volatile boolean overflowed;
+        private volatile boolean cancelled;
+        private volatile boolean ended;
+        private volatile Thread thread;
+
+        private Subscriber(Predicate<AuditLog> filter, Sink sink, BlockingQueue<AuditLog> queue) {
+            this.filter = filter;
+            this.sink = sink;
+            this.queue = queue;
+        }
+
+        /** Stops delivery, e.g. because the client disconnected. */
+        void cancel() {
+            cancelled = true;
+            end();
+        }
+
+        /** Stops delivery and completes the connection. */
+        private void end() {
+            ended = true;
+            subscribers.remove(this);
+            Thread current = thread;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        private void overflow() {
+            overflowed = true;
+            queue.clear();
+            end();
+        }
+
+        private void run() {
+            try {
+                while (!ended) {
+                    AuditLog entry = queue.poll(heartbeatNanos, TimeUnit.NANOSECONDS);
+                    if (ended) {
+                        break;
+                    }
+                    if (entry != null) {
+                        sink.send(entry);
+                    } else {
+                        sink.heartbeat();
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Woken by end(); the subscription is over
+            } catch (IOException | RuntimeException e) {
+                if (!ended) {
+                    // The client went away; an interrupted write after end() still closes
+                    log.debug("Audit stream subscriber disconnected: {}", e.getMessage());
+                    cancelled = true;
+                }
+            } finally {
+                subscribers.remove(this);
+                // Clear a late wake-up so it cannot abort the final write
+                Thread.interrupted();
+                if (!cancelled) {
+                    sink.close(overflowed);
+                }
+            }
+        }
+    }
+
+    /** Writes entries to an SSE connection. */
+    private static final class EmitterSink implements Sink {
+
+        private final SseEmitter emitter;
+
+        private EmitterSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(AuditLog entry) throws IOException {
+            emitter.send(
+                    SseEmitter.event()
+                            .id(entry.getId())
+                            .name(entry.getAction().name())
+                            .data(entry, MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close(boolean overflow) {
+            if (overflow) {
+                try {
+                    emitter.send(
+                            SseEmitter.event()
+                                    .name(OVERFLOW_EVENT)
+                                    .data("Subscriber fell behind; resume from the audit log"));
+                } catch (IOException e) {
+                    log.debug("Failed to notify slow audit stream subscriber: {}", e.getMessage());
+                }
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * ProductCache.java
+ *
+ * <p>Purpose: - Bounded in-process read-through cache of products keyed by ID and by SKU.
+ *
+ * <p>Logic Overview: - Backed by Caffeine (W-TinyLFU eviction) with a size bound and a write TTL. -
+ * The SKU cache only maps SKU to ID, so there is a single copy of each product to keep fresh. -
+ * Writes refresh or tombstone entries after the surrounding transaction commits, so readers never
+ * see uncommitted state. - Every entry carries the product version; an older version never replaces
+ * a newer one, which stops a slow reader from re-caching a row that a concurrent write already
+ * superseded. - Hit, miss and eviction counts are published to Micrometer and are available under
+ * /actuator/metrics/cache.*.
+ */
+package com.thedavestack.productcatalog.cache;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thedavestack.productcatalog.model.Product;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class ProductCache {
+
+    /** A cached product, or a tombstone (null product) for a deleted one. */
+    private record Entry(Product product, long version) {}
+
+    private final Cache<String, Entry> byId;
+    private final Cache<String, String> idBySku;
+
+    public ProductCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.products.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.products.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.byId =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build();
+        this.idBySku =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "productsById");
+        CaffeineCacheMetrics.monitor(meterRegistry, idBySku, "productsBySku");
+    }
+
+    /**
+     * Returns the product with the given ID, loading and caching it on a miss.
+     *
+     * @param id the product ID.
+     * @param loader loads the product from the database on a miss.
+     * @return the product, or empty if it does not exist or was deleted.
+     */
+    public Optional<Product> getById(String id, Function<String, Optional<Product>> loader) {
+        Entry entry = byId.getIfPresent(id);
+        if (entry != null) {
+            return Optional.ofNullable(entry.product()).map(ProductCache::copy);
+        }
+        Optional<Product> loaded = loader.apply(id);
+        loaded.filter(product -> isCommittedRead()).ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Returns the product with the given SKU, loading and caching it on a miss.
+     *
+     * @param sku the product SKU.
+     * @param loader loads the product from the database on a miss.
+     * @return the product, or empty if it does not exist or was deleted.
+     */
+    public Optional<Product> getBySku(String sku, Function<String, Optional<Product>> loader) {
+        String id = idBySku.getIfPresent(sku);
+        if (id != null) {
+            Entry entry = byId.getIfPresent(id);
+            if (entry != null && entry.product() != null && sku.equals(entry.product().getSku())) {
+                return Optional.of(copy(entry.product()));
+            }
+        }
+        Optional<Product> loaded = loader.apply(sku);
+        loaded.filter(product -> isCommittedRead()).ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Caches the committed state of a created or updated product once the current transaction
+     * commits. Without an active transaction the entry is refreshed immediately.
+     *
+     * @param product the managed product; its final version is read at commit time.
+     */
+    public void refreshAfterCommit(Product product) {
+        afterCommit(() -> put(product));
+    }
+
+    /**
+     * Replaces the product with a tombstone once the current transaction commits, so lookups return
+     * empty without touching the database and stale reads cannot resurrect it.
+     *
+     * @param product the product being deleted.
+     */
+    public void evictAfterCommit(Product product) {
+        afterCommit(
+                () -> {
+                    long version = product.getVersion() != null ? product.getVersion() + 1 : 0;
+                    merge(product.getId(), new Entry(null, version));
+                    if (product.getSku() != null) {
+                        idBySku.invalidate(product.getSku());
+                    }
+                });
+    }
+
+    private void put(Product product) {
+        if (product.getId() == null) {
+            return;
+        }
+        long version = product.getVersion() != null ? product.getVersion() : 0;
+        merge(product.getId(), new Entry(copy(product), version));
+        if (product.getSku() != null) {
+            idBySku.put(product.getSku(), product.getId());
+        }
+    }
+
+    private void merge(String id, Entry candidate) {
+        byId.asMap()
+                .merge(
+                        id,
+                        candidate,
+                        (current, next) -> next.version() >= current.version() ? next : current);
+    }
+
+    /** A read inside a read-write transaction may see its own uncommitted writes. */
+    private static boolean isCommittedRead() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        action.run();
+                    }
+                });
+    }
+
+    /** Cached entities are detached copies so callers cannot mutate shared state. */
+    private static Product copy(Product source) {
+        Product product = new Product();
+        product.setId(source.getId());
+        product.setSku(source.getSku());
+        product.setName(source.getName());
+        product.setDescription(source.getDescription());
+        product.setPrice(source.getPrice());
+        product.setCategory(source.getCategory());
+        product.setStockQuantity(source.getStockQuantity());
+        product.setMinStockLevel(source.getMinStockLevel());
+        product.setImageUrl(source.getImageUrl());
+        product.setWeight(source.getWeight());
+        product.setDimensions(source.getDimensions());
+        product.setActive(source.getActive());
+        product.setCreatedAt(source.getCreatedAt());
+        product.setUpdatedAt(source.getUpdatedAt());
+        product.setDeleted(source.getDeleted());
+        product.setVersion(source.getVersion());
+        return product;
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ * ConnectionLimitingDataSource.java
+ *
+ * <p>Purpose: - Caps the number of connections checked out at once to the size of the connection
+ * pool, so an unbounded number of virtual threads queues here instead of inside the pool.
+ *
+ * <p>Logic Overview: - Every connection request first takes a permit from a fair semaphore with one
+ * permit per pooled connection; the permit is returned when the connection is closed, at most once.
+ * - Waiting is bounded by the pool's own connection timeout, and requests beyond the configured
+ * number of waiters are rejected at once rather than piling up. - Both failures surface as {@link
+ * SQLTransientConnectionException}, as a pool timeout would. - Waiting threads, free permits, wait
+ * time and rejections are published to Micrometer under db.connections.limiter.*. - Closing it
+ * closes the pool it wraps.
+ */
+package com.thedavestack.productcatalog.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore permits;
+    private final int maxConnections;
+    private final long timeoutNanos;
+    private final int maxWaiting;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    /**
+     * @param target the pooled data source to guard.
+     * @param maxConnections the number of connections that may be checked out at once.
+     * @param timeout how long to wait for a permit before failing.
+     * @param maxWaiting the number of threads allowed to wait; further requests fail immediately.
+     * @param meterRegistry registry for the limiter metrics.
+     */
+    public ConnectionLimitingDataSource(
+            DataSource target,
+            int maxConnections,
+            Duration timeout,
+            int maxWaiting,
+            MeterRegistry meterRegistry) {
+        super(target);
+        this.permits = new Semaphore(maxConnections, true);
+        this.maxConnections = maxConnections;
+        this.timeoutNanos = timeout.toNanos();
+        this.maxWaiting = maxWaiting;
+        this.waitTimer =
+                Timer.builder("db.connections.limiter.wait")
+                        .description("Time spent waiting for a connection permit")
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry);
+        this.rejected = meterRegistry.counter("db.connections.limiter.rejected");
+        Gauge.builder("db.connections.limiter.waiting", permits, Semaphore::getQueueLength)
+                .register(meterRegistry);
+        Gauge.builder("db.connections.limiter.available", permits, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the pool behind the limiter. Once it is wrapped the context only sees this data
+     * source, so the pool would otherwise never be shut down.
+     */
+    @Override
+    public void close() throws Exception {
+        if (getTargetDataSource() instanceof AutoCloseable target) {
+            target.close();
+        }
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Too many threads waiting for one of " + maxConnections + " connections");
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a connection", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new SQLTransientConnectionException(
+                    "Timed out after "
+                            + TimeUnit.NANOSECONDS.toMillis(timeoutNanos)
+                            + "ms waiting for one of "
+                            + maxConnections
+                            + " connections");
+        }
+    }
+
+    /** Wraps a connection so that closing it returns the permit exactly once. */
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler =
+                (proxy, method, args) -> {
+                    if (isClose(method) && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                };
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        handler);
+    }
+
+    private static boolean isClose(Method method) {
+        return method.getName().equals("close") && method.getParameterCount() == 0;
+    }
+}
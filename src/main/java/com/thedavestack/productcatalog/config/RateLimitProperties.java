@@ -0,0 +1,109 @@
+/**
+ * RateLimitProperties.java
+ *
+ * <p>Purpose: - Binds the app.rate-limit.* settings of the in-application rate limiter.
+ *
+ * <p>Logic Overview: - Limits are configured per role and per endpoint class, e.g. {@code
+ * app.rate-limit.limits.ADMIN.write=50/s burst 100}. - ANONYMOUS applies to unauthenticated
+ * requests; DEFAULT applies to any role without its own limit for an endpoint class. - An endpoint
+ * class without a limit for the role, DEFAULT included, is not limited.
+ */
+package com.thedavestack.productcatalog.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maximumBuckets,
+        Map<String, Map<EndpointClass, Limit>> limits) {
+
+    public static final String ANONYMOUS = "ANONYMOUS";
+    public static final String DEFAULT = "DEFAULT";
+
+    /** Groups of endpoints that put different loads on the application. */
+    public enum EndpointClass {
+        /** GET and HEAD requests answered from the catalog. */
+        READ,
+        /** Requests that modify data. */
+        WRITE,
+        /** MCP SSE sessions and tool calls. */
+        MCP,
+        /** Long-lived responses: the audit stream and catalog exports. */
+        STREAM
+    }
+
+    /**
+     * A token bucket refilled at a steady rate.
+     *
+     * @param perSecond tokens added per second.
+     * @param burst maximum tokens held, i.e. requests allowed at once after an idle period.
+     */
+    public record Limit(double perSecond, int burst) {
+
+        public Limit {
+            if (perSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException(
+                        "Rate limit needs a positive rate and a burst of at least 1");
+            }
+        }
+
+        /**
+         * Parses {@code <rate>/s} or {@code <rate>/s burst <burst>}; the burst defaults to the
+         * rate, rounded up.
+         *
+         * @param spec the limit as written in configuration.
+         * @return the limit.
+         */
+        public static Limit valueOf(String spec) {
+            String[] parts = spec.trim().split("\\s+");
+            if (!parts[0].endsWith("/s")
+                    || !(parts.length == 1 || parts.length == 3 && parts[1].equals("burst"))) {
+                throw new IllegalArgumentException(
+                        "Invalid rate limit '" + spec + "', expected e.g. '50/s burst 100'");
+            }
+            double perSecond =
+                    Double.parseDouble(parts[0].substring(0, parts[0].length() - 2).trim());
+            int burst =
+                    parts.length == 3
+                            ? Integer.parseInt(parts[2])
+                            : (int) Math.max(1, Math.ceil(perSecond));
+            return new Limit(perSecond, burst);
+        }
+    }
+
+    public RateLimitProperties {
+        // Role names are matched case-insensitively, whatever case the keys were bound with
+        Map<String, Map<EndpointClass, Limit>> byRole =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (limits != null) {
+            byRole.putAll(limits);
+        }
+        limits = byRole;
+    }
+
+    /**
+     * Finds the limit for a role and endpoint class.
+     *
+     * @param role the role name, or {@link #ANONYMOUS}.
+     * @param endpointClass the endpoint class of the request.
+     * @return the role's limit, else the DEFAULT limit, or null if the request is not limited.
+     */
+    public Limit limitFor(String role, EndpointClass endpointClass) {
+        Map<EndpointClass, Limit> own = limits.get(role);
+        if (own != null && own.containsKey(endpointClass)) {
+            return own.get(endpointClass);
+        }
+        if (ANONYMOUS.equalsIgnoreCase(role)) {
+            return null;
+        }
+        Map<EndpointClass, Limit> fallback = limits.get(DEFAULT);
+        return fallback != null ? fallback.get(endpointClass) : null;
+    }
+}
@@ -1,28 +1,43 @@
 package com.thedavestack.productcatalog.config;
 
+import static com.thedavestack.productcatalog.security.PermissionAuthorizationManager.requires;
+import static com.thedavestack.productcatalog.security.PermissionAuthorizationManager.requiresLogin;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.thedavestack.productcatalog.security.ApiKeyAuthenticationFilter;
 import com.thedavestack.productcatalog.security.JwtAuthenticationEntryPoint;
 import com.thedavestack.productcatalog.security.JwtAuthenticationFilter;
+import com.thedavestack.productcatalog.security.Permission;
+import com.thedavestack.productcatalog.security.RateLimitFilter;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ApiKeyAuthenticationFilter apiKeyAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -35,6 +50,11 @@ public class SecurityConfig {
                 .authorizeHttpRequests(
                         authz ->
                                 authz
+                                        // Completion of an already authorized streaming response
+                                        // (SSE, async exports)
+                                        .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                        .permitAll()
+
                                         // Public endpoints
                                         .requestMatchers("/api/v1/auth/**")
                                         .permitAll()
@@ -58,43 +78,78 @@ public class SecurityConfig {
                                                 "/swagger-resources/**") // Legacy Swagger resources
                                         .permitAll()
 
-                                        // Actuator endpoints - require USER or ADMIN role (except
-                                        // health which is public)
+                                        // Everything below is authorized by the caller's
+                                        // compiled permissions: one bit test per request
+
+                                        // Actuator endpoints - require READ (except health
+                                        // which is public)
                                         .requestMatchers(
                                                 "/actuator/info",
                                                 "/actuator/metrics",
                                                 "/actuator/productmetrics",
                                                 "/actuator/audit")
-                                        .hasAnyRole("USER", "ADMIN")
+                                        .access(requires(Permission.READ))
+
+                                        // MCP transport (SSE stream and messages) - require
+                                        // READ; each tool checks its own permission
+                                        .requestMatchers("/sse/**", "/mcp/**")
+                                        .access(requires(Permission.READ))
 
-                                        // SSE endpoints - require USER or ADMIN role
-                                        .requestMatchers("/sse/**")
-                                        .hasAnyRole("USER", "ADMIN")
+                                        // Live audit stream - require AUDIT
+                                        .requestMatchers(HttpMethod.GET, "/api/v1/audit/stream")
+                                        .access(requires(Permission.AUDIT))
 
-                                        // Read-only endpoints - require USER or ADMIN role
+                                        // User administration - require USER_MANAGEMENT
+                                        .requestMatchers("/api/v1/users/**")
+                                        .access(requires(Permission.USER_MANAGEMENT))
+
+                                        // Read-only endpoints - require READ
                                         .requestMatchers(
                                                 HttpMethod.GET,
                                                 "/api/v1/products",
                                                 "/api/v1/products/**")
-                                        .hasAnyRole("USER", "ADMIN")
+                                        .access(requires(Permission.READ))
 
-                                        // Write endpoints - require ADMIN role
+                                        // Write endpoints - require WRITE, or DELETE to delete
                                         .requestMatchers(HttpMethod.POST, "/api/v1/products")
-                                        .hasRole("ADMIN")
+                                        .access(requires(Permission.WRITE))
+                                        .requestMatchers(HttpMethod.POST, "/api/v1/products/**")
+                                        .access(requires(Permission.WRITE))
                                         .requestMatchers(HttpMethod.PUT, "/api/v1/products/**")
-                                        .hasRole("ADMIN")
+                                        .access(requires(Permission.WRITE))
+                                        .requestMatchers(HttpMethod.PATCH, "/api/v1/products/**")
+                                        .access(requires(Permission.WRITE))
                                         .requestMatchers(HttpMethod.DELETE, "/api/v1/products/**")
-                                        .hasRole("ADMIN")
+                                        .access(requires(Permission.DELETE))
+
+                                        // API key management - logged-in users only, never
+                                        // another API key
+                                        .requestMatchers("/api/v1/api-keys", "/api/v1/api-keys/**")
+                                        .access(requiresLogin(Permission.READ))
 
                                         // All other requests need authentication
                                         .anyRequest()
                                         .authenticated())
                 .addFilterBefore(
-                        jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                        jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(apiKeyAuthenticationFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, ApiKeyAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Authenticates logins against the users table. The user details service caches resolved
+     * principals, so the provider's own user cache is left disabled.
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(
+            UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+        provider.setPasswordEncoder(passwordEncoder);
+        return new ProviderManager(provider);
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,61 @@
+/**
+ * VirtualThreadConfig.java
+ *
+ * <p>Purpose: - Pool-aware guards for the virtual-thread execution model, active only when
+ * spring.threads.virtual.enabled is true.
+ *
+ * <p>Logic Overview: - Spring Boot itself moves Tomcat request handling, the application task
+ * executor behind {@code @Async} and the task scheduler onto virtual threads. - MCP tool calls run
+ * on Reactor's bounded-elastic scheduler, which {@link VirtualThreadEnvironmentPostProcessor}
+ * switches to virtual threads. - Because thousands of virtual threads can ask for a connection at
+ * once, the Hikari data source is wrapped in a {@link ConnectionLimitingDataSource} sized to the
+ * pool. - Pinned virtual threads are reported through JFR and Micrometer by {@link
+ * VirtualThreadPinningMonitor}.
+ */
+package com.thedavestack.productcatalog.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.threads.virtual.connection-max-waiting:1000}") int maxWaiting) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    return new ConnectionLimitingDataSource(
+                            pool,
+                            pool.getMaximumPoolSize(),
+                            Duration.ofMillis(pool.getConnectionTimeout()),
+                            maxWaiting,
+                            meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${app.threads.virtual.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
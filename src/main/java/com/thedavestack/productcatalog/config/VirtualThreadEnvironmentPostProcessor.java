@@ -0,0 +1,30 @@
+/**
+ * VirtualThreadEnvironmentPostProcessor.java
+ *
+ * <p>Purpose: - Extends the virtual-thread mode to work that Spring Boot does not schedule itself,
+ * namely MCP tool execution on Reactor's bounded-elastic scheduler.
+ *
+ * <p>Logic Overview: - Runs before any bean is created, so the Reactor system property is set
+ * before its schedulers are first initialized. - An explicitly set system property is left alone.
+ */
+package com.thedavestack.productcatalog.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+public class VirtualThreadEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String REACTOR_VIRTUAL_THREADS =
+            "reactor.schedulers.defaultBoundedElasticOnVirtualThreads";
+
+    @Override
+    public void postProcessEnvironment(
+            ConfigurableEnvironment environment, SpringApplication application) {
+        boolean virtual =
+                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (virtual && System.getProperty(REACTOR_VIRTUAL_THREADS) == null) {
+            System.setProperty(REACTOR_VIRTUAL_THREADS, "true");
+        }
+    }
+}
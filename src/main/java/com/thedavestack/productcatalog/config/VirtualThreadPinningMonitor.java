@@ -0,0 +1,112 @@
+/**
+ * VirtualThreadPinningMonitor.java
+ *
+ * <p>Purpose: - Reports virtual threads that block while pinned to their carrier thread, e.g.
+ * inside a {@code synchronized} block or a native call on a JDBC path.
+ *
+ * <p>Logic Overview: - Streams the JFR {@code jdk.VirtualThreadPinned} event in-process, for pins
+ * longer than the configured threshold. - Each pin is counted and timed under
+ * jvm.threads.virtual.pinned, tagged with the frame that blocked. - The first pin at each frame is
+ * logged with its stack trace, so the offending code can be found without attaching a profiler.
+ */
+package com.thedavestack.productcatalog.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String EVENT = "jdk.VirtualThreadPinned";
+
+    /**
+     * Frames inside the JDK are skipped to find the application code that blocked; lock and I/O
+     * waits park through jdk.internal and sun.nio frames, not only java.* ones.
+     */
+    private static final List<String> JDK_PREFIXES = List.of("java.", "jdk.", "sun.", "com.sun.");
+
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void record(RecordedEvent event) {
+        String location = blockingFrame(event.getStackTrace());
+        Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .tag("frame", location)
+                .register(meterRegistry)
+                .record(event.getDuration());
+        if (reported.add(location)) {
+            log.warn(
+                    "Virtual thread pinned for {}ms at {}{}",
+                    event.getDuration().toMillis(),
+                    location,
+                    describe(event.getStackTrace()));
+        }
+    }
+
+    private static String blockingFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (frame.isJavaFrame() && JDK_PREFIXES.stream().noneMatch(type::startsWith)) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return "unknown";
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder trace = new StringBuilder();
+        stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .forEach(
+                        frame ->
+                                trace.append(System.lineSeparator())
+                                        .append("\tat ")
+                                        .append(frame.getMethod().getType().getName())
+                                        .append('.')
+                                        .append(frame.getMethod().getName())
+                                        .append(':')
+                                        .append(frame.getLineNumber()));
+        return trace.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * ApiKeyController.java
+ *
+ * <p>Purpose: - Handles HTTP requests for the caller's API keys. - POST /api-keys → create a key -
+ * DELETE /api-keys/{id} → revoke a key
+ *
+ * <p>Logic Overview: 1. Validate the request. 2. Delegate to {@link ApiKeyService}; keys always
+ * belong to the authenticated caller. 3. The created key is returned once and cannot be retrieved
+ * again.
+ */
+package com.thedavestack.productcatalog.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thedavestack.productcatalog.dto.ApiKeyResponse;
+import com.thedavestack.productcatalog.dto.CreateApiKeyRequest;
+import com.thedavestack.productcatalog.service.ApiKeyService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/api-keys")
+@RequiredArgsConstructor
+@Tag(name = "API Keys", description = "API key management APIs")
+public class ApiKeyController {
+
+    private final ApiKeyService apiKeyService;
+
+    @Operation(
+            summary = "Create an API key",
+            description =
+                    "Create a long-lived key for machine clients, sent in the X-API-Key header."
+                            + " Scopes default to all of the caller's permissions and may not"
+                            + " exceed them. The key is only shown in this response.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "201",
+                        description = "Key created",
+                        content =
+                                @Content(schema = @Schema(implementation = ApiKeyResponse.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid input, name taken or scopes too broad")
+            })
+    @PostMapping
+    public ResponseEntity<ApiKeyResponse> createApiKey(
+            @RequestBody @Valid CreateApiKeyRequest request) {
+        ApiKeyResponse created =
+                apiKeyService.createKey(request.name(), request.scopes(), request.expiresAt());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @Operation(
+            summary = "Revoke an API key",
+            description = "Disable one of the caller's API keys.",
+            responses = {
+                @ApiResponse(responseCode = "204", description = "Key revoked"),
+                @ApiResponse(responseCode = "404", description = "Key not found")
+            })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> revokeApiKey(@PathVariable String id) {
+        apiKeyService.revokeKey(id);
+        return ResponseEntity.noContent().build();
+    }
+}
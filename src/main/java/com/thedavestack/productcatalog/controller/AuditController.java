@@ -0,0 +1,59 @@
+/**
+ * AuditController.java
+ *
+ * <p>Purpose: - Handles HTTP requests for live audit data. - GET /audit/stream → Server-Sent Events
+ * tail of audit entries
+ *
+ * <p>Logic Overview: 1. Build a filter from the optional entityType, action and username
+ * parameters. 2. Subscribe to the in-memory {@link AuditTail}, which pushes matching entries as
+ * they commit without touching the database. 3. History stays available through /actuator/audit.
+ */
+package com.thedavestack.productcatalog.controller;
+
+import java.util.function.Predicate;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.thedavestack.productcatalog.audit.AuditTail;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/audit")
+@RequiredArgsConstructor
+@Tag(name = "Audit", description = "Audit trail APIs")
+public class AuditController {
+
+    private final AuditTail auditTail;
+
+    @Operation(
+            summary = "Stream audit events",
+            description =
+                    "Server-Sent Events stream of audit entries as they are committed, optionally"
+                            + " filtered by entity type, action and username. Each event is named"
+                            + " after the action and carries the entry's ID. A client that falls"
+                            + " behind receives an 'overflow' event and is disconnected; it should"
+                            + " catch up from /actuator/audit before reconnecting.",
+            responses = {@ApiResponse(responseCode = "200", description = "Stream opened")})
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAuditEvents(
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) AuditLog.AuditAction action,
+            @RequestParam(required = false) String username) {
+        Predicate<AuditLog> filter =
+                entry ->
+                        (entityType == null || entityType.equals(entry.getEntityType()))
+                                && (action == null || action == entry.getAction())
+                                && (username == null || username.equals(entry.getUsername()));
+        return auditTail.subscribe(filter);
+    }
+}
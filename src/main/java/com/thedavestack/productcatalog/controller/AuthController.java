@@ -4,6 +4,10 @@ import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.thedavestack.productcatalog.dto.AuthResponse;
 import com.thedavestack.productcatalog.dto.ErrorResponse;
 import com.thedavestack.productcatalog.dto.LoginRequest;
+import com.thedavestack.productcatalog.security.CatalogUserDetails;
 import com.thedavestack.productcatalog.security.JwtUtil;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,7 +26,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -29,6 +36,7 @@ import lombok.RequiredArgsConstructor;
 public class AuthController {
 
     private final JwtUtil jwtUtil;
+    private final AuthenticationManager authenticationManager;
 
     @Value("${app.jwt.expiration:86400}")
     private int jwtExpirationInSeconds;
@@ -49,8 +57,8 @@ public class AuthController {
             })
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody @Valid LoginRequest loginRequest) {
-        // Simple hardcoded authentication for demo purposes
-        // In production, this would authenticate against a database
+        // BCrypt check against the users table; unknown, disabled and wrong-password logins all
+        // get the same response
         String role = authenticateUser(loginRequest.username(), loginRequest.password());
 
         if (role == null) {
@@ -79,13 +87,16 @@ public class AuthController {
     }
 
     private String authenticateUser(String username, String password) {
-        // Hardcoded users for demo purposes
-        if ("admin".equals(username) && "admin123".equals(password)) {
-            return "ADMIN";
-        } else if ("user".equals(username) && "user123".equals(password)) {
-            return "USER";
+        try {
+            Authentication authentication =
+                    authenticationManager.authenticate(
+                            UsernamePasswordAuthenticationToken.unauthenticated(
+                                    username, password));
+            return ((CatalogUserDetails) authentication.getPrincipal()).getRole();
+        } catch (AuthenticationException e) {
+            log.debug("Login failed for {}: {}", username, e.getMessage());
+            return null;
         }
-        return null;
     }
 
     private List<ErrorResponse.HelpLink> createLoginHelpLinks() {
@@ -15,31 +15,54 @@
  */
 package com.thedavestack.productcatalog.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.thedavestack.productcatalog.dto.CreateProductRequest;
+import com.thedavestack.productcatalog.dto.PatchProductRequest;
+import com.thedavestack.productcatalog.dto.ProductCursor;
+import com.thedavestack.productcatalog.dto.ProductCursorPageResponse;
+import com.thedavestack.productcatalog.dto.ProductImportResponse;
 import com.thedavestack.productcatalog.dto.ProductPageResponse;
 import com.thedavestack.productcatalog.dto.ProductResponse;
+import com.thedavestack.productcatalog.dto.StockAdjustmentRequest;
 import com.thedavestack.productcatalog.dto.UpdateProductRequest;
 import com.thedavestack.productcatalog.exception.ProductNotFoundException;
 import com.thedavestack.productcatalog.mapper.ProductMapper;
 import com.thedavestack.productcatalog.model.Category;
 import com.thedavestack.productcatalog.model.Product;
 import com.thedavestack.productcatalog.service.ProductService;
+import com.thedavestack.productcatalog.service.StockAdjustmentService;
+import com.thedavestack.productcatalog.transfer.ProductExporter;
+import com.thedavestack.productcatalog.transfer.ProductFileFormat;
+import com.thedavestack.productcatalog.transfer.ProductImporter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -57,6 +80,9 @@ public class ProductController {
 
     private final ProductService productService;
     private final ProductMapper productMapper;
+    private final ProductExporter productExporter;
+    private final ProductImporter productImporter;
+    private final StockAdjustmentService stockAdjustmentService;
 
     @Operation(
             summary = "Create a new product",
@@ -125,6 +151,153 @@ public class ProductController {
                 productPage.hasPrevious());
     }
 
+    @Operation(
+            summary = "Get products by cursor",
+            description =
+                    "Retrieve products using keyset pagination. Pass an empty cursor for the first"
+                            + " page and the returned nextCursor for each following page. The"
+                            + " total count is only computed when includeTotal is true.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Products retrieved successfully",
+                        content =
+                                @Content(
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ProductCursorPageResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid cursor or sort field")
+            })
+    @GetMapping(params = "cursor")
+    public ProductCursorPageResponse getProductsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) Category category,
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        Sort.Direction direction =
+                sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        // Sort order travels inside the cursor so follow-up pages cannot change it mid-scroll
+        ProductCursor position =
+                cursor.isBlank()
+                        ? ProductCursor.first(sortBy, direction)
+                        : ProductCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, 100));
+
+        Slice<Product> slice =
+                productService.findWithFiltersAfter(name, category, active, position, pageSize);
+
+        List<Product> content = slice.getContent();
+        String nextCursor =
+                slice.hasNext() ? position.after(content.get(content.size() - 1)).encode() : null;
+        Long totalElements =
+                includeTotal ? productService.countWithFilters(name, category, active) : null;
+
+        return new ProductCursorPageResponse(
+                content.stream().map(productMapper::toResponse).toList(),
+                pageSize,
+                slice.hasNext(),
+                nextCursor,
+                totalElements);
+    }
+
+    @Operation(
+            summary = "Search products by name",
+            description =
+                    "Fuzzy search over product names, matching substrings and similar words."
+                            + " Results are ordered by relevance. The search term must be at"
+                            + " least 3 characters.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Products retrieved successfully",
+                        content =
+                                @Content(
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ProductPageResponse.class))),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "Invalid parameters or search term shorter than 3 characters")
+            })
+    @GetMapping("/search")
+    public ProductPageResponse searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Pageable pageable = PageRequest.of(page, Math.min(size, 100));
+
+        Page<Product> productPage = productService.searchByName(q, pageable);
+
+        return new ProductPageResponse(
+                productPage.getContent().stream().map(productMapper::toResponse).toList(),
+                productPage.getNumber(),
+                productPage.getSize(),
+                productPage.getTotalElements(),
+                productPage.getTotalPages(),
+                productPage.isFirst(),
+                productPage.isLast(),
+                productPage.hasNext(),
+                productPage.hasPrevious());
+    }
+
+    @Operation(
+            summary = "Export all products",
+            description =
+                    "Stream the full product catalog as newline-delimited JSON (ndjson) or CSV."
+                            + " Rows are written as they are read, so the export works for"
+                            + " catalogs of any size.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+                @ApiResponse(responseCode = "400", description = "Unsupported format")
+            })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestParam(defaultValue = "NDJSON") ProductFileFormat format) {
+        StreamingResponseBody body = outputStream -> productExporter.export(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(
+                        HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + format.getFileExtension() + "\"")
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Import products",
+            description =
+                    "Bulk-create products from a newline-delimited JSON (application/x-ndjson) or"
+                            + " CSV (text/csv, with a header row) request body. Rows that fail"
+                            + " validation or reuse an existing SKU are skipped and reported; all"
+                            + " other rows are imported.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Import finished",
+                        content =
+                                @Content(
+                                        schema =
+                                                @Schema(
+                                                        implementation =
+                                                                ProductImportResponse.class))),
+                @ApiResponse(responseCode = "415", description = "Unsupported content type")
+            })
+    @PostMapping(
+            value = "/import",
+            consumes = {"application/x-ndjson", "text/csv"})
+    public ProductImportResponse importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body)
+            throws IOException {
+        return productImporter.importProducts(ProductFileFormat.fromContentType(contentType), body);
+    }
+
     @Operation(
             summary = "Get low stock products",
             description = "Retrieve products with stock quantity at or below minimum stock level.",
@@ -176,9 +349,59 @@ public class ProductController {
                 @ApiResponse(responseCode = "404", description = "Product not found")
             })
     @GetMapping("/{id}")
-    public ProductResponse getProductById(@PathVariable String id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable String id) {
+        requireWellFormedId(id);
         Product product =
                 productService.findById(id).orElseThrow(() -> new ProductNotFoundException(id));
+        return withETag(product);
+    }
+
+    @Operation(
+            summary = "Get product as of a point in time",
+            description =
+                    "Reconstruct a product as it was at the given instant from the nearest audit"
+                            + " snapshot plus the changes recorded after it.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Product state at that instant",
+                        content =
+                                @Content(schema = @Schema(implementation = ProductResponse.class))),
+                @ApiResponse(
+                        responseCode = "404",
+                        description =
+                                "Product did not exist, was deleted, or its history is no longer"
+                                        + " retained")
+            })
+    @GetMapping("/{id}/as-of")
+    public ProductResponse getProductAsOf(
+            @PathVariable String id,
+            @RequestParam("ts") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant asOf) {
+        requireWellFormedId(id);
+        Product product =
+                productService
+                        .findByIdAsOf(id, asOf)
+                        .orElseThrow(() -> new ProductNotFoundException(id));
+        return productMapper.toResponse(product);
+    }
+
+    @Operation(
+            summary = "Get product by SKU",
+            description = "Retrieve a product by its unique SKU.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Product found",
+                        content =
+                                @Content(schema = @Schema(implementation = ProductResponse.class))),
+                @ApiResponse(responseCode = "404", description = "Product not found")
+            })
+    @GetMapping("/sku/{sku}")
+    public ProductResponse getProductBySku(@PathVariable String sku) {
+        Product product =
+                productService
+                        .findBySku(sku)
+                        .orElseThrow(() -> ProductNotFoundException.forSku(sku));
         return productMapper.toResponse(product);
     }
 
@@ -192,15 +415,78 @@ public class ProductController {
                         content =
                                 @Content(schema = @Schema(implementation = ProductResponse.class))),
                 @ApiResponse(responseCode = "400", description = "Invalid input"),
-                @ApiResponse(responseCode = "404", description = "Product not found")
+                @ApiResponse(responseCode = "404", description = "Product not found"),
+                @ApiResponse(
+                        responseCode = "412",
+                        description = "Product version does not match If-Match")
             })
     @PutMapping("/{id}")
-    public ProductResponse updateProduct(
+    public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Valid UpdateProductRequest updateProductRequest) {
+        requireWellFormedId(id);
         Product productDetails = productMapper.toEntity(updateProductRequest);
-        Product updatedProduct = productService.updateProduct(id, productDetails);
-        return productMapper.toResponse(updatedProduct);
+        Product updatedProduct =
+                productService.patchProduct(id, productDetails, expectedVersion(ifMatch));
+        return withETag(updatedProduct);
+    }
+
+    @Operation(
+            summary = "Partially update a product",
+            description =
+                    "Change only the fields present in the request body, in a single database"
+                            + " statement. Send the product version (the ETag of a previous"
+                            + " response) in If-Match to apply the change only if nobody else"
+                            + " has modified the product since.",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Product updated successfully",
+                        content =
+                                @Content(schema = @Schema(implementation = ProductResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid input"),
+                @ApiResponse(responseCode = "404", description = "Product not found"),
+                @ApiResponse(
+                        responseCode = "412",
+                        description = "Product version does not match If-Match")
+            })
+    @PatchMapping("/{id}")
+    public ResponseEntity<ProductResponse> patchProduct(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid PatchProductRequest patchProductRequest) {
+        requireWellFormedId(id);
+        Product changes = productMapper.toEntity(patchProductRequest);
+        Product updatedProduct = productService.patchProduct(id, changes, expectedVersion(ifMatch));
+        return withETag(updatedProduct);
+    }
+
+    @Operation(
+            summary = "Adjust product stock",
+            description =
+                    "Add a signed delta to the stock quantity in a single atomic statement."
+                            + " Concurrent adjustments to the same product never conflict. The"
+                            + " change is rejected if it would leave less stock than the floor"
+                            + " (default 0).",
+            responses = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Stock adjusted successfully",
+                        content =
+                                @Content(schema = @Schema(implementation = ProductResponse.class))),
+                @ApiResponse(responseCode = "400", description = "Invalid input"),
+                @ApiResponse(responseCode = "404", description = "Product not found"),
+                @ApiResponse(
+                        responseCode = "409",
+                        description = "Adjustment would take stock below the floor")
+            })
+    @PostMapping("/{id}/stock:adjust")
+    public ResponseEntity<ProductResponse> adjustStock(
+            @PathVariable String id, @RequestBody @Valid StockAdjustmentRequest request) {
+        requireWellFormedId(id);
+        Product product = stockAdjustmentService.adjustStock(id, request.delta(), request.floor());
+        return withETag(product);
     }
 
     @Operation(
@@ -213,6 +499,39 @@ public class ProductController {
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteProduct(@PathVariable String id) {
+        requireWellFormedId(id);
         productService.deleteProduct(id);
     }
+
+    /** IDs are stored as native uuid, so anything else cannot match a product. */
+    private static void requireWellFormedId(String id) {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new ProductNotFoundException(id);
+        }
+    }
+
+    private ResponseEntity<ProductResponse> withETag(Product product) {
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(product.getVersion()))
+                .body(productMapper.toResponse(product));
+    }
+
+    /** Reads the product version from an If-Match header; {@code *} or no header means any. */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            // Not one of our ETags, so it can never match
+            return -1L;
+        }
+    }
 }
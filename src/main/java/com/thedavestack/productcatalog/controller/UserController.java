@@ -0,0 +1,53 @@
+/**
+ * UserController.java
+ *
+ * <p>Purpose: - Handles HTTP requests for user administration. - PUT /users/{username}/role →
+ * change a user's role
+ *
+ * <p>Logic Overview: 1. Validate the requested role. 2. Delegate to {@link UserService}, which
+ * records the change and evicts the user's cached principal once it commits.
+ */
+package com.thedavestack.productcatalog.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.thedavestack.productcatalog.dto.RoleChangeRequest;
+import com.thedavestack.productcatalog.service.UserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/v1/users")
+@RequiredArgsConstructor
+@Tag(name = "User", description = "User administration APIs")
+public class UserController {
+
+    private final UserService userService;
+
+    @Operation(
+            summary = "Change a user's role",
+            description =
+                    "Assign a new role to a user and record the change in the role history. The"
+                            + " new role and its permissions apply from the user's next request,"
+                            + " including requests made with tokens issued before the change.",
+            responses = {
+                @ApiResponse(responseCode = "204", description = "Role changed"),
+                @ApiResponse(responseCode = "400", description = "Invalid role"),
+                @ApiResponse(responseCode = "404", description = "User not found")
+            })
+    @PutMapping("/{username}/role")
+    public ResponseEntity<Void> changeRole(
+            @PathVariable String username, @RequestBody @Valid RoleChangeRequest request) {
+        userService.changeRole(username, request.role(), request.reason());
+        return ResponseEntity.noContent().build();
+    }
+}
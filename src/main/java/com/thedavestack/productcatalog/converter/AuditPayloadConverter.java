@@ -0,0 +1,33 @@
+/**
+ * AuditPayloadConverter.java
+ *
+ * <p>Purpose: - Maps the JSON text attributes of AuditLog onto the binary bytea payload columns.
+ *
+ * <p>Logic Overview: - Delegates to the AuditPayloadCodec bean, so entities read through JPA expose
+ * plain JSON whichever format a row was written in. - Instantiated by Hibernate through Spring's
+ * bean container, which injects the codec.
+ */
+package com.thedavestack.productcatalog.converter;
+
+import com.thedavestack.productcatalog.audit.AuditPayloadCodec;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import lombok.RequiredArgsConstructor;
+
+@Converter
+@RequiredArgsConstructor
+public class AuditPayloadConverter implements AttributeConverter<String, byte[]> {
+
+    private final AuditPayloadCodec codec;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String json) {
+        return codec.encode(json);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] payload) {
+        return codec.decode(payload);
+    }
+}
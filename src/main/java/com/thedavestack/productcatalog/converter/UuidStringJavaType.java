@@ -0,0 +1,69 @@
+/**
+ * UuidStringJavaType.java
+ *
+ * <p>Purpose: - Maps a String attribute onto a native PostgreSQL uuid column.
+ *
+ * <p>Logic Overview: - Entity IDs stay Strings in Java, so repository signatures and API payloads
+ * are unchanged. - Values are bound and read as java.util.UUID, which stores 16 bytes per key
+ * instead of a 36-character VARCHAR.
+ */
+package com.thedavestack.productcatalog.converter;
+
+import java.util.UUID;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+public class UuidStringJavaType extends AbstractClassJavaType<String> {
+
+    public UuidStringJavaType() {
+        super(String.class);
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(SqlTypes.UUID);
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromString(CharSequence string) {
+        return string == null ? null : string.toString();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (UUID.class.isAssignableFrom(type)) {
+            return (X) UUID.fromString(value);
+        }
+        if (String.class.isAssignableFrom(type)) {
+            return (X) value;
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof UUID uuid) {
+            return uuid.toString();
+        }
+        if (value instanceof String string) {
+            return string;
+        }
+        throw unknownWrap(value.getClass());
+    }
+}
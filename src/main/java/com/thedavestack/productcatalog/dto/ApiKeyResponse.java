@@ -0,0 +1,17 @@
+package com.thedavestack.productcatalog.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A newly created API key")
+public record ApiKeyResponse(
+        @Schema(description = "Key ID, used to revoke the key") String id,
+        @Schema(description = "Name of the key") String name,
+        @Schema(description = "The key itself, sent in the X-API-Key header; shown only once")
+                String key,
+        @Schema(description = "Non-secret prefix identifying the key") String keyPrefix,
+        @Schema(description = "Permissions granted to the key") List<String> scopes,
+        @Schema(description = "Expiry instant, or null if the key never expires") Instant expiresAt,
+        @Schema(description = "Creation instant") Instant createdAt) {}
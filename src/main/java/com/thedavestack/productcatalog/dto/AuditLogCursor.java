@@ -0,0 +1,92 @@
+/**
+ * AuditLogCursor.java
+ *
+ * <p>Purpose: - Opaque keyset pagination token for audit log listings.
+ *
+ * <p>Logic Overview: - Audit logs are always listed newest first, so the cursor only captures the
+ * creation time and ID of the last row returned. - Serialized as URL-safe Base64 so clients treat
+ * it as an opaque string. - A cursor without a position represents the first page.
+ */
+package com.thedavestack.productcatalog.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.thedavestack.productcatalog.exception.InvalidCursorException;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+public record AuditLogCursor(Instant createdAt, String id) {
+
+    private static final AuditLogCursor FIRST = new AuditLogCursor(null, null);
+    private static final String SEPARATOR = "/";
+    private static final String MAX_ID = "ffffffff-ffff-ffff-ffff-ffffffffffff";
+
+    /**
+     * Returns the cursor for the first page of a listing.
+     *
+     * @return a cursor without a position.
+     */
+    public static AuditLogCursor first() {
+        return FIRST;
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}; a null or blank token is the first
+     * page.
+     *
+     * @param token the opaque cursor token.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the token is malformed.
+     */
+    public static AuditLogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            UUID.fromString(parts[1]);
+            return new AuditLogCursor(Instant.parse(parts[0]), parts[1]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    /**
+     * Returns the cursor positioned after the given row.
+     *
+     * @param last the last audit log of the current page.
+     * @return a cursor positioned after that entry.
+     */
+    public static AuditLogCursor after(AuditLog last) {
+        return new AuditLogCursor(last.getCreatedAt(), last.getId());
+    }
+
+    /**
+     * Returns the cursor positioned just after the given instant, so a listing from it starts with
+     * the entries created at or before that instant.
+     *
+     * @param instant the newest creation time to include.
+     * @return a cursor positioned after every entry created at the instant.
+     */
+    public static AuditLogCursor atOrBefore(Instant instant) {
+        return new AuditLogCursor(instant, MAX_ID);
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
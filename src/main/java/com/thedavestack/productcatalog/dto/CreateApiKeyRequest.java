@@ -0,0 +1,25 @@
+package com.thedavestack.productcatalog.dto;
+
+import java.time.Instant;
+import java.util.Set;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request to create an API key")
+public record CreateApiKeyRequest(
+        @Schema(description = "Name of the key, unique per user", example = "inventory-sync")
+                @NotBlank(message = "Name is required")
+                @Size(max = 100, message = "Name must not exceed 100 characters")
+                String name,
+        @Schema(
+                        description =
+                                "Permissions granted to the key; defaults to all of the caller's"
+                                        + " permissions",
+                        example = "[\"READ\"]")
+                Set<String> scopes,
+        @Schema(description = "Expiry instant; the key never expires if omitted")
+                @Future(message = "Expiry must be in the future")
+                Instant expiresAt) {}
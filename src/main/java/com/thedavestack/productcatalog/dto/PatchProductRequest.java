@@ -0,0 +1,31 @@
+/**
+ * PatchProductRequest.java
+ *
+ * <p>Purpose: - Represents the DTO for a partial product update. Every field is optional; only the
+ * fields present in the request are changed.
+ */
+package com.thedavestack.productcatalog.dto;
+
+import java.math.BigDecimal;
+
+import com.thedavestack.productcatalog.model.Category;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+public record PatchProductRequest(
+        @Pattern(regexp = ".*\\S.*", message = "Product name cannot be blank")
+                @Size(max = 255, message = "Name cannot exceed 255 characters")
+                String name,
+        @Size(max = 1000, message = "Description cannot exceed 1000 characters") String description,
+        @Positive(message = "Product price must be positive") BigDecimal price,
+        Category category,
+        @PositiveOrZero(message = "Stock quantity must be zero or positive") Integer stockQuantity,
+        @PositiveOrZero(message = "Minimum stock level must be zero or positive")
+                Integer minStockLevel,
+        @Size(max = 500, message = "Image URL cannot exceed 500 characters") String imageUrl,
+        @Positive(message = "Weight must be positive") BigDecimal weight,
+        @Size(max = 255, message = "Dimensions cannot exceed 255 characters") String dimensions,
+        Boolean active) {}
@@ -0,0 +1,121 @@
+/**
+ * ProductCursor.java
+ *
+ * <p>Purpose: - Opaque keyset pagination token for the product listing endpoint.
+ *
+ * <p>Logic Overview: - Captures the sort field, sort direction and the sort key plus ID of the last
+ * row returned. - Serialized as URL-safe Base64 so clients treat it as an opaque string. - A cursor
+ * without a position represents the first page.
+ */
+package com.thedavestack.productcatalog.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+
+import com.thedavestack.productcatalog.exception.InvalidCursorException;
+import com.thedavestack.productcatalog.model.Product;
+
+public record ProductCursor(String sortBy, Sort.Direction direction, String value, String id) {
+
+    /** Sort fields that are non-null and backed by a {@code (column, id)} index. */
+    public static final Set<String> SORTABLE_FIELDS =
+            Set.of("createdAt", "updatedAt", "name", "price", "sku", "stockQuantity");
+
+    private static final String SEPARATOR = ":";
+
+    public ProductCursor {
+        if (!SORTABLE_FIELDS.contains(sortBy)) {
+            throw new InvalidCursorException(
+                    "Cursor pagination does not support sorting by '" + sortBy + "'");
+        }
+    }
+
+    /**
+     * Creates the cursor for the first page of a listing.
+     *
+     * @param sortBy the field to sort by.
+     * @param direction the sort direction.
+     * @return a cursor without a position.
+     */
+    public static ProductCursor first(String sortBy, Sort.Direction direction) {
+        return new ProductCursor(sortBy, direction, null, null);
+    }
+
+    /**
+     * Decodes a token previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor token.
+     * @return the decoded cursor.
+     * @throws InvalidCursorException if the token is malformed.
+     */
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last because it may itself contain the separator
+            String[] parts = raw.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            UUID.fromString(parts[2]);
+            return new ProductCursor(
+                    parts[0], Sort.Direction.fromString(parts[1]), parts[3], parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    /**
+     * Returns the cursor positioned after the given row.
+     *
+     * @param last the last product of the current page.
+     * @return a cursor positioned after that product.
+     */
+    public ProductCursor after(Product last) {
+        Object key =
+                switch (sortBy) {
+                    case "createdAt" -> last.getCreatedAt();
+                    case "updatedAt" -> last.getUpdatedAt();
+                    case "name" -> last.getName();
+                    case "price" -> last.getPrice();
+                    case "sku" -> last.getSku();
+                    default -> last.getStockQuantity();
+                };
+        return new ProductCursor(sortBy, direction, String.valueOf(key), last.getId());
+    }
+
+    /**
+     * Parses the stored sort key back into the type of the sorted attribute.
+     *
+     * @return the sort key of the last row seen.
+     */
+    public Comparable<?> typedValue() {
+        try {
+            return switch (sortBy) {
+                case "createdAt", "updatedAt" -> Instant.parse(value);
+                case "price" -> new BigDecimal(value);
+                case "stockQuantity" -> Integer.valueOf(value);
+                default -> value;
+            };
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public String encode() {
+        String raw = sortBy + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package com.thedavestack.productcatalog.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ProductCursorPageResponse(
+        List<ProductResponse> products,
+        int pageSize,
+        boolean hasNext,
+        String nextCursor,
+        Long totalElements) {}
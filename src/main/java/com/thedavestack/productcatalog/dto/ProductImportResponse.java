@@ -0,0 +1,13 @@
+package com.thedavestack.productcatalog.dto;
+
+import java.util.List;
+
+public record ProductImportResponse(
+        long totalRows,
+        long importedRows,
+        long failedRows,
+        List<RowError> errors,
+        boolean errorsTruncated) {
+
+    public record RowError(long row, String sku, String message) {}
+}
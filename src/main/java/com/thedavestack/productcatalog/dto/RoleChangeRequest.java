@@ -0,0 +1,20 @@
+package com.thedavestack.productcatalog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+@Schema(description = "Request to change a user's role")
+public record RoleChangeRequest(
+        @Schema(description = "New role", example = "MANAGER")
+                @NotBlank(message = "Role is required")
+                @Pattern(
+                        regexp = "ADMIN|USER|MANAGER|READONLY",
+                        message = "Role must be one of ADMIN, USER, MANAGER or READONLY")
+                String role,
+        @Schema(
+                        description = "Reason recorded in the role history",
+                        example = "Promoted to manager")
+                @Size(max = 1000, message = "Reason must not exceed 1000 characters")
+                String reason) {}
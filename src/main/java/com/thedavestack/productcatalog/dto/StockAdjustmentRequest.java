@@ -0,0 +1,14 @@
+/**
+ * StockAdjustmentRequest.java
+ *
+ * <p>Purpose: - Represents the DTO for a relative stock change. The adjustment is rejected if it
+ * would leave less stock than the floor, which defaults to zero.
+ */
+package com.thedavestack.productcatalog.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+
+public record StockAdjustmentRequest(
+        @NotNull(message = "Delta is required") Integer delta,
+        @PositiveOrZero(message = "Floor must be zero or positive") Integer floor) {}
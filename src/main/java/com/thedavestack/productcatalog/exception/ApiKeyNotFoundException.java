@@ -0,0 +1,18 @@
+/**
+ * ApiKeyNotFoundException.java
+ *
+ * <p>Purpose: - Custom exception to indicate that an API key does not exist or belongs to another
+ * user.
+ */
+package com.thedavestack.productcatalog.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ApiKeyNotFoundException extends RuntimeException {
+
+    public ApiKeyNotFoundException(String id) {
+        super(String.format("API key not found with ID: %s", id));
+    }
+}
@@ -12,6 +12,7 @@ package com.thedavestack.productcatalog.exception;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -54,6 +55,41 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(UserNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUserNotFoundException(
+            UserNotFoundException ex, WebRequest request) {
+
+        log.error("User not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.NOT_FOUND.value(),
+                        "Not Found",
+                        ex.getMessage(),
+                        getPath(request),
+                        "USER_NOT_FOUND",
+                        createSwaggerHelpLinks());
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ApiKeyNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleApiKeyNotFoundException(
+            ApiKeyNotFoundException ex, WebRequest request) {
+
+        log.error("API key not found: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.NOT_FOUND.value(),
+                        "Not Found",
+                        ex.getMessage(),
+                        getPath(request),
+                        "API_KEY_NOT_FOUND");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
     @ExceptionHandler(DuplicateSkuException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateSkuException(
             DuplicateSkuException ex, WebRequest request) {
@@ -71,6 +107,108 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ProductVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleProductVersionMismatchException(
+            ProductVersionMismatchException ex, WebRequest request) {
+
+        log.error("Product version mismatch: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.PRECONDITION_FAILED.value(),
+                        "Precondition Failed",
+                        ex.getMessage(),
+                        getPath(request),
+                        "VERSION_MISMATCH");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+
+        log.error("Concurrent modification: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.CONFLICT.value(),
+                        "Conflict",
+                        "The resource was modified concurrently, please retry",
+                        getPath(request),
+                        "CONCURRENT_MODIFICATION");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(
+            InsufficientStockException ex, WebRequest request) {
+
+        log.error("Insufficient stock: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.CONFLICT.value(),
+                        "Conflict",
+                        ex.getMessage(),
+                        getPath(request),
+                        "INSUFFICIENT_STOCK");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(InvalidApiKeyRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidApiKeyRequestException(
+            InvalidApiKeyRequestException ex, WebRequest request) {
+
+        log.error("Invalid API key request: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        ex.getMessage(),
+                        getPath(request),
+                        "INVALID_API_KEY_REQUEST");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursorException(
+            InvalidCursorException ex, WebRequest request) {
+
+        log.error("Invalid cursor: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        ex.getMessage(),
+                        getPath(request),
+                        "INVALID_CURSOR");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidSearchQueryException(
+            InvalidSearchQueryException ex, WebRequest request) {
+
+        log.error("Invalid search query: {}", ex.getMessage());
+
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.BAD_REQUEST.value(),
+                        "Bad Request",
+                        ex.getMessage(),
+                        getPath(request),
+                        "INVALID_SEARCH_QUERY");
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex,
@@ -0,0 +1,21 @@
+/**
+ * InsufficientStockException.java
+ *
+ * <p>Purpose: - Custom exception thrown when a stock adjustment would take a product's stock below
+ * the requested floor.
+ */
+package com.thedavestack.productcatalog.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String id, int currentStock, long delta, int floor) {
+        super(
+                "Adjusting stock of product "
+                        + id
+                        + " by "
+                        + delta
+                        + " would leave "
+                        + (currentStock + delta)
+                        + ", below the floor of "
+                        + floor);
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * InvalidApiKeyRequestException.java
+ *
+ * <p>Purpose: - Custom exception thrown when an API key cannot be created as requested, e.g. its
+ * scopes exceed the owner's permissions or its name is already taken.
+ */
+package com.thedavestack.productcatalog.exception;
+
+public class InvalidApiKeyRequestException extends RuntimeException {
+    public InvalidApiKeyRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * InvalidCursorException.java
+ *
+ * <p>Purpose: - Custom exception thrown when a pagination cursor cannot be decoded or uses an
+ * unsupported sort field.
+ */
+package com.thedavestack.productcatalog.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+/**
+ * InvalidSearchQueryException.java
+ *
+ * <p>Purpose: - Custom exception thrown when a product search term is too short to be served by the
+ * trigram index.
+ */
+package com.thedavestack.productcatalog.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
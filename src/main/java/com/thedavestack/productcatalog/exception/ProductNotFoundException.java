@@ -16,6 +16,14 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 public class ProductNotFoundException extends RuntimeException {
 
     public ProductNotFoundException(String id) {
-        super(String.format("Product not found with ID: %s", id));
+        this("ID", id);
+    }
+
+    private ProductNotFoundException(String key, String value) {
+        super(String.format("Product not found with %s: %s", key, value));
+    }
+
+    public static ProductNotFoundException forSku(String sku) {
+        return new ProductNotFoundException("SKU", sku);
     }
 }
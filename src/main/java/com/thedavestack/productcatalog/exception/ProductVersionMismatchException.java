@@ -0,0 +1,19 @@
+/**
+ * ProductVersionMismatchException.java
+ *
+ * <p>Purpose: - Custom exception thrown when a conditional update names a product version (via
+ * If-Match) that is no longer current.
+ */
+package com.thedavestack.productcatalog.exception;
+
+public class ProductVersionMismatchException extends RuntimeException {
+    public ProductVersionMismatchException(String id, long expectedVersion, long currentVersion) {
+        super(
+                "Product with id "
+                        + id
+                        + " is at version "
+                        + currentVersion
+                        + ", not "
+                        + expectedVersion);
+    }
+}
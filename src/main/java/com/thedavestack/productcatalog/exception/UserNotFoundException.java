@@ -0,0 +1,17 @@
+/**
+ * UserNotFoundException.java
+ *
+ * <p>Purpose: - Custom exception to indicate that a requested user could not be found.
+ */
+package com.thedavestack.productcatalog.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UserNotFoundException extends RuntimeException {
+
+    public UserNotFoundException(String username) {
+        super(String.format("User not found with username: %s", username));
+    }
+}
@@ -13,6 +13,7 @@ package com.thedavestack.productcatalog.mapper;
 import org.springframework.stereotype.Component;
 
 import com.thedavestack.productcatalog.dto.CreateProductRequest;
+import com.thedavestack.productcatalog.dto.PatchProductRequest;
 import com.thedavestack.productcatalog.dto.ProductResponse;
 import com.thedavestack.productcatalog.dto.UpdateProductRequest;
 import com.thedavestack.productcatalog.model.Product;
@@ -43,6 +44,21 @@ public class ProductMapper {
         return product;
     }
 
+    public Product toEntity(PatchProductRequest patchProductRequest) {
+        Product product = new Product();
+        product.setName(patchProductRequest.name());
+        product.setDescription(patchProductRequest.description());
+        product.setPrice(patchProductRequest.price());
+        product.setCategory(patchProductRequest.category());
+        product.setStockQuantity(patchProductRequest.stockQuantity());
+        product.setMinStockLevel(patchProductRequest.minStockLevel());
+        product.setImageUrl(patchProductRequest.imageUrl());
+        product.setWeight(patchProductRequest.weight());
+        product.setDimensions(patchProductRequest.dimensions());
+        product.setActive(patchProductRequest.active());
+        return product;
+    }
+
     public Product toEntity(UpdateProductRequest updateProductRequest) {
         Product product = new Product();
         product.setName(updateProductRequest.getName());
@@ -6,11 +6,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.thedavestack.productcatalog.model.Category;
 import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.repository.ProductRepository;
 import com.thedavestack.productcatalog.service.ProductService;
 
 import io.modelcontextprotocol.server.McpServerFeatures;
@@ -21,14 +25,25 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * MCP Resource Provider for Inventory Status information. Provides real-time inventory analytics,
- * stock alerts, and inventory health metrics for AI-driven inventory management.
+ * stock alerts, and inventory health metrics for AI-driven inventory management. The overview,
+ * alert and prediction resources are polled, so they read counts, sums and bounded pages from the
+ * repository instead of loading the catalog.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class InventoryStatusResourceProvider {
 
+    /** Most products listed by the alert resource; the summary still counts all of them. */
+    private static final int ALERT_LIMIT = 100;
+
+    /** Most products listed by each of the prediction resource's views. */
+    private static final int PREDICTION_LIMIT = 100;
+
+    private static final Sort BY_STOCK_QUANTITY = Sort.by("stockQuantity", "id");
+
     private final ProductService productService;
+    private final ProductRepository productRepository;
     private final ObjectMapper objectMapper;
 
     /**
@@ -92,38 +107,24 @@ public class InventoryStatusResourceProvider {
     private McpSchema.ReadResourceResult getInventoryOverviewResource(
             McpSyncServerExchange exchange, McpSchema.ReadResourceRequest request) {
         try {
-            List<Product> allProducts = productService.findAllProducts();
-
-            long totalProducts = allProducts.size();
-            long productsInStock =
-                    allProducts.stream().mapToLong(p -> p.getStockQuantity() > 0 ? 1 : 0).sum();
-            long outOfStock = totalProducts - productsInStock;
+            long totalProducts = productRepository.count();
+            long outOfStock = productRepository.countOutOfStockProducts();
+            long productsInStock = totalProducts - outOfStock;
 
-            long lowStockCount =
-                    allProducts.stream()
-                            .mapToLong(
-                                    p ->
-                                            p.getStockQuantity() <= p.getMinStockLevel()
-                                                            && p.getStockQuantity() > 0
-                                                    ? 1
-                                                    : 0)
-                            .sum();
+            // Every out-of-stock product is also in the low-stock set
+            long allLowStock =
+                    productRepository.findLowStockProducts(PageRequest.of(0, 1)).getTotalElements();
+            long lowStockCount = allLowStock - outOfStock;
 
-            int totalStockUnits = allProducts.stream().mapToInt(Product::getStockQuantity).sum();
+            Long stockUnits = productRepository.sumStockQuantity();
+            long totalStockUnits = stockUnits != null ? stockUnits : 0;
 
+            BigDecimal inventoryValue = productRepository.sumInventoryValue();
             BigDecimal totalInventoryValue =
-                    allProducts.stream()
-                            .filter(p -> p.getPrice() != null)
-                            .map(
-                                    p ->
-                                            p.getPrice()
-                                                    .multiply(
-                                                            BigDecimal.valueOf(
-                                                                    p.getStockQuantity())))
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+                    inventoryValue != null ? inventoryValue : BigDecimal.ZERO;
 
             // Stock health score (0-100)
-            double stockHealthScore = calculateStockHealthScore(allProducts);
+            double stockHealthScore = calculateStockHealthScore(totalProducts, allLowStock);
 
             String jsonContent =
                     objectMapper.writeValueAsString(
@@ -159,10 +160,15 @@ public class InventoryStatusResourceProvider {
     private McpSchema.ReadResourceResult getCriticalStockAlertsResource(
             McpSyncServerExchange exchange, McpSchema.ReadResourceRequest request) {
         try {
-            List<Product> allProducts = productService.findAllProducts();
+            // Sorted like the partial index, so out-of-stock products come first
+            Page<Product> lowStock =
+                    productRepository.findLowStockProducts(
+                            PageRequest.of(0, ALERT_LIMIT, BY_STOCK_QUANTITY));
+            long totalCritical = productRepository.countOutOfStockProducts();
+            long totalWarnings = lowStock.getTotalElements() - totalCritical;
 
             List<Map<String, Object>> criticalAlerts =
-                    allProducts.stream()
+                    lowStock.getContent().stream()
                             .filter(p -> p.getStockQuantity() == 0)
                             .map(
                                     product ->
@@ -187,11 +193,8 @@ public class InventoryStatusResourceProvider {
                             .toList();
 
             List<Map<String, Object>> warningAlerts =
-                    allProducts.stream()
-                            .filter(
-                                    p ->
-                                            p.getStockQuantity() > 0
-                                                    && p.getStockQuantity() <= p.getMinStockLevel())
+                    lowStock.getContent().stream()
+                            .filter(p -> p.getStockQuantity() > 0)
                             .map(
                                     product ->
                                             (Map<String, Object>)
@@ -223,14 +226,17 @@ public class InventoryStatusResourceProvider {
                                     "warningAlerts", warningAlerts,
                                     "summary",
                                             Map.of(
-                                                    "totalCritical", criticalAlerts.size(),
-                                                    "totalWarnings", warningAlerts.size(),
+                                                    "totalCritical",
+                                                    totalCritical,
+                                                    "totalWarnings",
+                                                    totalWarnings,
                                                     "totalNeedsAttention",
-                                                            criticalAlerts.size()
-                                                                    + warningAlerts.size()),
+                                                    lowStock.getTotalElements(),
+                                                    "truncated",
+                                                    lowStock.hasNext()),
                                     "recommendations",
                                             generateInventoryRecommendations(
-                                                    criticalAlerts, warningAlerts),
+                                                    totalCritical, totalWarnings),
                                     "timestamp", java.time.Instant.now().toString()));
 
             return new McpSchema.ReadResourceResult(
@@ -314,20 +320,17 @@ public class InventoryStatusResourceProvider {
     private McpSchema.ReadResourceResult getStockMovementPredictionsResource(
             McpSyncServerExchange exchange, McpSchema.ReadResourceRequest request) {
         try {
-            List<Product> allProducts = productService.findAllProducts();
+            // Both lists walk the stock quantity index from the bottom and stop at the limit,
+            // so they cover the products closest to running out
+            PageRequest lowestStock = PageRequest.of(0, PREDICTION_LIMIT, BY_STOCK_QUANTITY);
 
             List<Map<String, Object>> predictions =
-                    allProducts.stream()
-                            .filter(p -> p.getStockQuantity() > 0)
+                    productRepository.findByStockQuantityGreaterThan(0, lowestStock).stream()
                             .map(this::generateStockMovementPrediction)
                             .collect(Collectors.toList());
 
             List<Map<String, Object>> reorderRecommendations =
-                    allProducts.stream()
-                            .filter(
-                                    p ->
-                                            p.getStockQuantity()
-                                                    <= p.getMinStockLevel() * 1.5) // 50% buffer
+                    productRepository.findNearLowStockProducts(lowestStock).stream()
                             .map(this::generateReorderRecommendation)
                             .collect(Collectors.toList());
 
@@ -402,15 +405,12 @@ public class InventoryStatusResourceProvider {
     }
 
     // Helper methods
-    private double calculateStockHealthScore(List<Product> products) {
-        if (products.isEmpty()) return 0.0;
+    private double calculateStockHealthScore(long totalProducts, long lowStockProducts) {
+        if (totalProducts == 0) return 0.0;
 
-        long healthyProducts =
-                products.stream()
-                        .mapToLong(p -> p.getStockQuantity() > p.getMinStockLevel() ? 1 : 0)
-                        .sum();
+        long healthyProducts = totalProducts - lowStockProducts;
 
-        return (double) healthyProducts / products.size() * 100;
+        return (double) healthyProducts / totalProducts * 100;
     }
 
     private BigDecimal calculateEstimatedLostSales(Product product) {
@@ -423,11 +423,10 @@ public class InventoryStatusResourceProvider {
         return product.getStockQuantity();
     }
 
-    private List<String> generateInventoryRecommendations(
-            List<Map<String, Object>> critical, List<Map<String, Object>> warnings) {
+    private List<String> generateInventoryRecommendations(long critical, long warnings) {
         return List.of(
-                "Immediately reorder " + critical.size() + " out-of-stock items",
-                "Schedule reorders for " + warnings.size() + " low-stock items",
+                "Immediately reorder " + critical + " out-of-stock items",
+                "Schedule reorders for " + warnings + " low-stock items",
                 "Review minimum stock levels for frequently low-stock categories",
                 "Consider implementing automated reorder points");
     }
@@ -0,0 +1,79 @@
+/**
+ * ApiKey.java
+ *
+ * <p>Purpose: - Represents a long-lived API key in the "api_keys" table.
+ *
+ * <p>Logic Overview: - Only the key's prefix and a BCrypt hash of the full key are stored; the key
+ * itself is shown once, when it is created. - The prefix is indexed, so a presented key is matched
+ * against the few keys sharing its prefix rather than every key. - Scopes are a subset of the
+ * owner's permissions. - last_used_at is written in batches by {@code ApiKeyUsageTracker}, so it is
+ * not mapped as updatable here.
+ */
+package com.thedavestack.productcatalog.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "api_keys")
+public class ApiKey {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private User user;
+
+    @Column(name = "key_name", nullable = false, length = 100)
+    private String keyName;
+
+    @ToString.Exclude
+    @Column(name = "key_hash", nullable = false)
+    private String keyHash;
+
+    @Column(name = "key_prefix", nullable = false, length = 10)
+    private String keyPrefix;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false, columnDefinition = "TEXT[]")
+    private List<String> scopes = new ArrayList<>();
+
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
+    @Column(name = "last_used_at", insertable = false, updatable = false)
+    private Instant lastUsedAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+}
@@ -3,13 +3,19 @@ package com.thedavestack.productcatalog.model;
 import java.time.Instant;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import com.thedavestack.productcatalog.converter.AuditPayloadConverter;
+import com.thedavestack.productcatalog.converter.UuidStringJavaType;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -26,7 +32,9 @@ import lombok.NoArgsConstructor;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     private String id;
 
     @Column(name = "entity_type", nullable = false)
@@ -42,17 +50,20 @@ public class AuditLog {
     @Column(name = "username")
     private String username;
 
-    @Column(name = "old_values", columnDefinition = "TEXT")
+    @Convert(converter = AuditPayloadConverter.class)
+    @Column(name = "old_values")
     private String oldValues;
 
-    @Column(name = "new_values", columnDefinition = "TEXT")
+    @Convert(converter = AuditPayloadConverter.class)
+    @Column(name = "new_values")
     private String newValues;
 
-    @Column(name = "changes", columnDefinition = "TEXT")
+    @Convert(converter = AuditPayloadConverter.class)
+    @Column(name = "changes")
     private String changes;
 
     @CreationTimestamp
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
     public enum AuditAction {
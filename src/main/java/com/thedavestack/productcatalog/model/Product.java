@@ -8,7 +8,7 @@
  * <p>Logic Overview: - This class is a JPA entity mapped to the "products" table. - It includes
  * fields for product details like SKU, name, price, etc. - It uses Lombok for boilerplate code
  * reduction and JPA annotations for ORM. - Timestamps for creation and update are automatically
- * managed.
+ * managed. - IDs are time-ordered UUIDv7 values stored in a native uuid column.
  *
  * <p>Last Updated: 2025-07-30 by Cline (Model: claude-3-opus, Task: Define Product JPA Entity)
  */
@@ -18,23 +18,31 @@ import java.math.BigDecimal;
 import java.time.Instant;
 
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.annotations.Where;
+import org.hibernate.type.SqlTypes;
 
 import com.thedavestack.productcatalog.converter.CategoryConverter;
+import com.thedavestack.productcatalog.converter.UuidStringJavaType;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Version;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
@@ -46,7 +54,9 @@ import lombok.NoArgsConstructor;
 public class Product {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JavaType(UuidStringJavaType.class)
+    @JdbcTypeCode(SqlTypes.UUID)
     private String id;
 
     @Column(unique = true, nullable = false)
@@ -69,6 +79,17 @@ public class Product {
     @Column(name = "min_stock_level")
     private Integer minStockLevel = 0;
 
+    /**
+     * Database-generated {@code stock_quantity <= min_stock_level} flag. Mapped only so queries can
+     * filter on its partial index; it is not kept current in memory, so it has no accessors.
+     */
+    @Column(name = "low_stock", insertable = false, updatable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Boolean lowStock;
+
     @Column(name = "image_url")
     private String imageUrl;
 
@@ -0,0 +1,56 @@
+/**
+ * Role.java
+ *
+ * <p>Purpose: - Represents a role in the "roles" table and the permissions it grants.
+ *
+ * <p>Logic Overview: - Role names are limited to ADMIN, USER, MANAGER and READONLY by a check
+ * constraint. - Permissions are stored as a PostgreSQL text array (READ, WRITE, DELETE,
+ * USER_MANAGEMENT, ...).
+ */
+package com.thedavestack.productcatalog.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "roles")
+public class Role {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private String id;
+
+    @Column(unique = true, nullable = false, length = 50)
+    private String name;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false, columnDefinition = "TEXT[]")
+    private List<String> permissions = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp private Instant updatedAt;
+}
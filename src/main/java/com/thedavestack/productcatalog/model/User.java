@@ -0,0 +1,69 @@
+/**
+ * User.java
+ *
+ * <p>Purpose: - Represents a database-managed user in the "users" table.
+ *
+ * <p>Logic Overview: - Each user has exactly one role; changes to it are recorded in {@link
+ * UserRoleHistory}. - Only the BCrypt hash of the password is stored. - The role is loaded lazily;
+ * repository queries that need it fetch it with an entity graph.
+ */
+package com.thedavestack.productcatalog.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "users")
+public class User {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private String id;
+
+    @Column(unique = true, nullable = false, length = 100)
+    private String username;
+
+    @Column(unique = true, nullable = false)
+    private String email;
+
+    @ToString.Exclude
+    @Column(name = "password_hash", nullable = false)
+    private String passwordHash;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "role_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Role role;
+
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @Column(name = "mcp_access_enabled", nullable = false)
+    private Boolean mcpAccessEnabled = false;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp private Instant updatedAt;
+}
@@ -0,0 +1,53 @@
+/**
+ * UserRoleHistory.java
+ *
+ * <p>Purpose: - Represents one role change in the append-only "user_role_history" table.
+ *
+ * <p>Logic Overview: - Rows store the IDs of the user, the previous and new role and the user who
+ * made the change, so history survives later edits to any of them.
+ */
+package com.thedavestack.productcatalog.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_role_history")
+public class UserRoleHistory {
+
+    @Id
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    private String id;
+
+    @Column(name = "user_id", nullable = false, length = 36)
+    private String userId;
+
+    @Column(name = "old_role_id", length = 36)
+    private String oldRoleId;
+
+    @Column(name = "new_role_id", nullable = false, length = 36)
+    private String newRoleId;
+
+    @Column(name = "changed_by", length = 36)
+    private String changedBy;
+
+    @Column(name = "change_reason", columnDefinition = "TEXT")
+    private String changeReason;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,42 @@
+/**
+ * UuidV7Generator.java
+ *
+ * <p>Purpose: - Generates time-ordered UUIDv7 identifiers (RFC 9562) for entity primary keys.
+ *
+ * <p>Logic Overview: - The top 48 bits hold the Unix timestamp in milliseconds, so new keys land at
+ * the right-hand edge of B-tree indexes instead of at random pages. - The 12-bit rand_a field is
+ * used as a counter within the same millisecond, which keeps IDs generated by this JVM strictly
+ * increasing. - The remaining 62 bits are random.
+ */
+package com.thedavestack.productcatalog.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+
+public class UuidV7Generator implements UuidValueGenerator {
+
+    /** Last issued (millis << 12 | counter) value. */
+    private static final AtomicLong LAST_STAMP = new AtomicLong();
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        // If the counter overflows within a millisecond it borrows from the next one, which keeps
+        // ordering intact at the cost of a timestamp that runs marginally ahead
+        long stamp = LAST_STAMP.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = ((stamp >>> 12) << 16) | 0x7000L | (stamp & 0xFFFL);
+        long leastSigBits =
+                (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                        | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * ApiKeyRepository.java
+ *
+ * <p>Purpose: - Provides the data access layer for the ApiKey entity.
+ *
+ * <p>Logic Overview: - Authentication looks keys up by prefix (idx_api_keys_prefix) and fetches the
+ * owner in the same query.
+ */
+package com.thedavestack.productcatalog.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.thedavestack.productcatalog.model.ApiKey;
+
+@Repository
+public interface ApiKeyRepository extends JpaRepository<ApiKey, String> {
+
+    /**
+     * Finds the enabled keys sharing a prefix, with their owners.
+     *
+     * @param keyPrefix the prefix of a presented key.
+     * @return the candidate keys; usually one, more only on a prefix collision.
+     */
+    @EntityGraph(attributePaths = "user")
+    List<ApiKey> findByKeyPrefixAndEnabledTrue(String keyPrefix);
+
+    Optional<ApiKey> findByIdAndUserUsername(String id, String username);
+
+    boolean existsByUserUsernameAndKeyName(String username, String keyName);
+}
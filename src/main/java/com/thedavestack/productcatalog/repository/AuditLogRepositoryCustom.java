@@ -0,0 +1,50 @@
+package com.thedavestack.productcatalog.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.thedavestack.productcatalog.dto.AuditLogCursor;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+/** Query methods for {@link AuditLog} whose SQL depends on which filters are set. */
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Finds audit logs after the cursor position, newest first, using a seek predicate on {@code
+     * (created_at, id)} instead of an OFFSET scan. Only the filters that are set appear in the
+     * query, so PostgreSQL can plan each combination against the index that fits it.
+     *
+     * @param filter The filters to apply.
+     * @param cursor The position of the last row already returned.
+     * @param limit Maximum number of audit logs to return.
+     * @return The next audit logs in cursor order.
+     */
+    List<AuditLog> findWithFiltersAfter(Filter filter, AuditLogCursor cursor, int limit);
+
+    /**
+     * Estimates how many audit logs match the filters from planner statistics, without counting
+     * rows. Unfiltered totals come from the partitions' row estimates; filtered ones from the
+     * planner's estimate for the query.
+     *
+     * @param filter The filters to apply.
+     * @return The estimated number of matching audit logs.
+     */
+    long estimateCount(Filter filter);
+
+    /**
+     * Audit log filters; null fields are not filtered on.
+     *
+     * @param from Oldest creation time to include; bounds the partitions scanned.
+     */
+    record Filter(
+            String entityType,
+            String entityId,
+            String username,
+            AuditLog.AuditAction action,
+            Instant from) {
+
+        boolean hasFieldFilters() {
+            return entityType != null || entityId != null || username != null || action != null;
+        }
+    }
+}
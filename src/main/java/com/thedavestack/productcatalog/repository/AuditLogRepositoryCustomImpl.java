@@ -0,0 +1,123 @@
+package com.thedavestack.productcatalog.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thedavestack.productcatalog.dto.AuditLogCursor;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+
+@RequiredArgsConstructor
+class AuditLogRepositoryCustomImpl implements AuditLogRepositoryCustom {
+
+    /** Rows are estimated per partition; partitions never analyzed report -1. */
+    private static final String PARTITION_ROWS_SQL =
+            "SELECT COALESCE(sum(GREATEST(c.reltuples, 0)), 0)::bigint FROM pg_inherits i"
+                    + " JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = 'audit_logs'::regclass";
+
+    @PersistenceContext private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public List<AuditLog> findWithFiltersAfter(Filter filter, AuditLogCursor cursor, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> auditLog = query.from(AuditLog.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.entityType() != null) {
+            predicates.add(cb.equal(auditLog.get("entityType"), filter.entityType()));
+        }
+        if (filter.entityId() != null) {
+            predicates.add(cb.equal(auditLog.get("entityId"), filter.entityId()));
+        }
+        if (filter.username() != null) {
+            predicates.add(cb.equal(auditLog.get("username"), filter.username()));
+        }
+        if (filter.action() != null) {
+            predicates.add(cb.equal(auditLog.get("action"), filter.action()));
+        }
+
+        Expression<Instant> createdAt = auditLog.get("createdAt");
+        Expression<String> id = auditLog.get("id");
+        if (filter.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.from()));
+        }
+        if (!cursor.isFirst()) {
+            // The redundant range on created_at lets PostgreSQL use it as an index condition and
+            // prune newer partitions; the OR only breaks ties between rows with the same time.
+            predicates.add(cb.lessThanOrEqualTo(createdAt, cursor.createdAt()));
+            predicates.add(
+                    cb.or(
+                            cb.lessThan(createdAt, cursor.createdAt()),
+                            cb.lessThan(id, cursor.id())));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new)).orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long estimateCount(Filter filter) {
+        if (!filter.hasFieldFilters()) {
+            // Partitions older than the retention cutoff are dropped daily, so the time bound is
+            // left out of the unfiltered estimate
+            Long rows = jdbcTemplate.queryForObject(PARTITION_ROWS_SQL, Long.class);
+            return rows != null ? rows : 0;
+        }
+
+        StringBuilder sql = new StringBuilder("EXPLAIN (FORMAT JSON) SELECT 1 FROM audit_logs");
+        List<Object> args = new ArrayList<>();
+        String separator = " WHERE ";
+        if (filter.entityType() != null) {
+            sql.append(separator).append("entity_type = ?");
+            args.add(filter.entityType());
+            separator = " AND ";
+        }
+        if (filter.entityId() != null) {
+            sql.append(separator).append("entity_id = ?");
+            args.add(filter.entityId());
+            separator = " AND ";
+        }
+        if (filter.username() != null) {
+            sql.append(separator).append("username = ?");
+            args.add(filter.username());
+            separator = " AND ";
+        }
+        if (filter.action() != null) {
+            sql.append(separator).append("action = ?");
+            args.add(filter.action().name());
+            separator = " AND ";
+        }
+        if (filter.from() != null) {
+            sql.append(separator).append("created_at >= ?");
+            args.add(Timestamp.from(filter.from()));
+        }
+
+        String plan = jdbcTemplate.queryForObject(sql.toString(), String.class, args.toArray());
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable query plan", e);
+        }
+    }
+}
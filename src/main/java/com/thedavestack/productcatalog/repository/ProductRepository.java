@@ -6,12 +6,15 @@
  * <p>Purpose: - Provides the data access layer for the Product entity.
  *
  * <p>Logic Overview: - Extends Spring Data JPA's JpaRepository to provide standard CRUD operations.
- * - Defines custom query methods for finding products by SKU.
+ * - Defines custom query methods for finding products by SKU. - Keyset (cursor) queries live in
+ * ProductRepositoryCustom.
  *
  * <p>Last Updated: 2025-07-31 by Cline (Model: claude-3-opus, Task: task-8)
  */
 package com.thedavestack.productcatalog.repository;
 
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
@@ -25,7 +28,7 @@ import com.thedavestack.productcatalog.model.Category;
 import com.thedavestack.productcatalog.model.Product;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, String> {
+public interface ProductRepository extends JpaRepository<Product, String>, ProductRepositoryCustom {
 
     /**
      * Finds a product by its unique SKU.
@@ -70,10 +73,24 @@ public interface ProductRepository extends JpaRepository<Product, String> {
      */
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
+    /**
+     * Escapes the LIKE wildcards {@code %} and {@code _}, and the escape character itself, so a
+     * user's name filter matches literally in the queries below.
+     *
+     * @param term The raw search term, or null.
+     * @return The escaped term, or null.
+     */
+    static String escapeLike(String term) {
+        if (term == null) {
+            return null;
+        }
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
     /**
      * Finds products with advanced filtering.
      *
-     * @param name Optional name filter.
+     * @param name Optional name filter, escaped with {@link #escapeLike}.
      * @param category Optional category filter.
      * @param active Optional active status filter.
      * @param pageable Pagination information.
@@ -81,7 +98,7 @@ public interface ProductRepository extends JpaRepository<Product, String> {
      */
     @Query(
             "SELECT p FROM Product p WHERE "
-                    + "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND "
+                    + "(:name IS NULL OR p.name ILIKE CONCAT('%', :name, '%') ESCAPE '\\') AND "
                     + "(:category IS NULL OR p.category = :category) AND "
                     + "(:active IS NULL OR p.active = :active)")
     Page<Product> findWithFilters(
@@ -91,11 +108,95 @@ public interface ProductRepository extends JpaRepository<Product, String> {
             Pageable pageable);
 
     /**
-     * Finds products with low stock (stock quantity <= min stock level).
+     * Counts products matching the same filters as {@link #findWithFilters}.
+     *
+     * @param name Optional name filter, escaped with {@link #escapeLike}.
+     * @param category Optional category filter.
+     * @param active Optional active status filter.
+     * @return The number of matching products.
+     */
+    @Query(
+            "SELECT COUNT(p) FROM Product p WHERE "
+                    + "(:name IS NULL OR p.name ILIKE CONCAT('%', :name, '%') ESCAPE '\\') AND "
+                    + "(:category IS NULL OR p.category = :category) AND "
+                    + "(:active IS NULL OR p.active = :active)")
+    long countWithFilters(
+            @Param("name") String name,
+            @Param("category") Category category,
+            @Param("active") Boolean active);
+
+    /**
+     * Searches product names by substring or fuzzy word match, ranked by trigram similarity. Served
+     * by the {@code idx_products_name_trgm} GIN index.
+     *
+     * @param query The search term.
+     * @param pageable Pagination information; sorting is ignored in favour of relevance.
+     * @return A page of products ordered by relevance.
+     */
+    @Query(
+            value =
+                    "SELECT * FROM products p WHERE p.deleted = false AND "
+                            + "(p.name ILIKE CONCAT('%', :query, '%') OR :query <% p.name) "
+                            + "ORDER BY word_similarity(:query, p.name) DESC, p.id",
+            countQuery =
+                    "SELECT COUNT(*) FROM products p WHERE p.deleted = false AND "
+                            + "(p.name ILIKE CONCAT('%', :query, '%') OR :query <% p.name)",
+            nativeQuery = true)
+    Page<Product> searchByName(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Finds products with low stock (stock quantity <= min stock level). Filters on the generated
+     * {@code low_stock} column, so the query and its count read only the partial low-stock index
+     * instead of comparing two columns across the whole table.
      *
      * @param pageable Pagination information.
      * @return A page of products.
      */
-    @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.minStockLevel")
+    @Query("SELECT p FROM Product p WHERE p.lowStock = true")
     Page<Product> findLowStockProducts(Pageable pageable);
+
+    /**
+     * Counts out-of-stock products. Every product with no stock is also low on stock, so the count
+     * reads the partial low-stock index, whose leading key is the stock quantity.
+     *
+     * @return The number of products with zero stock and a minimum stock level.
+     */
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.lowStock = true AND p.stockQuantity = 0")
+    long countOutOfStockProducts();
+
+    /**
+     * Finds products within 50% above their minimum stock level, low-stock ones included. Callers
+     * pass a bounded page sorted by stock quantity, so the scan walks the stock quantity index and
+     * stops at the page size; returning a list skips the count query, which would scan the table.
+     *
+     * @param pageable A bounded page, sorted by stock quantity.
+     * @return Up to one page of products.
+     */
+    @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.minStockLevel * 1.5")
+    List<Product> findNearLowStockProducts(Pageable pageable);
+
+    /**
+     * Finds products with more stock than the given quantity, without counting the total.
+     *
+     * @param stockQuantity The exclusive lower bound.
+     * @param pageable A bounded page.
+     * @return Up to one page of products.
+     */
+    List<Product> findByStockQuantityGreaterThan(Integer stockQuantity, Pageable pageable);
+
+    /**
+     * Sums the stock quantity across the catalog without loading any product.
+     *
+     * @return The total number of units, or null if there are no products.
+     */
+    @Query("SELECT SUM(p.stockQuantity) FROM Product p")
+    Long sumStockQuantity();
+
+    /**
+     * Sums price times stock quantity across the catalog without loading any product.
+     *
+     * @return The total inventory value, or null if there are no priced products.
+     */
+    @Query("SELECT SUM(p.price * p.stockQuantity) FROM Product p")
+    BigDecimal sumInventoryValue();
 }
@@ -0,0 +1,87 @@
+package com.thedavestack.productcatalog.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.thedavestack.productcatalog.dto.ProductCursor;
+import com.thedavestack.productcatalog.model.Category;
+import com.thedavestack.productcatalog.model.Product;
+
+/** Query methods for {@link Product} that cannot be expressed as derived or JPQL queries. */
+public interface ProductRepositoryCustom {
+
+    /**
+     * Finds products after the cursor position using a seek predicate on {@code (sortKey, id)}
+     * instead of an OFFSET scan.
+     *
+     * @param name Optional name filter, escaped with {@link ProductRepository#escapeLike}.
+     * @param category Optional category filter.
+     * @param active Optional active status filter.
+     * @param cursor The sort order and position of the last row already returned.
+     * @param limit Maximum number of products to return.
+     * @return The next products in cursor order.
+     */
+    List<Product> findWithFiltersAfter(
+            String name, Category category, Boolean active, ProductCursor cursor, int limit);
+
+    /**
+     * Returns which of the given SKUs are already taken, in one set-based query. Soft-deleted
+     * products are included because they still hold their SKU under the unique constraint.
+     *
+     * @param skus The SKUs to check.
+     * @return The subset of SKUs that already exist.
+     */
+    Set<String> findExistingSkus(Collection<String> skus);
+
+    /**
+     * Persists new products using JDBC batch inserts, flushing and clearing the persistence context
+     * every batch so memory stays flat for large imports.
+     *
+     * @param products The new products to insert.
+     * @return The inserted products with generated IDs and timestamps.
+     */
+    List<Product> insertAll(List<Product> products);
+
+    /**
+     * Streams every product in ID order using a server-side cursor. Each product is detached as it
+     * is emitted, so memory stays flat regardless of catalog size. Must be consumed inside a
+     * transaction and closed after use.
+     *
+     * @return A lazily fetched stream of all products.
+     */
+    Stream<Product> streamAll();
+
+    /**
+     * Applies a partial update in a single {@code UPDATE ... RETURNING} statement, without loading
+     * the product first. The version is incremented and {@code updated_at} refreshed as a JPA save
+     * would do.
+     *
+     * @param id The product ID.
+     * @param changes New values keyed by product property name; only these columns are written.
+     * @param expectedVersion If not null, the update only applies while the product is at this
+     *     version.
+     * @return The updated product and the previous values of the changed properties, or empty if no
+     *     live product matched the ID (and version).
+     */
+    Optional<PatchResult> updateFields(
+            String id, Map<String, Object> changes, Long expectedVersion);
+
+    /**
+     * Adds a signed delta to the stock quantity in a single statement. The database applies the
+     * increment under its row lock, so concurrent adjustments never conflict on the version.
+     *
+     * @param id The product ID.
+     * @param delta The amount to add; negative to remove stock.
+     * @param minimumCurrentStock The update only applies while the stock quantity is at least this
+     *     value.
+     * @return The updated product, or empty if no live product matched the ID and stock guard.
+     */
+    Optional<Product> adjustStock(String id, long delta, long minimumCurrentStock);
+
+    /** Outcome of {@link #updateFields}. */
+    record PatchResult(Product product, Map<String, Object> previousValues) {}
+}
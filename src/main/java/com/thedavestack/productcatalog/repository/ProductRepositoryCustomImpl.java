@@ -0,0 +1,273 @@
+package com.thedavestack.productcatalog.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+
+import com.thedavestack.productcatalog.dto.ProductCursor;
+import com.thedavestack.productcatalog.model.Category;
+import com.thedavestack.productcatalog.model.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    /** Properties a partial update may write, mapped to their columns. */
+    private static final Map<String, String> PATCHABLE_COLUMNS =
+            Map.of(
+                    "name", "name",
+                    "description", "description",
+                    "price", "price",
+                    "category", "category",
+                    "stockQuantity", "stock_quantity",
+                    "minStockLevel", "min_stock_level",
+                    "imageUrl", "image_url",
+                    "weight", "weight",
+                    "dimensions", "dimensions",
+                    "active", "active");
+
+    @PersistenceContext private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    @Value("${app.products.stream-fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<Product> findWithFiltersAfter(
+            String name, Category category, Boolean active, ProductCursor cursor, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (name != null) {
+            // ILIKE rather than LIKE on lower(name), which the trigram index cannot serve
+            predicates.add(cb.ilike(product.get("name"), "%" + name + "%", '\\'));
+        }
+        if (category != null) {
+            predicates.add(cb.equal(product.get("category"), category));
+        }
+        if (active != null) {
+            predicates.add(cb.equal(product.get("active"), active));
+        }
+
+        Expression<Comparable> key = product.get(cursor.sortBy());
+        Expression<String> id = product.get("id");
+        boolean ascending = cursor.direction() == Sort.Direction.ASC;
+
+        if (!cursor.isFirst()) {
+            Comparable value = cursor.typedValue();
+            // The redundant range on the sort key lets PostgreSQL use it as an index condition;
+            // the OR only breaks ties between rows sharing the same key.
+            if (ascending) {
+                predicates.add(cb.greaterThanOrEqualTo(key, value));
+                predicates.add(cb.or(cb.greaterThan(key, value), cb.greaterThan(id, cursor.id())));
+            } else {
+                predicates.add(cb.lessThanOrEqualTo(key, value));
+                predicates.add(cb.or(cb.lessThan(key, value), cb.lessThan(id, cursor.id())));
+            }
+        }
+
+        query.where(predicates.toArray(Predicate[]::new))
+                .orderBy(
+                        ascending ? cb.asc(key) : cb.desc(key),
+                        ascending ? cb.asc(id) : cb.desc(id));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Set<String> findExistingSkus(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return Set.of();
+        }
+        // A single array parameter keeps this one statement regardless of list size, unlike an
+        // IN list which is capped by the driver's bind parameter limit
+        return entityManager
+                .unwrap(Session.class)
+                .doReturningWork(
+                        connection -> {
+                            try (PreparedStatement statement =
+                                    connection.prepareStatement(
+                                            "SELECT sku FROM products WHERE sku = ANY(?)")) {
+                                statement.setArray(
+                                        1,
+                                        connection.createArrayOf(
+                                                "varchar", skus.toArray(String[]::new)));
+                                Set<String> existing = new HashSet<>();
+                                try (ResultSet resultSet = statement.executeQuery()) {
+                                    while (resultSet.next()) {
+                                        existing.add(resultSet.getString(1));
+                                    }
+                                }
+                                return existing;
+                            }
+                        });
+    }
+
+    @Override
+    public List<Product> insertAll(List<Product> products) {
+        for (int i = 0; i < products.size(); i++) {
+            entityManager.persist(products.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        return products;
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return entityManager
+                .createQuery("SELECT p FROM Product p ORDER BY p.id", Product.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(
+                        product -> {
+                            entityManager.detach(product);
+                            return product;
+                        });
+    }
+
+    @Override
+    public Optional<PatchResult> updateFields(
+            String id, Map<String, Object> changes, Long expectedVersion) {
+        StringBuilder assignments = new StringBuilder();
+        StringBuilder priorColumns = new StringBuilder();
+        StringBuilder returning = new StringBuilder();
+        for (String property : changes.keySet()) {
+            String column = PATCHABLE_COLUMNS.get(property);
+            if (column == null) {
+                throw new IllegalArgumentException("Property cannot be patched: " + property);
+            }
+            assignments.append(column).append(" = ?, ");
+            priorColumns.append(", ").append(column);
+            returning.append("prior.").append(column).append(" AS prior_").append(column);
+            returning.append(", ");
+        }
+        // The locked sub-select exposes the pre-update values to RETURNING, so the audit trail
+        // gets its before image from the same statement
+        String sql =
+                "UPDATE products p SET "
+                        + assignments
+                        + "version = p.version + 1, updated_at = now()"
+                        + " FROM (SELECT id"
+                        + priorColumns
+                        + " FROM products WHERE id = ? AND deleted = false FOR UPDATE) prior"
+                        + " WHERE p.id = prior.id"
+                        + (expectedVersion != null ? " AND p.version = ?" : "")
+                        + " RETURNING "
+                        + returning
+                        + "p.*";
+
+        return entityManager
+                .unwrap(Session.class)
+                .doReturningWork(
+                        connection -> {
+                            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                                int index = 1;
+                                for (Object value : changes.values()) {
+                                    statement.setObject(
+                                            index++,
+                                            value instanceof Category category
+                                                    ? category.getDisplayName()
+                                                    : value);
+                                }
+                                statement.setObject(index++, UUID.fromString(id));
+                                if (expectedVersion != null) {
+                                    statement.setLong(index, expectedVersion);
+                                }
+                                try (ResultSet resultSet = statement.executeQuery()) {
+                                    if (!resultSet.next()) {
+                                        return Optional.empty();
+                                    }
+                                    Map<String, Object> previous = new LinkedHashMap<>();
+                                    for (String property : changes.keySet()) {
+                                        previous.put(
+                                                property,
+                                                resultSet.getObject(
+                                                        "prior_"
+                                                                + PATCHABLE_COLUMNS.get(property)));
+                                    }
+                                    return Optional.of(
+                                            new PatchResult(toProduct(resultSet), previous));
+                                }
+                            }
+                        });
+    }
+
+    @Override
+    public Optional<Product> adjustStock(String id, long delta, long minimumCurrentStock) {
+        return entityManager
+                .unwrap(Session.class)
+                .doReturningWork(
+                        connection -> {
+                            try (PreparedStatement statement =
+                                    connection.prepareStatement(
+                                            "UPDATE products SET stock_quantity = stock_quantity"
+                                                    + " + ?, version = version + 1,"
+                                                    + " updated_at = now()"
+                                                    + " WHERE id = ? AND deleted = false"
+                                                    + " AND stock_quantity >= ? RETURNING *")) {
+                                statement.setLong(1, delta);
+                                statement.setObject(2, UUID.fromString(id));
+                                statement.setLong(3, minimumCurrentStock);
+                                try (ResultSet resultSet = statement.executeQuery()) {
+                                    return resultSet.next()
+                                            ? Optional.of(toProduct(resultSet))
+                                            : Optional.empty();
+                                }
+                            }
+                        });
+    }
+
+    private static Product toProduct(ResultSet resultSet) throws SQLException {
+        Product product = new Product();
+        product.setId(resultSet.getString("id"));
+        product.setSku(resultSet.getString("sku"));
+        product.setName(resultSet.getString("name"));
+        product.setDescription(resultSet.getString("description"));
+        product.setPrice(resultSet.getBigDecimal("price"));
+        String category = resultSet.getString("category");
+        product.setCategory(category != null ? Category.fromDisplayName(category) : null);
+        product.setStockQuantity(resultSet.getInt("stock_quantity"));
+        product.setMinStockLevel(resultSet.getObject("min_stock_level", Integer.class));
+        product.setImageUrl(resultSet.getString("image_url"));
+        product.setWeight(resultSet.getBigDecimal("weight"));
+        product.setDimensions(resultSet.getString("dimensions"));
+        product.setActive(resultSet.getBoolean("active"));
+        product.setCreatedAt(resultSet.getObject("created_at", OffsetDateTime.class).toInstant());
+        product.setUpdatedAt(resultSet.getObject("updated_at", OffsetDateTime.class).toInstant());
+        product.setDeleted(resultSet.getBoolean("deleted"));
+        product.setVersion(resultSet.getLong("version"));
+        return product;
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * RoleRepository.java
+ *
+ * <p>Purpose: - Provides the data access layer for the Role entity.
+ */
+package com.thedavestack.productcatalog.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.thedavestack.productcatalog.model.Role;
+
+@Repository
+public interface RoleRepository extends JpaRepository<Role, String> {
+
+    Optional<Role> findByName(String name);
+}
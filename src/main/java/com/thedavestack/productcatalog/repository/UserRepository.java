@@ -0,0 +1,43 @@
+/**
+ * UserRepository.java
+ *
+ * <p>Purpose: - Provides the data access layer for the User entity.
+ *
+ * <p>Logic Overview: - Lookups used for authentication fetch the role in the same query, so the
+ * resolved principal can be built without further round trips.
+ */
+package com.thedavestack.productcatalog.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.thedavestack.productcatalog.model.User;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, String> {
+
+    /**
+     * Finds a user and their role by username.
+     *
+     * @param username the unique username.
+     * @return the user with the role initialized, or empty if there is none.
+     */
+    @EntityGraph(attributePaths = "role")
+    Optional<User> findByUsername(String username);
+
+    /**
+     * Lists enabled users and their roles, used to warm the principal cache at startup.
+     *
+     * @param limit the maximum number of users to return.
+     * @return enabled users with the role initialized.
+     */
+    @EntityGraph(attributePaths = "role")
+    List<User> findByEnabledTrue(Limit limit);
+
+    boolean existsByUsername(String username);
+}
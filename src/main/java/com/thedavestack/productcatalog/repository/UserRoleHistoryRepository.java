@@ -0,0 +1,14 @@
+/**
+ * UserRoleHistoryRepository.java
+ *
+ * <p>Purpose: - Provides the data access layer for the UserRoleHistory entity.
+ */
+package com.thedavestack.productcatalog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.thedavestack.productcatalog.model.UserRoleHistory;
+
+@Repository
+public interface UserRoleHistoryRepository extends JpaRepository<UserRoleHistory, String> {}
@@ -0,0 +1,114 @@
+/**
+ * ApiKeyAuthenticationFilter.java
+ *
+ * <p>Purpose: - Authenticates machine clients that send a long-lived API key in the X-API-Key
+ * header instead of a JWT.
+ *
+ * <p>Logic Overview: - Runs after {@link JwtAuthenticationFilter} and only when no JWT has
+ * authenticated the request. - The key is verified by {@link ApiKeyVerifier}; the owner's current
+ * role and permissions come from the principal cache, so neither step touches the database for a
+ * recently used key. - The owner's permissions are limited to the key's scopes: the
+ * authentication's {@link PermissionSet} is the intersection of the owner's and the key's compiled
+ * sets, which is what URL rules test. The owner's role is kept for rate limiting. - Each successful
+ * use is handed to {@link ApiKeyUsageTracker}, which writes last_used_at in batches.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    /** Request attribute holding the ID of the key that authenticated the request. */
+    public static final String API_KEY_ID_ATTRIBUTE =
+            ApiKeyAuthenticationFilter.class.getName() + ".keyId";
+
+    private final ApiKeyVerifier apiKeyVerifier;
+    private final CatalogUserDetailsService userDetailsService;
+    private final ApiKeyUsageTracker usageTracker;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = request.getHeader(API_KEY_HEADER);
+
+        if (StringUtils.hasText(key)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            apiKeyVerifier
+                    .verify(key)
+                    .ifPresent(
+                            verified -> {
+                                CatalogUserDetails owner = findOwner(verified.username());
+                                if (owner == null || !owner.isEnabled()) {
+                                    return;
+                                }
+                                CatalogAuthenticationToken authentication =
+                                        new CatalogAuthenticationToken(
+                                                owner.getUsername(),
+                                                owner.getPermissionSet()
+                                                        .intersect(verified.permissions()),
+                                                scopedAuthorities(owner, verified.scopes()),
+                                                verified.keyId());
+                                authentication.setDetails(
+                                        new WebAuthenticationDetailsSource().buildDetails(request));
+
+                                SecurityContextHolder.getContext()
+                                        .setAuthentication(authentication);
+                                request.setAttribute(API_KEY_ID_ATTRIBUTE, verified.keyId());
+                                usageTracker.recordUse(verified.keyId());
+                            });
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Limits an owner's authorities to a key's scopes.
+     *
+     * @param owner the key's owner, with their current role and permissions.
+     * @param scopes the key's scopes.
+     * @return the owner's role, followed by the permissions the key grants.
+     */
+    static List<GrantedAuthority> scopedAuthorities(CatalogUserDetails owner, Set<String> scopes) {
+        List<String> permissions =
+                owner.getPermissions().stream().filter(scopes::contains).sorted().toList();
+        List<GrantedAuthority> authorities = new ArrayList<>(permissions.size() + 1);
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + owner.getRole()));
+        permissions.forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission)));
+        return authorities;
+    }
+
+    private CatalogUserDetails findOwner(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            log.debug("API key rejected: {}", e.getMessage());
+            return null;
+        }
+    }
+}
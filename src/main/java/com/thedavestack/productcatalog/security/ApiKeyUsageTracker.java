@@ -0,0 +1,97 @@
+/**
+ * ApiKeyUsageTracker.java
+ *
+ * <p>Purpose: - Keeps api_keys.last_used_at current without a database write per request.
+ *
+ * <p>Logic Overview: - Each authenticated request records its key's ID and the time in a concurrent
+ * map, so any number of uses of one key between flushes collapse into one entry. - A scheduled
+ * flush drains the map and writes all entries with a single JDBC batch; the update never moves
+ * last_used_at backwards. - Entries whose batch fails are put back for the next flush, and the map
+ * is flushed once more on shutdown. - Written rows are counted as
+ * security.api-keys.last-used.written.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ApiKeyUsageTracker {
+
+    private static final String UPDATE_SQL =
+            "UPDATE api_keys SET last_used_at = ? WHERE id = ?"
+                    + " AND (last_used_at IS NULL OR last_used_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Instant> pending = new ConcurrentHashMap<>();
+    private final Counter written;
+
+    public ApiKeyUsageTracker(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.written = meterRegistry.counter("security.api-keys.last-used.written");
+    }
+
+    /**
+     * Records that a key was used now. Only the latest use per key is kept until the next flush.
+     *
+     * @param keyId the ID of the key.
+     */
+    public void recordUse(String keyId) {
+        pending.put(keyId, Instant.now());
+    }
+
+    /** Writes the recorded uses with one batch update. */
+    @Scheduled(fixedDelayString = "${app.security.api-keys.last-used-flush-interval:30s}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Instant> drained = new HashMap<>();
+        for (String keyId : pending.keySet()) {
+            // A use recorded after this removal stays pending for the next flush
+            Instant usedAt = pending.remove(keyId);
+            if (usedAt != null) {
+                drained.put(keyId, usedAt);
+            }
+        }
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach(
+                (keyId, usedAt) -> {
+                    Timestamp timestamp = Timestamp.from(usedAt);
+                    batch.add(new Object[] {timestamp, keyId, timestamp});
+                });
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch);
+            written.increment(batch.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to record last use of {} API keys, retrying later", batch.size(), e);
+            drained.forEach(
+                    (keyId, usedAt) -> pending.merge(keyId, usedAt, ApiKeyUsageTracker::max));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * ApiKeyVerifier.java
+ *
+ * <p>Purpose: - Verifies API keys presented by machine clients against the api_keys table.
+ *
+ * <p>Logic Overview: - Keys look like {@code pc_<prefix>_<secret>}. The prefix selects the
+ * candidate rows through idx_api_keys_prefix, and the full key is then checked against each
+ * candidate's BCrypt hash. - BCrypt is deliberately slow, so verified keys are cached by SHA-256
+ * digest for a short TTL; repeated requests with the same key skip both the query and the hash. The
+ * TTL bounds how long a revoked or disabled key keeps working on another instance; revocations made
+ * here evict the key immediately. - Failed verifications are cached by digest for a shorter TTL, so
+ * replaying a junk key with a real prefix costs neither a query nor a hash until it expires. - Hit,
+ * miss and eviction counts are published under /actuator/metrics/cache.* as "verifiedApiKeys" and
+ * "rejectedApiKeys".
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thedavestack.productcatalog.model.ApiKey;
+import com.thedavestack.productcatalog.repository.ApiKeyRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class ApiKeyVerifier {
+
+    /** Marker that starts every key, so keys are easy to recognize in logs and secret scanners. */
+    public static final String KEY_MARKER = "pc_";
+
+    /** Number of characters in a key's stored, non-secret prefix. */
+    public static final int PREFIX_LENGTH = 8;
+
+    /** A key whose hash has been checked, and what it grants. */
+    public record VerifiedApiKey(
+            String keyId,
+            String username,
+            Set<String> scopes,
+            PermissionSet permissions,
+            Instant expiresAt) {
+
+        boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Cache<String, VerifiedApiKey> verified;
+    private final Cache<String, Boolean> rejected;
+
+    public ApiKeyVerifier(
+            ApiKeyRepository apiKeyRepository,
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.api-keys.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.api-keys.cache.ttl:60s}") Duration ttl,
+            @Value("${app.security.api-keys.cache.failure-ttl:10s}") Duration failureTtl) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.verified =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(ttl)
+                        .recordStats()
+                        .build();
+        this.rejected =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(failureTtl)
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verifiedApiKeys");
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, "rejectedApiKeys");
+    }
+
+    /**
+     * Verifies a presented key.
+     *
+     * @param key the full API key.
+     * @return the verified key, or empty if it is malformed, unknown, disabled or expired.
+     */
+    public Optional<VerifiedApiKey> verify(String key) {
+        String prefix = prefixOf(key);
+        if (prefix == null) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        String digest = digest(key);
+        VerifiedApiKey cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            return cached.isExpired(now) ? Optional.empty() : Optional.of(cached);
+        }
+        if (rejected.getIfPresent(digest) != null) {
+            return Optional.empty();
+        }
+        for (ApiKey candidate : apiKeyRepository.findByKeyPrefixAndEnabledTrue(prefix)) {
+            if (passwordEncoder.matches(key, candidate.getKeyHash())) {
+                VerifiedApiKey result =
+                        new VerifiedApiKey(
+                                candidate.getId(),
+                                candidate.getUser().getUsername(),
+                                Set.copyOf(candidate.getScopes()),
+                                PermissionSet.compile(candidate.getScopes()),
+                                candidate.getExpiresAt());
+                if (result.isExpired(now)) {
+                    break;
+                }
+                verified.put(digest, result);
+                return Optional.of(result);
+            }
+        }
+        rejected.put(digest, Boolean.TRUE);
+        return Optional.empty();
+    }
+
+    /**
+     * Stops accepting a cached key once the current transaction commits, or immediately without
+     * one.
+     *
+     * @param keyId the ID of the revoked key.
+     */
+    public void evictAfterCommit(String keyId) {
+        Runnable evict = () -> verified.asMap().values().removeIf(v -> v.keyId().equals(keyId));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evict.run();
+                    }
+                });
+    }
+
+    /**
+     * Extracts the stored prefix from a key.
+     *
+     * @param key a presented key.
+     * @return the prefix, or null if the key is not in the expected format.
+     */
+    public static String prefixOf(String key) {
+        int end = KEY_MARKER.length() + PREFIX_LENGTH;
+        if (key == null
+                || key.length() <= end + 1
+                || !key.startsWith(KEY_MARKER)
+                || key.charAt(end) != '_') {
+            return null;
+        }
+        return key.substring(KEY_MARKER.length(), end);
+    }
+
+    private static String digest(String key) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * CatalogAuthenticationToken.java
+ *
+ * <p>Purpose: - Authentication set by the JWT and API-key filters, carrying the caller's compiled
+ * {@link PermissionSet} next to the usual granted authorities.
+ *
+ * <p>Logic Overview: - The principal is the username, as with the tokens it replaces. - The
+ * permission set is what {@link PermissionAuthorizationManager} tests; authorities remain for
+ * Spring's role-based checks and for the rate limiter. - Requests authenticated with an API key
+ * also carry the key's ID, so key management can be kept to logged-in users.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.util.Collection;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+public final class CatalogAuthenticationToken extends AbstractAuthenticationToken {
+
+    private final String username;
+    private final PermissionSet permissions;
+    private final String apiKeyId;
+
+    public CatalogAuthenticationToken(
+            String username,
+            PermissionSet permissions,
+            Collection<? extends GrantedAuthority> authorities) {
+        this(username, permissions, authorities, null);
+    }
+
+    public CatalogAuthenticationToken(
+            String username,
+            PermissionSet permissions,
+            Collection<? extends GrantedAuthority> authorities,
+            String apiKeyId) {
+        super(authorities);
+        this.username = username;
+        this.permissions = permissions;
+        this.apiKeyId = apiKeyId;
+        super.setAuthenticated(true);
+    }
+
+    public PermissionSet getPermissions() {
+        return permissions;
+    }
+
+    /** The ID of the API key that authenticated the request, or null for a logged-in user. */
+    public String getApiKeyId() {
+        return apiKeyId;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * CatalogUserDetails.java
+ *
+ * <p>Purpose: - Immutable principal resolved from a database user and their role.
+ *
+ * <p>Logic Overview: - Authorities are the role as {@code ROLE_<name>} followed by each of the
+ * role's permissions, computed once when the principal is built. - The permissions are also
+ * compiled into a {@link PermissionSet} at that point, which is what request authorization tests. -
+ * Instances are shared through the principal cache, so the class deliberately does not implement
+ * {@code CredentialsContainer}: erasing credentials after login would otherwise clear the cached
+ * password hash.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.thedavestack.productcatalog.model.User;
+
+import lombok.Getter;
+
+@Getter
+public final class CatalogUserDetails implements UserDetails {
+
+    private final String username;
+    private final String password;
+    private final String role;
+    private final Set<String> permissions;
+    private final PermissionSet permissionSet;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+
+    public CatalogUserDetails(
+            String username,
+            String passwordHash,
+            String role,
+            Collection<String> permissions,
+            boolean enabled) {
+        this.username = username;
+        this.password = passwordHash;
+        this.role = role;
+        this.permissions = Set.copyOf(permissions);
+        this.permissionSet = PermissionSet.compile(permissions);
+        this.enabled = enabled;
+        List<GrantedAuthority> granted = new ArrayList<>(permissions.size() + 1);
+        granted.add(new SimpleGrantedAuthority("ROLE_" + role));
+        permissions.stream()
+                .distinct()
+                .forEach(permission -> granted.add(new SimpleGrantedAuthority(permission)));
+        this.authorities = List.copyOf(granted);
+    }
+
+    /**
+     * Builds the principal for a user whose role has been fetched.
+     *
+     * @param user the user entity with its role initialized.
+     * @return the principal.
+     */
+    public static CatalogUserDetails from(User user) {
+        return new CatalogUserDetails(
+                user.getUsername(),
+                user.getPasswordHash(),
+                user.getRole().getName(),
+                user.getRole().getPermissions(),
+                Boolean.TRUE.equals(user.getEnabled()));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String toString() {
+        return "CatalogUserDetails[username=" + username + ", role=" + role + "]";
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * CatalogUserDetailsService.java
+ *
+ * <p>Purpose: - Resolves users, their role and the role's permissions from the users and roles
+ * tables, for login and for every authenticated request.
+ *
+ * <p>Logic Overview: - Resolved principals are held in a bounded Caffeine cache keyed by username,
+ * so authorization checks on the request path are served from memory. - The cache is warmed with
+ * enabled users once the application is ready; after that only users never seen before are loaded
+ * on demand. - Entries older than the refresh interval are reloaded in the background while the
+ * cached principal keeps being served, so disabled or deleted users drop out without a request
+ * waiting on the database. - Role changes evict the user once their transaction commits and start a
+ * background reload. - Hit, miss and eviction counts are published under /actuator/metrics/cache.*
+ * as "userDetails".
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.thedavestack.productcatalog.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CatalogUserDetailsService implements UserDetailsService {
+
+    private final UserRepository userRepository;
+    private final long maximumSize;
+    private final LoadingCache<String, CatalogUserDetails> users;
+
+    public CatalogUserDetailsService(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.user-cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.security.user-cache.refresh-after-write:5m}")
+                    Duration refreshAfterWrite) {
+        this.userRepository = userRepository;
+        this.maximumSize = maximumSize;
+        // The loader returns null for unknown users, which Caffeine does not cache; a refresh
+        // that returns null removes the entry
+        this.users =
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .refreshAfterWrite(refreshAfterWrite)
+                        .recordStats()
+                        .build(
+                                username ->
+                                        userRepository
+                                                .findByUsername(username)
+                                                .map(CatalogUserDetails::from)
+                                                .orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "userDetails");
+    }
+
+    @Override
+    public CatalogUserDetails loadUserByUsername(String username) {
+        CatalogUserDetails user = users.get(username);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return user;
+    }
+
+    /** Loads enabled users into the cache, so the first request of each skips the database. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        users.putAll(
+                userRepository.findByEnabledTrue(Limit.of(Math.toIntExact(maximumSize))).stream()
+                        .map(CatalogUserDetails::from)
+                        .collect(
+                                Collectors.toMap(
+                                        CatalogUserDetails::getUsername, Function.identity())));
+        log.info("Loaded {} users into the principal cache", users.estimatedSize());
+    }
+
+    /**
+     * Evicts a user once the current transaction commits and reloads them in the background.
+     * Without an active transaction the user is evicted immediately.
+     *
+     * @param username the user whose role or account changed.
+     */
+    public void invalidateAfterCommit(String username) {
+        Runnable invalidate =
+                () -> {
+                    users.invalidate(username);
+                    users.refresh(username);
+                };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        invalidate.run();
+                    }
+                });
+    }
+}
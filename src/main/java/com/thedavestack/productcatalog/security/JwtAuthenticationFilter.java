@@ -1,12 +1,11 @@
 package com.thedavestack.productcatalog.security;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Optional;
 
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -25,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final CatalogUserDetailsService userDetailsService;
 
     @Override
     protected void doFilterInternal(
@@ -33,25 +33,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getTokenFromRequest(request);
 
-        if (StringUtils.hasText(token)
-                && jwtUtil.isTokenValid(token)
-                && !jwtUtil.isTokenExpired(token)) {
-            String username = jwtUtil.extractUsername(token);
-            String role = jwtUtil.extractRole(token);
+        if (StringUtils.hasText(token)) {
+            // One verification yields the username; its current role and permissions come from
+            // the principal cache, so role changes apply to tokens already issued
+            jwtUtil.verify(token)
+                    .flatMap(verified -> findUser(verified.username()))
+                    .filter(UserDetails::isEnabled)
+                    .ifPresent(
+                            user -> {
+                                CatalogAuthenticationToken authentication =
+                                        new CatalogAuthenticationToken(
+                                                user.getUsername(),
+                                                user.getPermissionSet(),
+                                                user.getAuthorities());
+                                authentication.setDetails(
+                                        new WebAuthenticationDetailsSource().buildDetails(request));
 
-            List<GrantedAuthority> authorities =
-                    List.of(new SimpleGrantedAuthority("ROLE_" + role));
-
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, authorities);
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+                                SecurityContextHolder.getContext()
+                                        .setAuthentication(authentication);
+                            });
         }
 
         filterChain.doFilter(request, response);
     }
 
+    private Optional<CatalogUserDetails> findUser(String username) {
+        try {
+            return Optional.of(userDetailsService.loadUserByUsername(username));
+        } catch (UsernameNotFoundException e) {
+            log.debug("Token rejected: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     private String getTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
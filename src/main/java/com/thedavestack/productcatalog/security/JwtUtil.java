@@ -1,26 +1,76 @@
+/**
+ * JwtUtil.java
+ *
+ * <p>Purpose: - Issues and verifies the HMAC-signed JWTs used for API authentication.
+ *
+ * <p>Logic Overview: - The signing key and the JWT parser are built once at startup and shared by
+ * every request. - A token is parsed and its signature and expiry checked once; the claims the
+ * filter needs come from that single parse. - Verified tokens are cached by SHA-256 digest until
+ * they expire, so repeated requests with the same token skip parsing altogether; the bearer token
+ * itself is never kept. - Invalid tokens are never cached.
+ */
 package com.thedavestack.productcatalog.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${app.jwt.secret:mySecretKey1234567890123456789012345678901234567890}")
-    private String jwtSecret;
+    /** The claims of a token whose signature and expiry have been checked. */
+    public record VerifiedToken(String username, String role, Instant expiresAt) {}
 
-    @Value("${app.jwt.expiration:86400}")
-    private int jwtExpirationInSeconds;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int jwtExpirationInSeconds;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtUtil(
+            MeterRegistry meterRegistry,
+            @Value("${app.jwt.secret:mySecretKey1234567890123456789012345678901234567890}")
+                    String jwtSecret,
+            @Value("${app.jwt.expiration:86400}") int jwtExpirationInSeconds,
+            @Value("${app.jwt.cache.maximum-size:10000}") long cacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationInSeconds = jwtExpirationInSeconds;
+        this.verified =
+                Caffeine.newBuilder()
+                        .maximumSize(cacheSize)
+                        .expireAfter(
+                                Expiry.creating(
+                                        (String digest, VerifiedToken token) ->
+                                                Duration.between(Instant.now(), token.expiresAt())))
+                        .recordStats()
+                        .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verifiedTokens");
+    }
 
     public String generateToken(String username, String role) {
         Instant now = Instant.now();
@@ -31,42 +81,50 @@ public class JwtUtil {
                 .claim("role", role)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
-
-    public String extractRole(String token) {
-        return extractClaims(token).get("role", String.class);
-    }
-
-    public boolean isTokenValid(String token) {
+    /**
+     * Verifies a token's signature and expiry, parsing it at most once while it stays cached.
+     *
+     * @param token the compact JWT.
+     * @return the verified claims, or empty if the token is malformed, forged or expired.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            // Entries expire with their token, but eviction may lag behind the clock
+            return cached.expiresAt().isAfter(Instant.now())
+                    ? Optional.of(cached)
+                    : Optional.empty();
+        }
         try {
-            extractClaims(token);
-            return true;
-        } catch (Exception e) {
-            log.error("Token validation failed", e);
-            return false;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                log.debug("Token rejected: no expiration");
+                return Optional.empty();
+            }
+            VerifiedToken result =
+                    new VerifiedToken(
+                            claims.getSubject(),
+                            claims.get("role", String.class),
+                            claims.getExpiration().toInstant());
+            verified.put(digest, result);
+            return Optional.of(result);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Token validation failed: {}", e.getMessage());
+            return Optional.empty();
         }
     }
 
-    public boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
-    }
-
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private javax.crypto.SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,24 @@
+/**
+ * Permission.java
+ *
+ * <p>Purpose: - The permissions a role or API key scope can grant, as stored in roles.permissions
+ * and api_keys.scopes.
+ *
+ * <p>Logic Overview: - Each constant's ordinal is its bit in a {@link PermissionSet}, so there can
+ * be at most 64. - Strings in the database are compiled to these constants when a role or key is
+ * loaded; names without a constant are ignored.
+ */
+package com.thedavestack.productcatalog.security;
+
+public enum Permission {
+    /** Read products, metrics and MCP resources. */
+    READ,
+    /** Create and modify products. */
+    WRITE,
+    /** Delete products. */
+    DELETE,
+    /** Change users' roles. */
+    USER_MANAGEMENT,
+    /** Follow the live audit stream. */
+    AUDIT
+}
@@ -0,0 +1,140 @@
+/**
+ * PermissionSet.java
+ *
+ * <p>Purpose: - Immutable set of {@link Permission}s compiled into a single bit mask.
+ *
+ * <p>Logic Overview: - Bit {@code n} is set when the permission with ordinal {@code n} is granted.
+ * - Roles and API key scopes are compiled once, when they are loaded; every later check is a single
+ * AND on a long, with no string comparison or allocation. - Permission names that do not match a
+ * constant are skipped, so a database holding newer permissions than this build still loads.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public final class PermissionSet {
+
+    public static final PermissionSet NONE = new PermissionSet(0);
+
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    static {
+        if (PERMISSIONS.length > Long.SIZE) {
+            throw new ExceptionInInitializerError("PermissionSet holds at most 64 permissions");
+        }
+    }
+
+    private final long bits;
+
+    private PermissionSet(long bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Compiles permission names into a set.
+     *
+     * @param names permission names as stored in the database.
+     * @return the set of known permissions among the names.
+     */
+    public static PermissionSet compile(Collection<String> names) {
+        long bits = 0;
+        for (String name : names) {
+            try {
+                bits |= bit(Permission.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring unknown permission '{}'", name);
+            }
+        }
+        return new PermissionSet(bits);
+    }
+
+    public static PermissionSet of(Permission... permissions) {
+        long bits = 0;
+        for (Permission permission : permissions) {
+            bits |= bit(permission);
+        }
+        return new PermissionSet(bits);
+    }
+
+    public boolean contains(Permission permission) {
+        return (bits & bit(permission)) != 0;
+    }
+
+    public boolean containsAll(PermissionSet other) {
+        return (bits & other.bits) == other.bits;
+    }
+
+    /**
+     * Returns the permissions present in both sets, e.g. an owner's permissions limited to a key's
+     * scopes.
+     *
+     * @param other the other set.
+     * @return the intersection.
+     */
+    public PermissionSet intersect(PermissionSet other) {
+        return new PermissionSet(bits & other.bits);
+    }
+
+    /**
+     * Checks permission names, e.g. requested key scopes, against this set.
+     *
+     * @param names permission names.
+     * @return true if every name is a known permission contained in this set.
+     */
+    public boolean containsAllNames(Collection<String> names) {
+        for (String name : names) {
+            Permission permission =
+                    Arrays.stream(PERMISSIONS)
+                            .filter(candidate -> candidate.name().equals(name))
+                            .findFirst()
+                            .orElse(null);
+            if (permission == null || !contains(permission)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns the names of the permissions in this set, as stored in the database. */
+    public Set<String> names() {
+        Set<String> names = new TreeSet<>();
+        toSet().forEach(permission -> names.add(permission.name()));
+        return names;
+    }
+
+    public Set<Permission> toSet() {
+        Set<Permission> set = EnumSet.noneOf(Permission.class);
+        for (Permission permission : PERMISSIONS) {
+            if (contains(permission)) {
+                set.add(permission);
+            }
+        }
+        return set;
+    }
+
+    private static long bit(Permission permission) {
+        return 1L << permission.ordinal();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PermissionSet set && set.bits == bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return toSet().toString();
+    }
+}
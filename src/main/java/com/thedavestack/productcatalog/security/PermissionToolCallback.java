@@ -0,0 +1,94 @@
+/**
+ * PermissionToolCallback.java
+ *
+ * <p>Purpose: - Guards an MCP tool with the permission its operation needs, so a caller allowed
+ * onto the MCP endpoint cannot write through a tool the REST rules would refuse.
+ *
+ * <p>Logic Overview: - Wraps a {@link ToolCallback} and tests the caller's {@link PermissionSet}
+ * through {@link PermissionAuthorizationManager} before delegating. - Sync MCP tools run on a
+ * Reactor worker thread; the caller's security context reaches it through Reactor's automatic
+ * context propagation ({@code spring.reactor.context-propagation=auto}). - A denied call throws
+ * {@link AccessDeniedException}, which the MCP server returns to the client as a tool error.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public final class PermissionToolCallback implements ToolCallback {
+
+    private final ToolCallback delegate;
+    private final Permission permission;
+
+    private PermissionToolCallback(ToolCallback delegate, Permission permission) {
+        this.delegate = delegate;
+        this.permission = permission;
+    }
+
+    /**
+     * Wraps each tool with the permission it requires.
+     *
+     * @param callbacks the tools to guard.
+     * @param required the permission per tool name, for tools needing more than the default.
+     * @param defaultPermission the permission required by tools not listed.
+     * @return the guarded tools, in the same order.
+     */
+    public static ToolCallback[] guard(
+            ToolCallback[] callbacks,
+            Map<String, Permission> required,
+            Permission defaultPermission) {
+        return Arrays.stream(callbacks)
+                .map(
+                        callback ->
+                                new PermissionToolCallback(
+                                        callback,
+                                        required.getOrDefault(
+                                                callback.getToolDefinition().name(),
+                                                defaultPermission)))
+                .toArray(ToolCallback[]::new);
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    @Override
+    public String call(String toolInput) {
+        authorize();
+        return delegate.call(toolInput);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        authorize();
+        return delegate.call(toolInput, toolContext);
+    }
+
+    private void authorize() {
+        boolean granted =
+                PermissionAuthorizationManager.<ToolCallback>requires(permission)
+                        .authorize(SecurityContextHolder.getContext()::getAuthentication, this)
+                        .isGranted();
+        if (!granted) {
+            throw new AccessDeniedException(
+                    "Tool '"
+                            + delegate.getToolDefinition().name()
+                            + "' requires the "
+                            + permission
+                            + " permission");
+        }
+    }
+}
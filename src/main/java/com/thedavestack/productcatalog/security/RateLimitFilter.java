@@ -0,0 +1,178 @@
+/**
+ * RateLimitFilter.java
+ *
+ * <p>Purpose: - Limits the request rate of each API key, user and anonymous client inside the
+ * application, so no single tenant can exhaust the database pool. Complements the per-IP limits in
+ * nginx, which cannot tell apart clients sharing an address.
+ *
+ * <p>Logic Overview: - Runs after JWT and API-key authentication. - Each request is counted against
+ * a token bucket keyed by its subject (the API key, else the username, else the client address),
+ * role and endpoint class; limits come from {@link RateLimitProperties}. - Buckets are lock-free
+ * and kept in a bounded Caffeine cache, dropped after the idle timeout. - Every limited response
+ * carries RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset headers; a request without a
+ * token is answered with 429 and Retry-After, and counted as http.server.requests.rate-limited.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.thedavestack.productcatalog.config.RateLimitProperties;
+import com.thedavestack.productcatalog.config.RateLimitProperties.EndpointClass;
+import com.thedavestack.productcatalog.config.RateLimitProperties.Limit;
+import com.thedavestack.productcatalog.dto.ErrorResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, TokenBucket> buckets;
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().registerModule(new JavaTimeModule());
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.buckets =
+                Caffeine.newBuilder()
+                        .maximumSize(properties.maximumBuckets())
+                        .expireAfterAccess(properties.idleTimeout())
+                        .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !properties.enabled()
+                || path.equals("/actuator/health")
+                || path.equals("/error")
+                || path.equals("/favicon.ico")
+                || path.startsWith("/swagger-ui")
+                || path.startsWith("/v3/api-docs")
+                || path.startsWith("/webjars/");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated =
+                authentication != null
+                        && authentication.isAuthenticated()
+                        && !(authentication instanceof AnonymousAuthenticationToken);
+        String role = authenticated ? roleOf(authentication) : RateLimitProperties.ANONYMOUS;
+        EndpointClass endpointClass = classify(request);
+        Limit limit = properties.limitFor(role, endpointClass);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String subject = subjectOf(request, authenticated ? authentication : null);
+        long now = System.nanoTime();
+        TokenBucket bucket =
+                buckets.get(
+                        subject + '|' + role + '|' + endpointClass,
+                        key -> new TokenBucket(limit, now));
+        TokenBucket.Probe probe = bucket.tryConsume(now);
+
+        response.setHeader("RateLimit-Limit", String.valueOf(bucket.limit().burst()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(probe.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(seconds(probe.resetNanos())));
+        if (probe.allowed()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected(role, endpointClass).increment();
+        long retryAfter = Math.max(1, seconds(probe.retryAfterNanos()));
+        ErrorResponse errorResponse =
+                ErrorResponse.of(
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        "Too Many Requests",
+                        "Rate limit of "
+                                + bucket.limit().perSecond()
+                                + " requests per second exceeded. Retry after "
+                                + retryAfter
+                                + " seconds.",
+                        request.getRequestURI(),
+                        "RATE_LIMIT_EXCEEDED");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals("/sse") || path.startsWith("/sse/") || path.startsWith("/mcp/")) {
+            return EndpointClass.MCP;
+        }
+        if (path.equals("/api/v1/audit/stream") || path.equals("/api/v1/products/export")) {
+            return EndpointClass.STREAM;
+        }
+        String method = request.getMethod();
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? EndpointClass.READ
+                : EndpointClass.WRITE;
+    }
+
+    private static String roleOf(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                return name.substring("ROLE_".length());
+            }
+        }
+        return RateLimitProperties.DEFAULT;
+    }
+
+    private static String subjectOf(HttpServletRequest request, Authentication authentication) {
+        Object apiKeyId = request.getAttribute(ApiKeyAuthenticationFilter.API_KEY_ID_ATTRIBUTE);
+        if (apiKeyId != null) {
+            return "key:" + apiKeyId;
+        }
+        if (authentication != null) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Counter rejected(String role, EndpointClass endpointClass) {
+        return meterRegistry.counter(
+                "http.server.requests.rate-limited",
+                "role",
+                role,
+                "endpoint.class",
+                endpointClass.name());
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * TokenBucket.java
+ *
+ * <p>Purpose: - Lock-free token bucket used by {@link RateLimitFilter}.
+ *
+ * <p>Logic Overview: - Implemented as the generic cell rate algorithm: the whole bucket is one
+ * "theoretical arrival time" in an AtomicLong, advanced by one emission interval per request. - A
+ * request is allowed while that time stays within {@code burst} intervals of now, which is the same
+ * as a bucket of {@code burst} tokens refilled every interval. - Each decision is a read and a
+ * compare-and-set, with no locks and no background refill.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.thedavestack.productcatalog.config.RateLimitProperties.Limit;
+
+final class TokenBucket {
+
+    /**
+     * Outcome of one request.
+     *
+     * @param allowed whether a token was taken.
+     * @param remaining tokens left after this request.
+     * @param resetNanos time until the bucket is full again.
+     * @param retryAfterNanos for a rejected request, time until a token is available.
+     */
+    record Probe(boolean allowed, long remaining, long resetNanos, long retryAfterNanos) {}
+
+    private final Limit limit;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(Limit limit, long nowNanos) {
+        this.limit = limit;
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / limit.perSecond()));
+        this.toleranceNanos = intervalNanos * limit.burst();
+        // A new bucket starts full
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    Limit limit() {
+        return limit;
+    }
+
+    Probe tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > toleranceNanos) {
+                return new Probe(false, 0, Math.max(current - nowNanos, 0), ahead - toleranceNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return new Probe(true, (toleranceNanos - ahead) / intervalNanos, ahead, 0);
+            }
+        }
+    }
+}
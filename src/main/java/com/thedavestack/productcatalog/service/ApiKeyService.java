@@ -0,0 +1,155 @@
+/**
+ * ApiKeyService.java
+ *
+ * <p>Purpose: - Creates and revokes the caller's API keys.
+ *
+ * <p>Logic Overview: - A new key is {@code pc_<prefix>_<secret>}, with a random prefix and a
+ * 256-bit random secret. Only the prefix and a BCrypt hash are stored, and the key is returned
+ * once. - Scopes default to the permissions of the calling credential and may not exceed them;
+ * requests authenticated with an API key cannot create or revoke keys. - Revoking disables the key
+ * and evicts it from the verified-key cache once the transaction commits.
+ */
+package com.thedavestack.productcatalog.service;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thedavestack.productcatalog.dto.ApiKeyResponse;
+import com.thedavestack.productcatalog.exception.ApiKeyNotFoundException;
+import com.thedavestack.productcatalog.exception.InvalidApiKeyRequestException;
+import com.thedavestack.productcatalog.exception.UserNotFoundException;
+import com.thedavestack.productcatalog.model.ApiKey;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.repository.ApiKeyRepository;
+import com.thedavestack.productcatalog.repository.UserRepository;
+import com.thedavestack.productcatalog.security.ApiKeyVerifier;
+import com.thedavestack.productcatalog.security.CatalogAuthenticationToken;
+import com.thedavestack.productcatalog.security.PermissionSet;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ApiKeyService {
+
+    private static final String PREFIX_ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final UserRepository userRepository;
+    private final ApiKeyVerifier apiKeyVerifier;
+    private final PasswordEncoder passwordEncoder;
+
+    /**
+     * Creates an API key for the current user.
+     *
+     * @param name the key's name, unique per user.
+     * @param scopes the permissions to grant, or null/empty for all of the caller's permissions.
+     * @param expiresAt when the key stops working, or null for never.
+     * @return the created key, including the key itself.
+     * @throws InvalidApiKeyRequestException if the name is taken, a scope exceeds the caller's
+     *     permissions or the caller authenticated with an API key.
+     */
+    @Transactional
+    public ApiKeyResponse createKey(String name, Set<String> scopes, Instant expiresAt) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String username = authentication.getName();
+        // The ceiling is what the calling credential holds, not the owner's full role
+        PermissionSet caller = requireLogin(authentication);
+        Set<String> granted = scopes == null || scopes.isEmpty() ? caller.names() : scopes;
+        if (!caller.containsAllNames(granted)) {
+            throw new InvalidApiKeyRequestException(
+                    "Scopes " + granted + " exceed your permissions " + caller.names());
+        }
+        if (apiKeyRepository.existsByUserUsernameAndKeyName(username, name)) {
+            throw new InvalidApiKeyRequestException("An API key named '" + name + "' exists");
+        }
+        User user =
+                userRepository
+                        .findByUsername(username)
+                        .orElseThrow(() -> new UserNotFoundException(username));
+
+        String prefix = randomPrefix();
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String key =
+                ApiKeyVerifier.KEY_MARKER
+                        + prefix
+                        + "_"
+                        + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        ApiKey apiKey = new ApiKey();
+        apiKey.setUser(user);
+        apiKey.setKeyName(name);
+        apiKey.setKeyPrefix(prefix);
+        apiKey.setKeyHash(passwordEncoder.encode(key));
+        apiKey.setScopes(new ArrayList<>(new TreeSet<>(granted)));
+        apiKey.setExpiresAt(expiresAt);
+        ApiKey saved = apiKeyRepository.saveAndFlush(apiKey);
+        log.info("Created API key {} ({}) for {}", saved.getId(), prefix, username);
+
+        return new ApiKeyResponse(
+                saved.getId(),
+                saved.getKeyName(),
+                key,
+                prefix,
+                saved.getScopes(),
+                saved.getExpiresAt(),
+                saved.getCreatedAt());
+    }
+
+    /**
+     * Revokes one of the current user's API keys.
+     *
+     * @param id the key's ID.
+     * @throws ApiKeyNotFoundException if the user has no key with this ID.
+     */
+    @Transactional
+    public void revokeKey(String id) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        requireLogin(authentication);
+        String username = authentication.getName();
+        ApiKey apiKey =
+                apiKeyRepository
+                        .findByIdAndUserUsername(id, username)
+                        .orElseThrow(() -> new ApiKeyNotFoundException(id));
+        apiKey.setEnabled(false);
+        apiKeyVerifier.evictAfterCommit(id);
+        log.info("Revoked API key {} ({}) of {}", id, apiKey.getKeyPrefix(), username);
+    }
+
+    /**
+     * Returns the permissions of a logged-in caller.
+     *
+     * @throws InvalidApiKeyRequestException if the caller authenticated with an API key.
+     */
+    private static PermissionSet requireLogin(Authentication authentication) {
+        if (!(authentication instanceof CatalogAuthenticationToken token)) {
+            return PermissionSet.NONE;
+        }
+        if (token.getApiKeyId() != null) {
+            throw new InvalidApiKeyRequestException("API keys cannot be used to manage API keys");
+        }
+        return token.getPermissions();
+    }
+
+    private static String randomPrefix() {
+        StringBuilder prefix = new StringBuilder(ApiKeyVerifier.PREFIX_LENGTH);
+        for (int i = 0; i < ApiKeyVerifier.PREFIX_LENGTH; i++) {
+            prefix.append(PREFIX_ALPHABET.charAt(RANDOM.nextInt(PREFIX_ALPHABET.length())));
+        }
+        return prefix.toString();
+    }
+}
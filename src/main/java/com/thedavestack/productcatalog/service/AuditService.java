@@ -1,17 +1,37 @@
 package com.thedavestack.productcatalog.service;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.thedavestack.productcatalog.audit.AuditArchive;
+import com.thedavestack.productcatalog.audit.AuditLogWriter;
+import com.thedavestack.productcatalog.audit.AuditOutbox;
+import com.thedavestack.productcatalog.audit.AuditPartitionMaintenance;
+import com.thedavestack.productcatalog.audit.AuditTail;
+import com.thedavestack.productcatalog.audit.JsonPatchDiff;
+import com.thedavestack.productcatalog.dto.AuditLogCursor;
 import com.thedavestack.productcatalog.model.AuditLog;
 import com.thedavestack.productcatalog.repository.AuditLogRepository;
+import com.thedavestack.productcatalog.repository.AuditLogRepositoryCustom;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,59 +41,350 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuditService {
 
+    /** Maintained on every write, so a patch entry for them would carry no information. */
+    private static final Set<String> UNDIFFED_FIELDS = Set.of("updatedAt", "version");
+
+    /** Patch path under which an update records the version it produced. */
+    private static final String VERSION_PATH = "/version";
+
+    /** Entries read per round trip while reconstructing when snapshots are disabled. */
+    private static final int RECONSTRUCTION_PAGE_SIZE = 100;
+
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditOutbox auditOutbox;
+    private final AuditPartitionMaintenance auditPartitionMaintenance;
+    private final AuditArchive auditArchive;
+    private final AuditTail auditTail;
     private final ObjectMapper objectMapper;
 
-    @Async
-    public CompletableFuture<Void> logAction(
+    @Value("${app.audit.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    /**
+     * Queues an audit entry for the batched writer. Creations store a snapshot of the new state,
+     * deletions a snapshot of the old state, and updates a JSON Patch between the two. Values are
+     * serialized on the calling thread, so the entry reflects them as they are now and carries the
+     * caller's username.
+     *
+     * @param entityType the audited entity type.
+     * @param entityId the ID of the audited entity.
+     * @param action the audited action.
+     * @param oldValue the state before the action, or null.
+     * @param newValue the state after the action, or null.
+     */
+    public void logAction(
             String entityType,
             String entityId,
             AuditLog.AuditAction action,
             Object oldValue,
             Object newValue) {
+        if (action == AuditLog.AuditAction.UPDATE && oldValue != null && newValue != null) {
+            logUpdate(entityType, entityId, oldValue, newValue, null);
+            return;
+        }
         try {
-            String username = getCurrentUsername();
-
-            AuditLog auditLog =
+            write(
                     AuditLog.builder()
                             .entityType(entityType)
                             .entityId(entityId)
                             .action(action)
-                            .username(username)
-                            .oldValues(
-                                    oldValue != null
-                                            ? objectMapper.writeValueAsString(oldValue)
-                                            : null)
-                            .newValues(
-                                    newValue != null
-                                            ? objectMapper.writeValueAsString(newValue)
-                                            : null)
-                            .changes(generateChanges(oldValue, newValue))
-                            .build();
-
-            auditLogRepository.save(auditLog);
-            log.info("Audit log created: {} {} by {}", action, entityType, username);
+                            .oldValues(oldValue != null ? toJson(oldValue) : null)
+                            .newValues(newValue != null ? toJson(newValue) : null));
         } catch (Exception e) {
             log.error(
                     "Failed to create audit log for {} {}: {}", action, entityType, e.getMessage());
         }
-        return CompletableFuture.completedFuture(null);
     }
 
-    public Page<AuditLog> findAuditLogs(
+    /**
+     * Records an UPDATE as a JSON Patch from {@code before} to {@code after}, ending with the new
+     * version when it is known. Every {@code app.audit.snapshot-interval} versions the full new
+     * state is stored as well, so history can be rebuilt from the nearest snapshot without
+     * replaying every patch since creation.
+     *
+     * @param entityType the audited entity type.
+     * @param entityId the ID of the audited entity.
+     * @param before the state before the change, typically from {@link #snapshot} taken before the
+     *     entity was mutated.
+     * @param after the state after the change.
+     * @param version the entity version after the change, or null if unknown.
+     */
+    public void logUpdate(
+            String entityType, String entityId, Object before, Object after, Long version) {
+        try {
+            writeUpdate(
+                    entityType,
+                    entityId,
+                    snapshot(before),
+                    snapshot(after),
+                    version,
+                    currentUsername());
+        } catch (Exception e) {
+            log.error(
+                    "Failed to create audit log for {} {}: {}",
+                    AuditLog.AuditAction.UPDATE,
+                    entityType,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Records an UPDATE for which only the previous values of the changed fields are known, as
+     * returned by a single-statement update.
+     *
+     * @param entityType the audited entity type.
+     * @param entityId the ID of the audited entity.
+     * @param previousValues the values of the changed fields before the update.
+     * @param after the full state after the change.
+     * @param version the entity version after the change, or null if unknown.
+     */
+    public void logPartialUpdate(
+            String entityType,
+            String entityId,
+            Map<String, ?> previousValues,
+            Object after,
+            Long version) {
+        logPartialUpdate(
+                entityType, entityId, previousValues, Map.of(), after, version, currentUsername());
+    }
+
+    /**
+     * Records one of several changes written by a single statement, attributed to the user who
+     * requested it. The changed fields of {@code after} are overridden with {@code newValues}, so
+     * each entry shows the state after its own change rather than after the whole statement.
+     *
+     * @param entityType the audited entity type.
+     * @param entityId the ID of the audited entity.
+     * @param previousValues the values of the changed fields before this change.
+     * @param newValues the values of the changed fields after this change.
+     * @param after the full state after the statement.
+     * @param version the entity version after the statement, shared by every change it wrote, or
+     *     null if unknown.
+     * @param username the user who requested the change, as returned by {@link #currentUsername()}
+     *     on their thread.
+     */
+    public void logPartialUpdate(
+            String entityType,
+            String entityId,
+            Map<String, ?> previousValues,
+            Map<String, ?> newValues,
+            Object after,
+            Long version,
+            String username) {
+        try {
+            ObjectNode afterTree = (ObjectNode) snapshot(after);
+            newValues.forEach(
+                    (field, value) -> afterTree.set(field, objectMapper.valueToTree(value)));
+            ObjectNode beforeTree = afterTree.deepCopy();
+            previousValues.forEach(
+                    (field, value) -> beforeTree.set(field, objectMapper.valueToTree(value)));
+            writeUpdate(entityType, entityId, beforeTree, afterTree, version, username);
+        } catch (Exception e) {
+            log.error(
+                    "Failed to create audit log for {} {}: {}",
+                    AuditLog.AuditAction.UPDATE,
+                    entityType,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Captures the current state of an object for a later {@link #logUpdate}. Call it before
+     * mutating a managed entity, since the entity instance itself will reflect the new state.
+     *
+     * @param value the object to capture.
+     * @return a JSON tree of the object.
+     */
+    public JsonNode snapshot(Object value) {
+        return value instanceof JsonNode node ? node : objectMapper.valueToTree(value);
+    }
+
+    /**
+     * Records a CREATE entry for each entity.
+     *
+     * @param entityType the audited entity type.
+     * @param entities the created entities.
+     * @param idExtractor returns the ID of an entity.
+     */
+    public <T> void logCreateAll(
+            String entityType, List<T> entities, Function<T, String> idExtractor) {
+        try {
+            for (T entity : entities) {
+                write(
+                        AuditLog.builder()
+                                .entityType(entityType)
+                                .entityId(idExtractor.apply(entity))
+                                .action(AuditLog.AuditAction.CREATE)
+                                .newValues(toJson(entity)));
+            }
+        } catch (Exception e) {
+            log.error(
+                    "Failed to create audit logs for {} {}: {}",
+                    AuditLog.AuditAction.CREATE,
+                    entityType,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds an entity as it was at the given instant: starting from the newest full state
+     * recorded at or before it (the creation or a periodic snapshot), the JSON Patches recorded
+     * after that state are applied oldest first. With snapshots every {@code
+     * app.audit.snapshot-interval} versions, this reads at most about that many entries.
+     *
+     * @param entityType the audited entity type.
+     * @param entityId the ID of the entity.
+     * @param asOf the instant to reconstruct.
+     * @param type the class to map the reconstructed state to.
+     * @return the state at that instant, or empty if the entity did not exist then, had been
+     *     deleted, or its history before that instant is no longer retained.
+     */
+    public <T> Optional<T> reconstruct(
+            String entityType, String entityId, Instant asOf, Class<T> type) {
+        int pageSize = snapshotInterval > 0 ? snapshotInterval + 1 : RECONSTRUCTION_PAGE_SIZE;
+        Deque<AuditLog> deltas = new ArrayDeque<>();
+        AuditLog latest = null;
+        ObjectNode state = null;
+        AuditLogCursor cursor = AuditLogCursor.atOrBefore(asOf);
+        try {
+            while (state == null) {
+                Slice<AuditLog> page =
+                        findAuditLogs(entityType, entityId, null, null, cursor, pageSize);
+                for (AuditLog entry : page) {
+                    if (latest == null) {
+                        latest = entry;
+                    }
+                    if (entry.getAction() == AuditLog.AuditAction.DELETE) {
+                        return Optional.empty();
+                    }
+                    if (entry.getNewValues() != null) {
+                        state = (ObjectNode) objectMapper.readTree(entry.getNewValues());
+                        break;
+                    }
+                    // Newest first here, so each older delta goes in front
+                    deltas.addFirst(entry);
+                }
+                if (state == null) {
+                    if (!page.hasNext()) {
+                        if (latest != null) {
+                            log.warn(
+                                    "No full state of {} {} retained before {}",
+                                    entityType,
+                                    entityId,
+                                    asOf);
+                        }
+                        return Optional.empty();
+                    }
+                    List<AuditLog> content = page.getContent();
+                    cursor = AuditLogCursor.after(content.get(content.size() - 1));
+                }
+            }
+            // Writes since the newest delta that recorded the resulting version
+            long unversionedWrites = 0;
+            for (AuditLog delta : deltas) {
+                JsonNode patch =
+                        delta.getChanges() != null
+                                ? objectMapper.readTree(delta.getChanges())
+                                : null;
+                if (patch != null) {
+                    JsonPatchDiff.apply(state, patch);
+                }
+                unversionedWrites = setsVersion(patch) ? 0 : unversionedWrites + 1;
+            }
+            if (!deltas.isEmpty()) {
+                // Every entry of a coalesced write records that write's version, so counting
+                // entries would overshoot; only entries without one are counted, one write each
+                if (unversionedWrites > 0 && state.path("version").isIntegralNumber()) {
+                    state.put("version", state.get("version").asLong() + unversionedWrites);
+                }
+                // Patches leave out the timestamp maintained on every write
+                state.set("updatedAt", objectMapper.valueToTree(latest.getCreatedAt()));
+            }
+            return Optional.of(objectMapper.treeToValue(state, type));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Unreadable audit history for " + entityType + " " + entityId, e);
+        }
+    }
+
+    /**
+     * Retrieves the next slice of audit logs after a keyset cursor, newest first. Only the filters
+     * that are set are applied, and no count query is run. Listings for one entity continue into
+     * the cold archive once the database has no older entries.
+     *
+     * @param entityType optional entity type filter.
+     * @param entityId optional entity ID filter.
+     * @param username optional username filter.
+     * @param action optional action filter.
+     * @param cursor the position of the last audit log already returned.
+     * @param size the maximum number of audit logs to return.
+     * @return a slice of audit logs following the cursor.
+     */
+    public Slice<AuditLog> findAuditLogs(
             String entityType,
             String entityId,
             String username,
             AuditLog.AuditAction action,
-            Pageable pageable) {
-        return auditLogRepository.findWithFilters(entityType, entityId, username, action, pageable);
+            AuditLogCursor cursor,
+            int size) {
+        // Fetch one extra row to learn whether another page exists without counting
+        List<AuditLog> logs =
+                auditLogRepository.findWithFiltersAfter(
+                        filter(entityType, entityId, username, action), cursor, size + 1);
+        if (entityId != null && logs.size() <= size && auditArchive.isEnabled()) {
+            // Archived months are all older than the database, so they continue the listing
+            AuditLogCursor position =
+                    logs.isEmpty() ? cursor : AuditLogCursor.after(logs.get(logs.size() - 1));
+            logs = new ArrayList<>(logs);
+            logs.addAll(
+                    auditArchive.findByEntityId(
+                            entityId,
+                            position,
+                            entry ->
+                                    (entityType == null || entityType.equals(entry.getEntityType()))
+                                            && (username == null
+                                                    || username.equals(entry.getUsername()))
+                                            && (action == null || action == entry.getAction()),
+                            size + 1 - logs.size()));
+        }
+        boolean hasNext = logs.size() > size;
+        List<AuditLog> content = hasNext ? logs.subList(0, size) : logs;
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
     }
 
-    public Page<AuditLog> findByEntityId(String entityId, Pageable pageable) {
-        return auditLogRepository.findByEntityIdOrderByCreatedAtDesc(entityId, pageable);
+    /**
+     * Estimates the number of audit logs matching the given filters from planner statistics. Exact
+     * counts would scan every matching row across all partitions.
+     *
+     * @param entityType optional entity type filter.
+     * @param entityId optional entity ID filter.
+     * @param username optional username filter.
+     * @param action optional action filter.
+     * @return the estimated number of matching audit logs.
+     */
+    public long estimateAuditLogCount(
+            String entityType, String entityId, String username, AuditLog.AuditAction action) {
+        return auditLogRepository.estimateCount(filter(entityType, entityId, username, action));
     }
 
-    private String getCurrentUsername() {
+    private AuditLogRepositoryCustom.Filter filter(
+            String entityType, String entityId, String username, AuditLog.AuditAction action) {
+        return new AuditLogRepositoryCustom.Filter(
+                entityType,
+                entityId,
+                username,
+                action,
+                auditPartitionMaintenance.oldestInDatabase());
+    }
+
+    /**
+     * Returns the name of the authenticated user on the calling thread, or "system" without one.
+     * Work handed to another thread should capture it first.
+     *
+     * @return the username to attribute audit entries to.
+     */
+    public static String currentUsername() {
         try {
             return SecurityContextHolder.getContext().getAuthentication().getName();
         } catch (Exception e) {
@@ -81,19 +392,64 @@ public class AuditService {
         }
     }
 
-    private String generateChanges(Object oldValue, Object newValue) {
-        try {
-            if (oldValue == null && newValue != null) {
-                return "Created: " + objectMapper.writeValueAsString(newValue);
-            } else if (oldValue != null && newValue == null) {
-                return "Deleted: " + objectMapper.writeValueAsString(oldValue);
-            } else if (oldValue != null && newValue != null) {
-                // In a real implementation, you would do a field-by-field comparison
-                return "Updated";
+    private void writeUpdate(
+            String entityType,
+            String entityId,
+            JsonNode before,
+            JsonNode after,
+            Long version,
+            String username)
+            throws JsonProcessingException {
+        boolean snapshotDue =
+                version != null && snapshotInterval > 0 && version % snapshotInterval == 0;
+        if (snapshotDue && after instanceof ObjectNode afterObject) {
+            // A managed entity is only re-versioned at flush, so stamp the version it will have
+            afterObject.put("version", version);
+        }
+        ArrayNode patch = JsonPatchDiff.diff(before, after, UNDIFFED_FIELDS);
+        if (version != null) {
+            patch.addObject().put("op", "replace").put("path", VERSION_PATH).put("value", version);
+        }
+        write(
+                AuditLog.builder()
+                        .entityType(entityType)
+                        .entityId(entityId)
+                        .action(AuditLog.AuditAction.UPDATE)
+                        .changes(toJson(patch))
+                        .newValues(snapshotDue ? toJson(after) : null),
+                username);
+    }
+
+    private static boolean setsVersion(JsonNode patch) {
+        if (patch == null) {
+            return false;
+        }
+        for (JsonNode operation : patch) {
+            if (VERSION_PATH.equals(operation.path("path").asText())) {
+                return true;
             }
-            return "No changes";
-        } catch (JsonProcessingException e) {
-            return "Error generating changes: " + e.getMessage();
         }
+        return false;
+    }
+
+    /**
+     * Writes the entry with the caller's transaction when there is one, so it is only persisted if
+     * the change it describes commits; otherwise hands it to the batched writer. Live subscribers
+     * see it once it is committed.
+     */
+    private void write(AuditLog.AuditLogBuilder builder) {
+        write(builder, currentUsername());
+    }
+
+    private void write(AuditLog.AuditLogBuilder builder, String username) {
+        AuditLog entry = builder.username(username).build();
+        if (!auditOutbox.enqueue(entry)) {
+            auditLogWriter.write(entry);
+        }
+        auditTail.publish(entry);
+    }
+
+    private String toJson(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(value);
     }
 }
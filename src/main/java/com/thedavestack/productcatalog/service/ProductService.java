@@ -8,41 +8,65 @@
  *
  * <p>Logic Overview: - Provides methods for all CRUD (Create, Read, Update, Delete) operations. -
  * Implements SKU generation and validation for new products. - Ensures data integrity for batch
- * operations using transactions.
+ * operations using transactions. - Serves lookups by ID and SKU through ProductCache, which writes
+ * refresh after commit.
  *
  * <p>Last Updated: 2025-08-05 by Cline (Model: claude-3-opus, Task: Added update and delete product
  * methods)
  */
 package com.thedavestack.productcatalog.service;
 
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.thedavestack.productcatalog.cache.ProductCache;
+import com.thedavestack.productcatalog.dto.ProductCursor;
 import com.thedavestack.productcatalog.exception.DuplicateSkuException;
+import com.thedavestack.productcatalog.exception.InvalidSearchQueryException;
 import com.thedavestack.productcatalog.exception.ProductNotFoundException;
+import com.thedavestack.productcatalog.exception.ProductVersionMismatchException;
 import com.thedavestack.productcatalog.model.AuditLog;
 import com.thedavestack.productcatalog.model.Category;
 import com.thedavestack.productcatalog.model.Product;
 import com.thedavestack.productcatalog.repository.ProductRepository;
+import com.thedavestack.productcatalog.repository.ProductRepositoryCustom.PatchResult;
 
 @Service
 public class ProductService {
 
+    /** Shortest search term with a trigram for idx_products_name_trgm to match. */
+    static final int MIN_SEARCH_LENGTH = 3;
+
     private final ProductRepository productRepository;
     private final AuditService auditService;
+    private final ProductCache productCache;
 
-    public ProductService(ProductRepository productRepository, AuditService auditService) {
+    public ProductService(
+            ProductRepository productRepository,
+            AuditService auditService,
+            ProductCache productCache) {
         this.productRepository = productRepository;
         this.auditService = auditService;
+        this.productCache = productCache;
     }
 
     /**
@@ -57,6 +81,18 @@ public class ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * Passes every product to the consumer one at a time without materializing the catalog.
+     *
+     * @param consumer receives each product in ID order.
+     */
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(consumer);
+        }
+    }
+
     /**
      * Retrieves a product by its ID.
      *
@@ -69,7 +105,40 @@ public class ProductService {
     public Optional<Product> findById(
             @ToolParam(description = "The unique UUID identifier of the product to retrieve")
                     String id) {
-        return productRepository.findById(id);
+        return productCache.getById(id, productRepository::findById);
+    }
+
+    /**
+     * Reconstructs a product as it was at a past instant from its audit history.
+     *
+     * @param id the ID of the product.
+     * @param asOf the instant to reconstruct.
+     * @return the product as of that instant, or empty if it did not exist or was deleted then.
+     */
+    @Tool(
+            description =
+                    "Reconstructs a product exactly as it was at a past point in time, from the nearest audit snapshot plus the recorded changes after it. Use this to answer questions like 'what was the price of this product on a given date'. Returns empty if the product did not exist yet, had been deleted, or its history at that time is no longer retained.")
+    public Optional<Product> findByIdAsOf(
+            @ToolParam(description = "The unique UUID identifier of the product") String id,
+            @ToolParam(
+                            description =
+                                    "The point in time as an ISO-8601 instant, e.g. 2025-01-31T12:00:00Z")
+                    Instant asOf) {
+        return auditService.reconstruct("Product", id, asOf, Product.class);
+    }
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku the SKU of the product to retrieve.
+     * @return an Optional containing the product if found, or empty otherwise.
+     */
+    @Tool(
+            description =
+                    "Retrieves a specific product by its unique SKU (stock keeping unit). Returns detailed product information if found, or empty if not found. Use this when you know the product's SKU rather than its internal UUID. Returns null if product doesn't exist or has been soft-deleted.")
+    public Optional<Product> findBySku(
+            @ToolParam(description = "The unique SKU of the product to retrieve") String sku) {
+        return productCache.getBySku(sku, productRepository::findBySku);
     }
 
     /**
@@ -99,6 +168,7 @@ public class ProductService {
             }
         }
         Product savedProduct = productRepository.save(product);
+        productCache.refreshAfterCommit(savedProduct);
 
         // Audit log
         auditService.logAction(
@@ -115,14 +185,36 @@ public class ProductService {
      */
     @Tool(
             description =
-                    "Creates multiple products in a single atomic transaction with rollback on any failure. All products must pass validation before any are created. Each product follows the same creation rules as single product creation (SKU uniqueness, required fields, etc.). Use this for bulk imports, batch creation operations, or when you need to ensure all-or-none creation semantics. More efficient than individual creation calls.")
+                    "Creates multiple products in a single atomic transaction with rollback on any failure. All products must pass validation before any are created. Each product follows the same creation rules as single product creation (SKU uniqueness, required fields, etc.); SKUs are checked for duplicates in one query, products are written with batched inserts and audited in one batch. Use this for bulk imports, batch creation operations, or when you need to ensure all-or-none creation semantics. Much more efficient than individual creation calls.")
     @Transactional
     public List<Product> createMultipleProducts(
             @ToolParam(
                             description =
                                     "List of product objects to create in a single transaction. Each product must have required fields: name, price, category, stockQuantity, minStockLevel")
                     List<Product> products) {
-        return products.stream().map(this::createProduct).collect(Collectors.toList());
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        // One set-based duplicate check instead of an existsBySku query per product
+        Set<String> requestedSkus = new HashSet<>();
+        for (Product product : products) {
+            if (product.getSku() == null || product.getSku().trim().isEmpty()) {
+                product.setSku(UUID.randomUUID().toString());
+            } else if (!requestedSkus.add(product.getSku())) {
+                throw new DuplicateSkuException(product.getSku());
+            }
+        }
+        Set<String> existingSkus = productRepository.findExistingSkus(requestedSkus);
+        if (!existingSkus.isEmpty()) {
+            throw new DuplicateSkuException(existingSkus.iterator().next());
+        }
+
+        List<Product> savedProducts = productRepository.insertAll(products);
+
+        auditService.logCreateAll("Product", savedProducts, Product::getId);
+
+        return savedProducts;
     }
 
     /**
@@ -146,6 +238,8 @@ public class ProductService {
                     Product productDetails) {
         Product product =
                 productRepository.findById(id).orElseThrow(() -> new ProductNotFoundException(id));
+        JsonNode before = auditService.snapshot(product);
+        Long version = product.getVersion() != null ? product.getVersion() + 1 : null;
 
         if (productDetails.getName() != null) {
             product.setName(productDetails.getName());
@@ -179,18 +273,92 @@ public class ProductService {
         }
 
         Product savedProduct = productRepository.save(product);
+        productCache.refreshAfterCommit(savedProduct);
 
         // Audit log
-        auditService.logAction(
-                "Product",
-                savedProduct.getId(),
-                AuditLog.AuditAction.UPDATE,
-                product,
-                savedProduct);
+        auditService.logUpdate("Product", savedProduct.getId(), before, savedProduct, version);
 
         return savedProduct;
     }
 
+    /**
+     * Applies a partial update with a single conditional UPDATE instead of a read followed by a
+     * versioned write. Only the non-null fields of {@code changes} are written, and only those
+     * fields are recorded in the audit log.
+     *
+     * @param id the ID of the product to update.
+     * @param changes the fields to change; null fields are left untouched.
+     * @param expectedVersion the version the caller last saw, or null to update unconditionally.
+     * @return the updated product.
+     * @throws ProductNotFoundException if the product with the given ID is not found.
+     * @throws ProductVersionMismatchException if the product is no longer at expectedVersion.
+     */
+    @Transactional
+    public Product patchProduct(String id, Product changes, Long expectedVersion) {
+        Map<String, Object> fields = changedFields(changes);
+        if (fields.isEmpty()) {
+            Product current =
+                    productRepository
+                            .findById(id)
+                            .orElseThrow(() -> new ProductNotFoundException(id));
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new ProductVersionMismatchException(
+                        id, expectedVersion, current.getVersion());
+            }
+            return current;
+        }
+
+        PatchResult result =
+                productRepository
+                        .updateFields(id, fields, expectedVersion)
+                        .orElseThrow(() -> patchFailure(id, expectedVersion));
+        productCache.refreshAfterCommit(result.product());
+
+        auditService.logPartialUpdate(
+                "Product",
+                id,
+                result.previousValues(),
+                result.product(),
+                result.product().getVersion());
+
+        return result.product();
+    }
+
+    /** Works out why a conditional update matched no row; only runs on the failure path. */
+    private RuntimeException patchFailure(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return new ProductNotFoundException(id);
+        }
+        return productRepository
+                .findById(id)
+                .<RuntimeException>map(
+                        current ->
+                                new ProductVersionMismatchException(
+                                        id, expectedVersion, current.getVersion()))
+                .orElseGet(() -> new ProductNotFoundException(id));
+    }
+
+    private static Map<String, Object> changedFields(Product changes) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "name", changes.getName());
+        putIfPresent(fields, "description", changes.getDescription());
+        putIfPresent(fields, "price", changes.getPrice());
+        putIfPresent(fields, "category", changes.getCategory());
+        putIfPresent(fields, "stockQuantity", changes.getStockQuantity());
+        putIfPresent(fields, "minStockLevel", changes.getMinStockLevel());
+        putIfPresent(fields, "imageUrl", changes.getImageUrl());
+        putIfPresent(fields, "weight", changes.getWeight());
+        putIfPresent(fields, "dimensions", changes.getDimensions());
+        putIfPresent(fields, "active", changes.getActive());
+        return fields;
+    }
+
+    private static void putIfPresent(Map<String, Object> fields, String property, Object value) {
+        if (value != null) {
+            fields.put(property, value);
+        }
+    }
+
     /**
      * Deletes a product by its ID (soft delete).
      *
@@ -212,6 +380,7 @@ public class ProductService {
                 "Product", product.getId(), AuditLog.AuditAction.DELETE, product, null);
 
         productRepository.delete(product);
+        productCache.evictAfterCommit(product);
     }
 
     /**
@@ -242,7 +411,7 @@ public class ProductService {
      */
     @Tool(
             description =
-                    "Advanced product search with comprehensive filtering and pagination capabilities. Filter by: name (partial match), category (exact match), active status (true/false). Combine multiple filters for precise results. Supports full pagination with sorting. Use for complex queries, search functionality, catalog browsing, or when you need specific product subsets. More efficient than client-side filtering.")
+                    "Advanced product search with comprehensive filtering and pagination capabilities. Filter by: name (case-insensitive substring match), category (exact match), active status (true/false). Combine multiple filters for precise results. Supports full pagination with sorting. Use for complex queries, search functionality, catalog browsing, or when you need specific product subsets. More efficient than client-side filtering.")
     public Page<Product> findWithFilters(
             @ToolParam(
                             required = false,
@@ -262,7 +431,70 @@ public class ProductService {
                             description =
                                     "Pagination parameters: page number (0-based), page size (max 100), and sort criteria")
                     Pageable pageable) {
-        return productRepository.findWithFilters(name, category, active, pageable);
+        return productRepository.findWithFilters(
+                ProductRepository.escapeLike(name), category, active, pageable);
+    }
+
+    /**
+     * Searches products by name, tolerating partial words and typos, ranked by relevance.
+     *
+     * @param query the search term; surrounding whitespace is ignored.
+     * @param pageable the pagination information.
+     * @return a page of products ordered from most to least relevant.
+     * @throws InvalidSearchQueryException if the term is shorter than {@value #MIN_SEARCH_LENGTH}
+     *     characters, which has no trigrams for the index to match and would scan every product.
+     */
+    @Tool(
+            description =
+                    "Fuzzy product name search ranked by relevance. Matches names containing the search term as a substring and names with words similar to it (tolerates typos and partial words). Results are ordered from most to least relevant. The search term must be at least 3 characters. Use this when the user describes a product by name but may not know the exact spelling; use findWithFilters for exact category or status filtering.")
+    public Page<Product> searchByName(
+            @ToolParam(description = "The search term to match against product names") String query,
+            @ToolParam(
+                            description =
+                                    "Pagination parameters: page number (0-based) and page size (max 100). Sort criteria are ignored; results are ordered by relevance")
+                    Pageable pageable) {
+        String term = query != null ? query.strip() : "";
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            throw new InvalidSearchQueryException(
+                    "Search term must be at least " + MIN_SEARCH_LENGTH + " characters");
+        }
+        return productRepository.searchByName(
+                term, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    /**
+     * Retrieves the next slice of products after a keyset cursor. Unlike {@link #findWithFilters},
+     * this seeks directly to the cursor position and never runs a count query.
+     *
+     * @param name optional name filter.
+     * @param category optional category filter.
+     * @param active optional active status filter.
+     * @param cursor the sort order and position of the last product already returned.
+     * @param size the maximum number of products to return.
+     * @return a slice of products following the cursor.
+     */
+    public Slice<Product> findWithFiltersAfter(
+            String name, Category category, Boolean active, ProductCursor cursor, int size) {
+        // Fetch one extra row to learn whether another page exists without counting
+        List<Product> products =
+                productRepository.findWithFiltersAfter(
+                        ProductRepository.escapeLike(name), category, active, cursor, size + 1);
+        boolean hasNext = products.size() > size;
+        List<Product> content = hasNext ? products.subList(0, size) : products;
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * Counts products matching the given filters.
+     *
+     * @param name optional name filter.
+     * @param category optional category filter.
+     * @param active optional active status filter.
+     * @return the number of matching products.
+     */
+    public long countWithFilters(String name, Category category, Boolean active) {
+        return productRepository.countWithFilters(
+                ProductRepository.escapeLike(name), category, active);
     }
 
     /**
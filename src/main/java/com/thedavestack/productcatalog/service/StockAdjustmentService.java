@@ -0,0 +1,239 @@
+/**
+ * StockAdjustmentService.java
+ *
+ * <p>Purpose: - Applies relative stock changes without read-modify-write cycles, so frequent
+ * warehouse events on the same product do not collide on the optimistic-locking version.
+ *
+ * <p>Logic Overview: - Each adjustment is a single {@code stock_quantity = stock_quantity + ?}
+ * UPDATE guarded by the requested floor. - When a coalescing window is configured, adjustments to
+ * the same product arriving within the window are summed and written with one UPDATE. The guard for
+ * the batch is the lowest starting stock at which every adjustment, applied in arrival order, stays
+ * above its own floor, so a batch succeeds exactly when the individual writes all would. If the
+ * batch guard fails, the adjustments are replayed one by one so only the offending ones are
+ * rejected. - Each adjustment carries the username of its caller, captured on the caller's thread,
+ * since batches are written from a flush thread without a security context; a batch records one
+ * audit entry per adjustment.
+ */
+package com.thedavestack.productcatalog.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thedavestack.productcatalog.cache.ProductCache;
+import com.thedavestack.productcatalog.exception.InsufficientStockException;
+import com.thedavestack.productcatalog.exception.ProductNotFoundException;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.repository.ProductRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class StockAdjustmentService {
+
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final AuditService auditService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration coalesceWindow;
+    private final ScheduledExecutorService flushScheduler;
+    private final Map<String, Batch> pending = new ConcurrentHashMap<>();
+
+    /** One requested change, who requested it, and the future its caller waits on. */
+    private record Adjustment(
+            int delta, int floor, String username, CompletableFuture<Product> result) {}
+
+    /** Adjustments to one product collected during a coalescing window. */
+    private static final class Batch {
+        private final List<Adjustment> adjustments = new ArrayList<>();
+        private boolean closed;
+
+        synchronized boolean add(Adjustment adjustment) {
+            if (closed) {
+                return false;
+            }
+            adjustments.add(adjustment);
+            return true;
+        }
+
+        synchronized List<Adjustment> close() {
+            closed = true;
+            return adjustments;
+        }
+    }
+
+    public StockAdjustmentService(
+            ProductRepository productRepository,
+            ProductCache productCache,
+            AuditService auditService,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.products.stock.coalesce-window:0ms}") Duration coalesceWindow,
+            @Value("${app.products.stock.flush-threads:4}") int flushThreads) {
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.auditService = auditService;
+        this.transactionTemplate = transactionTemplate;
+        this.coalesceWindow = coalesceWindow;
+        this.flushScheduler =
+                coalesceWindow.isZero()
+                        ? null
+                        : Executors.newScheduledThreadPool(
+                                flushThreads,
+                                Thread.ofPlatform().name("stock-flush-", 0).daemon().factory());
+    }
+
+    /**
+     * Adds a signed delta to a product's stock quantity.
+     *
+     * @param id the ID of the product.
+     * @param delta the amount to add; negative to remove stock.
+     * @param floor the minimum stock the product may be left with, or null for zero.
+     * @return the product after the adjustment.
+     * @throws ProductNotFoundException if the product with the given ID is not found.
+     * @throws InsufficientStockException if the adjustment would leave less stock than the floor.
+     */
+    @Tool(
+            description =
+                    "Atomically adds a signed delta to a product's stock quantity, e.g. +20 for a delivery or -3 for a shipment. Safe under heavy concurrency: changes are applied by the database without version conflicts. Rejects the change if the resulting stock would fall below the floor (default 0). Use this instead of updateProduct for inventory movements. Throws ProductNotFoundException if the product doesn't exist.")
+    public Product adjustStock(
+            @ToolParam(description = "The unique UUID identifier of the product") String id,
+            @ToolParam(description = "Signed amount to add to the stock quantity") int delta,
+            @ToolParam(
+                            description =
+                                    "Minimum stock quantity allowed after the change (default 0)",
+                            required = false)
+                    Integer floor) {
+        Adjustment adjustment =
+                new Adjustment(
+                        delta,
+                        floor != null ? floor : 0,
+                        AuditService.currentUsername(),
+                        new CompletableFuture<>());
+        if (flushScheduler == null) {
+            return apply(id, List.of(adjustment));
+        }
+        while (true) {
+            Batch batch = pending.computeIfAbsent(id, this::openBatch);
+            if (batch.add(adjustment)) {
+                break;
+            }
+        }
+        try {
+            return adjustment.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Batch openBatch(String id) {
+        Batch batch = new Batch();
+        flushScheduler.schedule(
+                () -> flush(id, batch), coalesceWindow.toNanos(), TimeUnit.NANOSECONDS);
+        return batch;
+    }
+
+    private void flush(String id, Batch batch) {
+        pending.remove(id, batch);
+        List<Adjustment> adjustments = batch.close();
+        try {
+            Product updated = apply(id, adjustments);
+            adjustments.forEach(adjustment -> adjustment.result().complete(updated));
+        } catch (RuntimeException e) {
+            if (adjustments.size() == 1) {
+                adjustments.get(0).result().completeExceptionally(e);
+                return;
+            }
+            for (Adjustment adjustment : adjustments) {
+                try {
+                    adjustment.result().complete(apply(id, List.of(adjustment)));
+                } catch (RuntimeException individual) {
+                    adjustment.result().completeExceptionally(individual);
+                }
+            }
+        }
+    }
+
+    private Product apply(String id, List<Adjustment> adjustments) {
+        long total = 0;
+        long minimumCurrentStock = Long.MIN_VALUE;
+        for (Adjustment adjustment : adjustments) {
+            total += adjustment.delta();
+            minimumCurrentStock = Math.max(minimumCurrentStock, adjustment.floor() - total);
+        }
+        long delta = total;
+        long guard = minimumCurrentStock;
+        Product updated =
+                transactionTemplate
+                        .execute(
+                                status ->
+                                        productRepository
+                                                .adjustStock(id, delta, guard)
+                                                .map(product -> audited(product, adjustments)))
+                        .orElseThrow(() -> rejection(id, delta, adjustments));
+        productCache.refreshAfterCommit(updated);
+        return updated;
+    }
+
+    /**
+     * Records each adjustment, in arrival order and attributed to its caller, in the same
+     * transaction, so they are only audited if the write commits. Every entry carries the version
+     * the write produced, which ties it to that write and keeps reconstruction from counting each
+     * entry as a separate update.
+     */
+    private Product audited(Product updated, List<Adjustment> adjustments) {
+        long stock = updated.getStockQuantity();
+        for (Adjustment adjustment : adjustments) {
+            stock -= adjustment.delta();
+        }
+        for (Adjustment adjustment : adjustments) {
+            long before = stock;
+            stock += adjustment.delta();
+            auditService.logPartialUpdate(
+                    "Product",
+                    updated.getId(),
+                    Map.of("stockQuantity", before),
+                    Map.of("stockQuantity", stock),
+                    updated,
+                    updated.getVersion(),
+                    adjustment.username());
+        }
+        return updated;
+    }
+
+    /** Works out why an adjustment matched no row; only runs on the failure path. */
+    private RuntimeException rejection(String id, long delta, List<Adjustment> adjustments) {
+        return productRepository
+                .findById(id)
+                .<RuntimeException>map(
+                        current ->
+                                new InsufficientStockException(
+                                        id,
+                                        current.getStockQuantity(),
+                                        delta,
+                                        adjustments.get(adjustments.size() - 1).floor()))
+                .orElseGet(() -> new ProductNotFoundException(id));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * UserBootstrapService.java
+ *
+ * <p>Purpose: - Seeds the roles and default users that the V4 migration leaves to the application.
+ *
+ * <p>Logic Overview: - Runs once at startup, before the principal cache is warmed. - Creates each
+ * of the ADMIN, USER, MANAGER and READONLY roles that is missing, with its default permissions;
+ * existing roles are left as they are. - Creates the default admin and user accounts if no user
+ * with that name exists, storing BCrypt hashes of the configured passwords. - Disabled with
+ * app.security.bootstrap.enabled=false.
+ */
+package com.thedavestack.productcatalog.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thedavestack.productcatalog.model.Role;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.repository.RoleRepository;
+import com.thedavestack.productcatalog.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(
+        name = "app.security.bootstrap.enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class UserBootstrapService implements ApplicationRunner {
+
+    private static final Map<String, List<String>> DEFAULT_ROLES = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_ROLES.put("ADMIN", List.of("READ", "WRITE", "DELETE", "USER_MANAGEMENT", "AUDIT"));
+        DEFAULT_ROLES.put("MANAGER", List.of("READ", "WRITE", "DELETE"));
+        DEFAULT_ROLES.put("USER", List.of("READ"));
+        DEFAULT_ROLES.put("READONLY", List.of("READ"));
+    }
+
+    private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final String adminPassword;
+    private final String userPassword;
+
+    public UserBootstrapService(
+            RoleRepository roleRepository,
+            UserRepository userRepository,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.security.bootstrap.admin-password:admin123}") String adminPassword,
+            @Value("${app.security.bootstrap.user-password:user123}") String userPassword) {
+        this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.adminPassword = adminPassword;
+        this.userPassword = userPassword;
+    }
+
+    @Override
+    @Transactional
+    public void run(ApplicationArguments args) {
+        DEFAULT_ROLES.forEach(
+                (name, permissions) -> {
+                    if (roleRepository.findByName(name).isEmpty()) {
+                        Role role = new Role();
+                        role.setName(name);
+                        role.setDescription("Default " + name + " role");
+                        role.setPermissions(permissions);
+                        roleRepository.save(role);
+                        log.info("Created role {} with permissions {}", name, permissions);
+                    }
+                });
+        createUser("admin", "admin@example.com", adminPassword, "ADMIN");
+        createUser("user", "user@example.com", userPassword, "USER");
+    }
+
+    private void createUser(String username, String email, String password, String roleName) {
+        if (userRepository.existsByUsername(username)) {
+            return;
+        }
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(email);
+        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setRole(roleRepository.findByName(roleName).orElseThrow());
+        userRepository.save(user);
+        log.info("Created default user {} with role {}", username, roleName);
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * UserService.java
+ *
+ * <p>Purpose: - Manages database users' roles.
+ *
+ * <p>Logic Overview: - A role change updates the user, appends a row to user_role_history naming
+ * the admin who made it, and evicts the user from the principal cache once the transaction commits,
+ * so the new authorities apply to the user's next request.
+ */
+package com.thedavestack.productcatalog.service;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.thedavestack.productcatalog.exception.UserNotFoundException;
+import com.thedavestack.productcatalog.model.Role;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.model.UserRoleHistory;
+import com.thedavestack.productcatalog.repository.RoleRepository;
+import com.thedavestack.productcatalog.repository.UserRepository;
+import com.thedavestack.productcatalog.repository.UserRoleHistoryRepository;
+import com.thedavestack.productcatalog.security.CatalogUserDetailsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final UserRoleHistoryRepository userRoleHistoryRepository;
+    private final CatalogUserDetailsService userDetailsService;
+
+    /**
+     * Assigns a new role to a user and records the change.
+     *
+     * @param username the user whose role changes.
+     * @param roleName the new role's name.
+     * @param reason why the role changed, or null.
+     * @throws UserNotFoundException if the user does not exist.
+     */
+    @Transactional
+    public void changeRole(String username, String roleName, String reason) {
+        User user =
+                userRepository
+                        .findByUsername(username)
+                        .orElseThrow(() -> new UserNotFoundException(username));
+        Role role =
+                roleRepository
+                        .findByName(roleName)
+                        .orElseThrow(
+                                () ->
+                                        new IllegalStateException(
+                                                "Role not provisioned: " + roleName));
+        Role oldRole = user.getRole();
+        if (oldRole.getId().equals(role.getId())) {
+            return;
+        }
+
+        user.setRole(role);
+        UserRoleHistory history = new UserRoleHistory();
+        history.setUserId(user.getId());
+        history.setOldRoleId(oldRole.getId());
+        history.setNewRoleId(role.getId());
+        history.setChangedBy(currentUserId());
+        history.setChangeReason(reason);
+        userRoleHistoryRepository.save(history);
+
+        userDetailsService.invalidateAfterCommit(username);
+        log.info("Role of {} changed from {} to {}", username, oldRole.getName(), roleName);
+    }
+
+    private String currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+        return userRepository
+                .findByUsername(authentication.getName())
+                .map(User::getId)
+                .orElse(null);
+    }
+}
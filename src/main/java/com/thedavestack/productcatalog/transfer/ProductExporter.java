@@ -0,0 +1,141 @@
+/**
+ * ProductExporter.java
+ *
+ * <p>Purpose: - Writes the full product catalog to an output stream as NDJSON or CSV.
+ *
+ * <p>Logic Overview: - Pulls products one at a time from ProductService.exportProducts, which reads
+ * through a server-side cursor. - Each product is mapped and written straight to the output, so
+ * heap usage does not depend on catalog size.
+ */
+package com.thedavestack.productcatalog.transfer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.thedavestack.productcatalog.dto.ProductResponse;
+import com.thedavestack.productcatalog.mapper.ProductMapper;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.service.ProductService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class ProductExporter {
+
+    private static final String CSV_HEADER =
+            "id,sku,name,description,price,category,stockQuantity,minStockLevel,imageUrl,weight,"
+                    + "dimensions,active,createdAt,updatedAt,version";
+
+    private final ProductService productService;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every product to the output stream in the given format.
+     *
+     * @param format the export format.
+     * @param outputStream the destination; it is flushed but not closed.
+     * @throws IOException if writing to the output stream fails.
+     */
+    public void export(ProductFileFormat format, OutputStream outputStream) throws IOException {
+        Writer writer =
+                new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(writer);
+                case CSV -> writeCsv(writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Writer writer) {
+        ObjectWriter lineWriter =
+                objectMapper
+                        .writerFor(ProductResponse.class)
+                        .without(SerializationFeature.INDENT_OUTPUT)
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        productService.exportProducts(
+                product -> {
+                    try {
+                        writer.write(lineWriter.writeValueAsString(toResponse(product)));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private void writeCsv(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        productService.exportProducts(
+                product -> {
+                    try {
+                        writer.write(toCsvRow(toResponse(product)));
+                        writer.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private ProductResponse toResponse(Product product) {
+        return productMapper.toResponse(product);
+    }
+
+    static String toCsvRow(ProductResponse product) {
+        Object[] values = {
+            product.id(),
+            product.sku(),
+            product.name(),
+            product.description(),
+            product.price(),
+            product.category() != null ? product.category().getDisplayName() : null,
+            product.stockQuantity(),
+            product.minStockLevel(),
+            product.imageUrl(),
+            product.weight(),
+            product.dimensions(),
+            product.active(),
+            product.createdAt(),
+            product.updatedAt(),
+            product.version()
+        };
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            if (values[i] != null) {
+                row.append(escapeCsv(values[i].toString()));
+            }
+        }
+        return row.toString();
+    }
+
+    private static String escapeCsv(String value) {
+        boolean needsQuoting =
+                value.indexOf(',') >= 0
+                        || value.indexOf('"') >= 0
+                        || value.indexOf('\n') >= 0
+                        || value.indexOf('\r') >= 0;
+        if (!needsQuoting) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
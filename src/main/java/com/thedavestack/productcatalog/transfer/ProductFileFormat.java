@@ -0,0 +1,41 @@
+package com.thedavestack.productcatalog.transfer;
+
+import org.springframework.http.MediaType;
+
+public enum ProductFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ProductFileFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves the format matching a request content type.
+     *
+     * @param contentType the request content type, possibly with parameters.
+     * @return the matching format.
+     * @throws IllegalArgumentException if no format matches.
+     */
+    public static ProductFileFormat fromContentType(String contentType) {
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        for (ProductFileFormat format : values()) {
+            if (MediaType.parseMediaType(format.contentType).includes(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+}
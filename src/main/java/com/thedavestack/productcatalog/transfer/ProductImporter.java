@@ -0,0 +1,382 @@
+/**
+ * ProductImporter.java
+ *
+ * <p>Purpose: - Bulk-loads products from an NDJSON or CSV stream.
+ *
+ * <p>Logic Overview: - Rows are parsed one at a time with Jackson's streaming readers and validated
+ * with the same constraints as the create endpoint; bad rows are reported and skipped. - Valid rows
+ * are grouped into chunks. Each chunk is streamed into a temporary staging table with PostgreSQL
+ * COPY and moved into the products table with a single INSERT ... SELECT ... ON CONFLICT DO
+ * NOTHING, so there is one round trip per chunk instead of one per row. - Rows whose SKU already
+ * exists (or repeats an earlier row) are reported as duplicates. - The INSERT returns the version
+ * and timestamps the database assigned, and the CREATE audit entries are built from them in the
+ * same transaction, so entries exist exactly for the rows that commit. - Heap usage is bounded by
+ * the chunk size and the cap on reported errors, not by the size of the upload.
+ */
+package com.thedavestack.productcatalog.transfer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.thedavestack.productcatalog.dto.CreateProductRequest;
+import com.thedavestack.productcatalog.dto.ProductImportResponse;
+import com.thedavestack.productcatalog.mapper.ProductMapper;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.model.UuidV7Generator;
+import com.thedavestack.productcatalog.service.AuditService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductImporter {
+
+    private static final String STAGING_COLUMNS =
+            "row_number, id, sku, name, description, price, category, stock_quantity,"
+                    + " min_stock_level, image_url, weight, dimensions, active";
+
+    private static final String CREATE_STAGING_TABLE =
+            "CREATE TEMP TABLE IF NOT EXISTS product_import_staging ("
+                    + "row_number BIGINT NOT NULL, id UUID NOT NULL, sku VARCHAR(255) NOT NULL,"
+                    + " name VARCHAR(255) NOT NULL, description TEXT, price NUMERIC(19, 2) NOT NULL,"
+                    + " category VARCHAR(255), stock_quantity INTEGER NOT NULL,"
+                    + " min_stock_level INTEGER, image_url VARCHAR(500), weight NUMERIC(10, 3),"
+                    + " dimensions VARCHAR(255), active BOOLEAN NOT NULL"
+                    + ") ON COMMIT DELETE ROWS";
+
+    private static final String COPY_INTO_STAGING =
+            "COPY product_import_staging (" + STAGING_COLUMNS + ") FROM STDIN WITH (FORMAT csv)";
+
+    // DISTINCT ON keeps the first occurrence of a SKU repeated within the chunk
+    private static final String MOVE_STAGED_ROWS =
+            "INSERT INTO products (id, sku, name, description, price, category, stock_quantity,"
+                    + " min_stock_level, image_url, weight, dimensions, active, deleted, version,"
+                    + " created_at, updated_at)"
+                    + " SELECT DISTINCT ON (sku) id, sku, name, description, price, category,"
+                    + " stock_quantity, min_stock_level, image_url, weight, dimensions, active,"
+                    + " false, 0, now(), now()"
+                    + " FROM product_import_staging ORDER BY sku, row_number"
+                    + " ON CONFLICT (sku) DO NOTHING"
+                    + " RETURNING sku, version, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ProductMapper productMapper;
+    private final AuditService auditService;
+
+    @Value("${app.products.import.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.products.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    /** A validated row waiting for its chunk to be written. */
+    record StagedRow(long rowNumber, Product product) {}
+
+    /**
+     * Imports every row of the input stream.
+     *
+     * @param format the input format.
+     * @param inputStream the upload; it is read once and not closed.
+     * @return counts of imported and rejected rows plus the first rejected rows.
+     * @throws IOException if reading the input stream fails.
+     */
+    public ProductImportResponse importProducts(ProductFileFormat format, InputStream inputStream)
+            throws IOException {
+        ImportReport report = new ImportReport(maxReportedErrors);
+        List<StagedRow> chunk = new ArrayList<>(chunkSize);
+        RowConsumer consumer =
+                (rowNumber, request) -> {
+                    StagedRow row = stage(rowNumber, request, report);
+                    if (row == null) {
+                        return;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() >= chunkSize) {
+                        writeChunk(chunk, report);
+                        chunk.clear();
+                    }
+                };
+        switch (format) {
+            case NDJSON -> readNdjson(inputStream, consumer, report);
+            case CSV -> readCsv(inputStream, consumer, report);
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, report);
+        }
+        log.info(
+                "Imported {} of {} product rows ({} rejected)",
+                report.imported,
+                report.total,
+                report.failed);
+        return report.toResponse();
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(long rowNumber, CreateProductRequest request);
+    }
+
+    private void readNdjson(InputStream inputStream, RowConsumer consumer, ImportReport report)
+            throws IOException {
+        ObjectReader reader =
+                objectMapper
+                        .readerFor(CreateProductRequest.class)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        BufferedReader lines =
+                new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        long rowNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            report.total++;
+            try {
+                consumer.accept(rowNumber, reader.readValue(line));
+            } catch (JsonProcessingException e) {
+                report.fail(rowNumber, null, "Malformed row: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(InputStream inputStream, RowConsumer consumer, ImportReport report)
+            throws IOException {
+        CsvMapper csvMapper = new CsvMapper();
+        csvMapper.findAndRegisterModules();
+        ObjectReader reader =
+                csvMapper
+                        .readerFor(CreateProductRequest.class)
+                        .with(CsvSchema.emptySchema().withHeader())
+                        .with(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                        .with(CsvParser.Feature.TRIM_SPACES)
+                        .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        try (MappingIterator<CreateProductRequest> rows = reader.readValues(inputStream)) {
+            long rowNumber = 0;
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                } catch (JsonProcessingException e) {
+                    // The tokenizer cannot resynchronise after broken quoting
+                    report.total++;
+                    report.fail(
+                            rowNumber + 1,
+                            null,
+                            "Unreadable CSV, import stopped: " + e.getOriginalMessage());
+                    return;
+                }
+                rowNumber++;
+                report.total++;
+                try {
+                    consumer.accept(rowNumber, rows.nextValue());
+                } catch (JsonProcessingException e) {
+                    report.fail(rowNumber, null, "Malformed row: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private StagedRow stage(long rowNumber, CreateProductRequest request, ImportReport report) {
+        Set<ConstraintViolation<CreateProductRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            report.fail(
+                    rowNumber,
+                    request.sku(),
+                    violations.stream()
+                            .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+            return null;
+        }
+        Product product = productMapper.toEntity(request);
+        product.setId(UuidV7Generator.next().toString());
+        if (product.getSku() == null || product.getSku().isBlank()) {
+            product.setSku(UUID.randomUUID().toString());
+        }
+        return new StagedRow(rowNumber, product);
+    }
+
+    private void writeChunk(List<StagedRow> chunk, ImportReport report) {
+        List<Product> inserted;
+        try {
+            inserted =
+                    transactionTemplate.execute(
+                            status -> {
+                                List<Product> rows =
+                                        jdbcTemplate.execute(
+                                                (ConnectionCallback<List<Product>>)
+                                                        connection ->
+                                                                copyAndMove(connection, chunk));
+                                if (!rows.isEmpty()) {
+                                    auditService.logCreateAll("Product", rows, Product::getId);
+                                }
+                                return rows;
+                            });
+        } catch (DataAccessException | TransactionException e) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Product import chunk of {} rows rejected: {}", chunk.size(), reason);
+            for (StagedRow row : chunk) {
+                report.fail(row.rowNumber(), row.product().getSku(), "Chunk rejected: " + reason);
+            }
+            return;
+        }
+
+        Set<Product> imported = Collections.newSetFromMap(new IdentityHashMap<>());
+        imported.addAll(inserted);
+        for (StagedRow row : chunk) {
+            if (!imported.contains(row.product())) {
+                String sku = row.product().getSku();
+                report.fail(row.rowNumber(), sku, "Product with SKU " + sku + " already exists");
+            }
+        }
+        report.imported += imported.size();
+    }
+
+    private List<Product> copyAndMove(Connection connection, List<StagedRow> chunk)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+        try {
+            connection
+                    .unwrap(PGConnection.class)
+                    .getCopyAPI()
+                    .copyIn(COPY_INTO_STAGING, new StringReader(toCopyCsv(chunk)));
+        } catch (IOException e) {
+            throw new SQLException("COPY into staging table failed", e);
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(MOVE_STAGED_ROWS)) {
+            return insertedRows(resultSet, chunk);
+        }
+    }
+
+    /**
+     * Matches the rows returned by the INSERT to their staged products, which take the version and
+     * timestamps the database assigned. A SKU repeated within the chunk matches its first row, the
+     * one DISTINCT ON kept.
+     */
+    static List<Product> insertedRows(ResultSet resultSet, List<StagedRow> chunk)
+            throws SQLException {
+        Map<String, Product> bySku = new HashMap<>();
+        for (StagedRow row : chunk) {
+            bySku.putIfAbsent(row.product().getSku(), row.product());
+        }
+        List<Product> inserted = new ArrayList<>();
+        while (resultSet.next()) {
+            Product product = bySku.get(resultSet.getString("sku"));
+            product.setVersion(resultSet.getLong("version"));
+            product.setCreatedAt(resultSet.getTimestamp("created_at").toInstant());
+            product.setUpdatedAt(resultSet.getTimestamp("updated_at").toInstant());
+            inserted.add(product);
+        }
+        return inserted;
+    }
+
+    /** Renders the chunk in COPY's CSV dialect, where an unquoted empty field is NULL. */
+    static String toCopyCsv(List<StagedRow> chunk) {
+        StringBuilder csv = new StringBuilder(chunk.size() * 128);
+        for (StagedRow row : chunk) {
+            Product p = row.product();
+            csv.append(row.rowNumber()).append(',');
+            csv.append(p.getId()).append(',');
+            appendText(csv, p.getSku()).append(',');
+            appendText(csv, p.getName()).append(',');
+            appendText(csv, p.getDescription()).append(',');
+            appendNumber(csv, p.getPrice()).append(',');
+            appendText(csv, p.getCategory() != null ? p.getCategory().getDisplayName() : null)
+                    .append(',');
+            csv.append(p.getStockQuantity()).append(',');
+            appendNumber(csv, p.getMinStockLevel()).append(',');
+            appendText(csv, p.getImageUrl()).append(',');
+            appendNumber(csv, p.getWeight()).append(',');
+            appendText(csv, p.getDimensions()).append(',');
+            csv.append(p.getActive()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder appendText(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
+
+    private static StringBuilder appendNumber(StringBuilder csv, Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return csv.append(decimal.toPlainString());
+        }
+        return value != null ? csv.append(value) : csv;
+    }
+
+    /** Running totals plus the first rejected rows, capped so a bad upload cannot exhaust heap. */
+    private static final class ImportReport {
+        private final int maxErrors;
+        private final List<ProductImportResponse.RowError> errors = new ArrayList<>();
+        private long total;
+        private long imported;
+        private long failed;
+
+        ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(long rowNumber, String sku, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportResponse.RowError(rowNumber, sku, message));
+            }
+        }
+
+        ProductImportResponse toResponse() {
+            return new ProductImportResponse(
+                    total, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Transactional outbox for audit entries. Business transactions insert their audit entries
+-- here on their own connection, so an entry commits or rolls back with the change it
+-- describes. A background relay moves committed rows into the partitioned audit_logs table
+-- in batches. The table is expected to stay small; UUIDv7 ids give FIFO order.
+CREATE TABLE audit_outbox (
+    id uuid PRIMARY KEY,
+    entity_type VARCHAR(255) NOT NULL,
+    entity_id VARCHAR(255) NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    username VARCHAR(255),
+    old_values TEXT,
+    new_values TEXT,
+    changes TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
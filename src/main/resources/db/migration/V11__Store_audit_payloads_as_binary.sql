@@ -0,0 +1,19 @@
+-- Audit payloads are stored as tagged binary (see AuditPayloadFormat): Smile encoding,
+-- LZ4-compressed when that saves space. Existing JSON text is kept as-is behind the JSON
+-- tag (0x00), so old rows decode without being re-encoded.
+ALTER TABLE audit_logs
+    ALTER COLUMN old_values TYPE bytea USING '\x00'::bytea || convert_to(old_values, 'UTF8'),
+    ALTER COLUMN new_values TYPE bytea USING '\x00'::bytea || convert_to(new_values, 'UTF8'),
+    ALTER COLUMN changes TYPE bytea USING '\x00'::bytea || convert_to(changes, 'UTF8');
+
+ALTER TABLE audit_outbox
+    ALTER COLUMN old_values TYPE bytea USING '\x00'::bytea || convert_to(old_values, 'UTF8'),
+    ALTER COLUMN new_values TYPE bytea USING '\x00'::bytea || convert_to(new_values, 'UTF8'),
+    ALTER COLUMN changes TYPE bytea USING '\x00'::bytea || convert_to(changes, 'UTF8');
+
+-- Payloads are already compressed, so TOAST should move large ones out of line without
+-- spending time on a second pglz pass
+ALTER TABLE audit_logs
+    ALTER COLUMN old_values SET STORAGE EXTERNAL,
+    ALTER COLUMN new_values SET STORAGE EXTERNAL,
+    ALTER COLUMN changes SET STORAGE EXTERNAL;
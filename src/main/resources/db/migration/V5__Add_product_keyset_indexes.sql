@@ -0,0 +1,8 @@
+-- Composite indexes backing keyset (cursor) pagination on GET /api/v1/products.
+-- Each index covers (sort key, id) so the seek predicate and the id tie-breaker are
+-- answered by a single index range scan; soft-deleted rows are never listed.
+CREATE INDEX idx_products_created_at_id ON products(created_at, id) WHERE deleted = false;
+CREATE INDEX idx_products_updated_at_id ON products(updated_at, id) WHERE deleted = false;
+CREATE INDEX idx_products_name_id ON products(name, id) WHERE deleted = false;
+CREATE INDEX idx_products_price_id ON products(price, id) WHERE deleted = false;
+CREATE INDEX idx_products_stock_quantity_id ON products(stock_quantity, id) WHERE deleted = false;
@@ -0,0 +1,7 @@
+-- Trigram index for substring and fuzzy product name search.
+-- A B-tree on name (idx_products_name) cannot serve '%term%' patterns, so every name
+-- filter was a sequential scan. gin_trgm_ops answers ILIKE '%term%' and the word
+-- similarity operator (<%) directly from the index.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_products_name_trgm ON products USING gin (name gin_trgm_ops) WHERE deleted = false;
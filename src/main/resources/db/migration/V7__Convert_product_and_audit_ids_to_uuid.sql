@@ -0,0 +1,6 @@
+-- Store product and audit log primary keys as native uuid (16 bytes) instead of
+-- VARCHAR(36). New keys are time-ordered UUIDv7 values generated by the application,
+-- so inserts append to the right-hand side of the primary key and dependent indexes.
+-- Existing keys are valid UUID strings and convert in place; indexes are rebuilt.
+ALTER TABLE products ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE audit_logs ALTER COLUMN id TYPE uuid USING id::uuid;
@@ -0,0 +1,12 @@
+-- A comparison between two columns cannot use an index, so the low-stock listing and its
+-- count used to scan every product. The generated column is maintained by PostgreSQL on
+-- every insert and update (including single-statement stock adjustments), and the partial
+-- index holds only live low-stock rows, so lookups scale with the low-stock set rather than
+-- the catalog. COALESCE keeps rows without a minimum stock level out, as before.
+ALTER TABLE products
+    ADD COLUMN low_stock BOOLEAN NOT NULL
+    GENERATED ALWAYS AS (COALESCE(stock_quantity <= min_stock_level, false)) STORED;
+
+-- Keyed on (stock_quantity, id) to also serve the endpoint's default sort order
+CREATE INDEX idx_products_low_stock ON products(stock_quantity, id)
+    WHERE low_stock AND deleted = false;
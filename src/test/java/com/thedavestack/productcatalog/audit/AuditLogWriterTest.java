@@ -0,0 +1,117 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @TempDir private Path spillDirectory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void write_shouldFlushFullBatchesAndRemainderAfterInterval() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            synchronized (batchSizes) {
+                                batchSizes.add(invocation.<Collection<?>>getArgument(1).size());
+                            }
+                            return new int[0][];
+                        });
+        AuditLogWriter writer = writer(64, AuditBackpressurePolicy.BLOCK);
+        writer.start();
+
+        for (int i = 0; i < 23; i++) {
+            writer.write(entry(i));
+        }
+
+        verify(jdbcTemplate, timeout(2000).times(3))
+                .batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        writer.stop();
+        assertThat(batchSizes).containsExactly(10, 10, 3);
+        assertThat(meterRegistry.counter("audit.writer.written").count()).isEqualTo(23);
+        assertThat(meterRegistry.get("audit.writer.flush").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void write_shouldCountDroppedEntries_whenBufferIsFull() {
+        AuditLogWriter writer = writer(4, AuditBackpressurePolicy.DROP);
+        // Mark running without a writer thread so nothing drains the buffer
+        ReflectionTestUtils.setField(writer, "running", true);
+
+        for (int i = 0; i < 6; i++) {
+            writer.write(entry(i));
+        }
+
+        assertThat(meterRegistry.counter("audit.writer.dropped").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("audit.writer.queue.depth").gauge().value()).isEqualTo(4);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void write_shouldSpillEntries_whenBufferIsFull() throws Exception {
+        AuditLogWriter writer = writer(2, AuditBackpressurePolicy.SPILL);
+        ReflectionTestUtils.setField(writer, "running", true);
+
+        for (int i = 0; i < 5; i++) {
+            writer.write(entry(i));
+        }
+
+        assertThat(meterRegistry.counter("audit.writer.spilled").count()).isEqualTo(3);
+        assertThat(Files.readAllLines(spillDirectory.resolve("audit-spill.ndjson"))).hasSize(3);
+    }
+
+    private AuditLogWriter writer(int bufferSize, AuditBackpressurePolicy policy) {
+        return new AuditLogWriter(
+                jdbcTemplate,
+                new ObjectMapper().findAndRegisterModules(),
+                new AuditPayloadCodec(AuditPayloadFormat.SMILE_LZ4),
+                meterRegistry,
+                bufferSize,
+                10,
+                Duration.ofMillis(50),
+                policy,
+                spillDirectory);
+    }
+
+    private static AuditLog entry(int i) {
+        return AuditLog.builder()
+                .entityType("Product")
+                .entityId("product-" + i)
+                .action(AuditLog.AuditAction.UPDATE)
+                .username("admin")
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.thedavestack.productcatalog.model.AuditLog;
+
+@ExtendWith(MockitoExtension.class)
+class AuditOutboxTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private AuditOutboxRelay relay;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void enqueue_shouldRefuseEntriesOutsideATransaction() {
+        AuditOutbox outbox =
+                new AuditOutbox(
+                        jdbcTemplate, relay, new AuditPayloadCodec(AuditPayloadFormat.SMILE_LZ4));
+
+        assertThat(outbox.enqueue(entry("1"))).isFalse();
+        verifyNoInteractions(jdbcTemplate, relay);
+    }
+
+    @Test
+    void enqueue_shouldWriteEntriesInOneBatchBeforeCommit() {
+        AuditOutbox outbox =
+                new AuditOutbox(
+                        jdbcTemplate, relay, new AuditPayloadCodec(AuditPayloadFormat.SMILE_LZ4));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        AuditLog first = entry("1");
+        AuditLog second = entry("2");
+        assertThat(outbox.enqueue(first)).isTrue();
+        assertThat(outbox.enqueue(second)).isTrue();
+
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+
+        synchronizations.get(0).beforeCommit(false);
+        synchronizations.get(0).afterCommit();
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(jdbcTemplate)
+                .batchUpdate(
+                        startsWith("INSERT INTO audit_outbox"),
+                        eq(List.of(first, second)),
+                        eq(2),
+                        ArgumentMatchers.<ParameterizedPreparedStatementSetter<AuditLog>>any());
+        verify(relay).signal();
+        assertThat(first.getId()).isNotNull();
+        assertThat(first.getCreatedAt()).isNotNull();
+        assertThat(TransactionSynchronizationManager.getResource(outbox)).isNull();
+    }
+
+    @Test
+    void enqueue_shouldDiscardEntriesWhenTheTransactionRollsBack() {
+        AuditOutbox outbox =
+                new AuditOutbox(
+                        jdbcTemplate, relay, new AuditPayloadCodec(AuditPayloadFormat.SMILE_LZ4));
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        outbox.enqueue(entry("1"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .get(0)
+                .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(jdbcTemplate, relay);
+    }
+
+    private static AuditLog entry(String entityId) {
+        return AuditLog.builder()
+                .entityType("Product")
+                .entityId(entityId)
+                .action(AuditLog.AuditAction.CREATE)
+                .username("admin")
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class AuditPartitionMaintenanceTest {
+
+    private static final Clock CLOCK =
+            Clock.fixed(Instant.parse("2025-03-17T10:00:00Z"), ZoneOffset.UTC);
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private AuditArchive archive;
+
+    @Test
+    void maintain_shouldCreateAheadAndDropPartitionsBeforeRetentionCutoff() {
+        AuditPartitionMaintenance maintenance =
+                new AuditPartitionMaintenance(jdbcTemplate, archive, CLOCK, 3, 6, 3);
+        OffsetDateTime cutoff = OffsetDateTime.parse("2024-09-01T00:00Z");
+
+        maintenance.maintain();
+
+        verify(jdbcTemplate)
+                .queryForObject(
+                        "SELECT audit_logs_create_partitions(?, ?)",
+                        Integer.class,
+                        LocalDate.of(2025, 3, 17),
+                        LocalDate.of(2025, 6, 17));
+        verify(jdbcTemplate)
+                .queryForObject(
+                        "SELECT audit_logs_drop_partitions_before(?)", Integer.class, cutoff);
+        assertThat(maintenance.oldestInDatabase()).isEqualTo(cutoff.toInstant());
+    }
+
+    @Test
+    void maintain_shouldKeepEverythingWhenRetentionIsDisabled() {
+        AuditPartitionMaintenance maintenance =
+                new AuditPartitionMaintenance(jdbcTemplate, archive, CLOCK, 3, 0, 3);
+
+        maintenance.maintain();
+
+        verify(jdbcTemplate, never())
+                .queryForObject(
+                        eq("SELECT audit_logs_drop_partitions_before(?)"),
+                        eq(Integer.class),
+                        any());
+        assertThat(maintenance.oldestInDatabase()).isEqualTo(Instant.EPOCH);
+    }
+
+    @Test
+    void maintain_shouldArchiveColdPartitionsBeforeDroppingThem() {
+        AuditPartitionMaintenance maintenance =
+                new AuditPartitionMaintenance(jdbcTemplate, archive, CLOCK, 3, 84, 3);
+        when(archive.isEnabled()).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_logs_p202412")))
+                .thenReturn(List.of("audit_logs_p202410", "audit_logs_p202411"));
+
+        maintenance.maintain();
+
+        InOrder order = inOrder(archive, jdbcTemplate);
+        order.verify(archive).archivePartition("audit_logs_p202410");
+        order.verify(jdbcTemplate)
+                .queryForObject(
+                        "SELECT audit_logs_drop_partitions_before(?)",
+                        Integer.class,
+                        OffsetDateTime.parse("2024-11-01T00:00Z"));
+        order.verify(archive).archivePartition("audit_logs_p202411");
+        order.verify(jdbcTemplate)
+                .queryForObject(
+                        "SELECT audit_logs_drop_partitions_before(?)",
+                        Integer.class,
+                        OffsetDateTime.parse("2024-12-01T00:00Z"));
+        verify(archive).deleteBefore("audit_logs_p201803");
+        when(archive.newestArchivedPartition()).thenReturn(Optional.of("audit_logs_p202411"));
+        assertThat(maintenance.oldestInDatabase()).isEqualTo(Instant.parse("2024-12-01T00:00:00Z"));
+    }
+
+    @Test
+    void maintain_shouldKeepPartitionWhenArchivingFails() {
+        AuditPartitionMaintenance maintenance =
+                new AuditPartitionMaintenance(jdbcTemplate, archive, CLOCK, 3, 0, 3);
+        when(archive.isEnabled()).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_logs_p202412")))
+                .thenReturn(List.of("audit_logs_p202410"));
+        when(archive.archivePartition("audit_logs_p202410"))
+                .thenThrow(new UncheckedIOException(new IOException("disk full")));
+
+        maintenance.maintain();
+
+        verify(jdbcTemplate, never())
+                .queryForObject(
+                        eq("SELECT audit_logs_drop_partitions_before(?)"),
+                        eq(Integer.class),
+                        any());
+        verify(archive, never()).deleteBefore(anyString());
+        // The month that failed to archive is past the hot window but still read from audit_logs
+        when(archive.newestArchivedPartition()).thenReturn(Optional.of("audit_logs_p202409"));
+        assertThat(maintenance.oldestInDatabase()).isEqualTo(Instant.parse("2024-10-01T00:00:00Z"));
+    }
+
+    @Test
+    void oldestInDatabase_shouldCoverEverythingBeforeTheFirstArchiveRun() {
+        AuditPartitionMaintenance maintenance =
+                new AuditPartitionMaintenance(jdbcTemplate, archive, CLOCK, 3, 0, 3);
+        when(archive.isEnabled()).thenReturn(true);
+        when(archive.newestArchivedPartition()).thenReturn(Optional.empty());
+
+        assertThat(maintenance.oldestInDatabase()).isEqualTo(Instant.EPOCH);
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * AuditPayloadCodecBenchmark.java
+ *
+ * <p>Purpose: - Measures the cost of encoding audit payloads on the writer thread against the bytes
+ * each format saves.
+ *
+ * <p>Logic Overview: - Encodes a full product snapshot and a single-field JSON Patch in every
+ * {@link AuditPayloadFormat}. - Prints the encoded size of each before the timings. - Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thedavestack.productcatalog.audit.AuditPayloadCodecBenchmark}.
+ */
+package com.thedavestack.productcatalog.audit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditPayloadCodecBenchmark {
+
+    @Param({"JSON", "SMILE", "SMILE_LZ4"})
+    public AuditPayloadFormat format;
+
+    private AuditPayloadCodec codec;
+
+    @Setup
+    public void setUp() {
+        codec = new AuditPayloadCodec(format);
+    }
+
+    @Benchmark
+    public byte[] encodeSnapshot() {
+        return codec.encode(AuditPayloadCodecTest.SNAPSHOT);
+    }
+
+    @Benchmark
+    public byte[] encodePatch() {
+        return codec.encode(AuditPayloadCodecTest.PATCH);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (AuditPayloadFormat format : AuditPayloadFormat.values()) {
+            AuditPayloadCodec codec = new AuditPayloadCodec(format);
+            System.out.printf(
+                    "%-9s snapshot %5d bytes, patch %4d bytes%n",
+                    format,
+                    codec.encode(AuditPayloadCodecTest.SNAPSHOT).length,
+                    codec.encode(AuditPayloadCodecTest.PATCH).length);
+        }
+        new Runner(
+                        new OptionsBuilder()
+                                .include(AuditPayloadCodecBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class AuditPayloadCodecTest {
+
+    static final String SNAPSHOT =
+            "{\"id\":\"0198a2c4-7e5b-7c10-8a1e-3f4b5c6d7e8f\",\"sku\":\"LAMP-001\","
+                    + "\"name\":\"Desk Lamp\",\"description\":\""
+                    + "Adjustable LED desk lamp with a weighted base and a flexible neck. "
+                            .repeat(8)
+                    + "\",\"price\":19.99,\"category\":\"Home & Garden\",\"stockQuantity\":40,"
+                    + "\"minStockLevel\":5,\"active\":true,\"deleted\":false,\"version\":10}";
+
+    static final String PATCH = "[{\"op\":\"replace\",\"path\":\"/price\",\"value\":24.99}]";
+
+    @ParameterizedTest
+    @EnumSource(AuditPayloadFormat.class)
+    void decode_shouldReturnTheEncodedJson(AuditPayloadFormat format) {
+        AuditPayloadCodec codec = new AuditPayloadCodec(format);
+
+        assertThat(codec.decode(codec.encode(SNAPSHOT))).isEqualTo(SNAPSHOT);
+        assertThat(codec.decode(codec.encode(PATCH))).isEqualTo(PATCH);
+        assertThat(codec.encode(null)).isNull();
+        assertThat(codec.decode(null)).isNull();
+    }
+
+    @Test
+    void encode_shouldCompressLargePayloadsAndSkipCompressionForSmallOnes() {
+        AuditPayloadCodec codec = new AuditPayloadCodec(AuditPayloadFormat.SMILE_LZ4);
+
+        byte[] snapshot = codec.encode(SNAPSHOT);
+        byte[] patch = codec.encode(PATCH);
+
+        assertThat(snapshot[0]).isEqualTo(AuditPayloadFormat.SMILE_LZ4.tag());
+        assertThat(snapshot.length * 2).isLessThan(SNAPSHOT.length());
+        assertThat(patch[0]).isEqualTo(AuditPayloadFormat.SMILE.tag());
+    }
+
+    @Test
+    void decode_shouldReadRowsMigratedFromText() {
+        byte[] migrated = ("\0" + SNAPSHOT).getBytes(StandardCharsets.UTF_8);
+
+        assertThat(new AuditPayloadCodec(AuditPayloadFormat.SMILE_LZ4).decode(migrated))
+                .isEqualTo(SNAPSHOT);
+    }
+}
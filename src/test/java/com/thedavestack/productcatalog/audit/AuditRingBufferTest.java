@@ -0,0 +1,75 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Test;
+
+class AuditRingBufferTest {
+
+    @Test
+    void offer_shouldRejectWhenFullAndAcceptAgainAfterDrain() {
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(drained).containsExactly(0, 1, 2);
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void capacity_shouldRoundUpToPowerOfTwo() {
+        assertThat(new AuditRingBuffer<>(1000).capacity()).isEqualTo(1024);
+        assertThat(new AuditRingBuffer<>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void drainTo_shouldDeliverEveryElementOnce_withConcurrentProducers() throws Exception {
+        int producers = 4;
+        int perProducer = 5_000;
+        AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(256);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.execute(
+                    () -> {
+                        for (int i = 0; i < perProducer; i++) {
+                            while (!buffer.offer(base + i)) {
+                                Thread.onSpinWait();
+                            }
+                        }
+                        done.countDown();
+                    });
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            batch.clear();
+            received += buffer.drainTo(batch, 64);
+            seen.addAll(batch);
+            if (batch.isEmpty()) {
+                Thread.yield();
+            }
+        }
+        done.await();
+        executor.shutdown();
+
+        assertThat(seen).hasSize(producers * perProducer);
+        assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,114 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditSegmentTest {
+
+    private static final Instant BASE = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir Path directory;
+
+    @Test
+    void find_shouldReturnEntriesOfOneEntityAcrossBlocks() throws IOException {
+        Path file = directory.resolve("audit_logs_p202401.0.seg");
+        List<AuditSegment.Entry> written = writeSegment(file, 20, 30);
+
+        try (AuditSegment segment = AuditSegment.open(file)) {
+            List<AuditSegment.Entry> found = segment.find("entity-07", Long.MAX_VALUE, null);
+
+            assertThat(found).hasSize(30);
+            assertThat(found).allMatch(entry -> entry.entityId().equals("entity-07"));
+            assertThat(found.get(0).createdAt()).isEqualTo(BASE.plusSeconds(29));
+            assertThat(found.get(29).createdAt()).isEqualTo(BASE);
+            AuditSegment.Entry expected =
+                    written.stream()
+                            .filter(entry -> entry.id().equals(found.get(0).id()))
+                            .findFirst()
+                            .orElseThrow();
+            assertThat(found.get(0).newValues()).isEqualTo(expected.newValues());
+            assertThat(found.get(0).oldValues()).isNull();
+            assertThat(segment.find("entity-99", Long.MAX_VALUE, null)).isEmpty();
+            assertThat(segment.find("entity-00", Long.MAX_VALUE, null)).hasSize(30);
+            assertThat(segment.find("entity-19", Long.MAX_VALUE, null)).hasSize(30);
+        }
+    }
+
+    @Test
+    void find_shouldOnlyReturnEntriesBeforeTheCursorPosition() throws IOException {
+        Path file = directory.resolve("audit_logs_p202401.0.seg");
+        writeSegment(file, 3, 10);
+
+        try (AuditSegment segment = AuditSegment.open(file)) {
+            List<AuditSegment.Entry> all = segment.find("entity-01", Long.MAX_VALUE, null);
+            AuditSegment.Entry last = all.get(3);
+
+            List<AuditSegment.Entry> next =
+                    segment.find("entity-01", last.createdAtMicros(), last.id());
+
+            assertThat(next)
+                    .extracting(AuditSegment.Entry::id)
+                    .containsExactlyElementsOf(
+                            all.subList(4, all.size()).stream()
+                                    .map(AuditSegment.Entry::id)
+                                    .toList());
+        }
+    }
+
+    @Test
+    void open_shouldRejectIncompleteSegments() throws IOException {
+        Path file = directory.resolve("audit_logs_p202401.0.seg");
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(file, 256)) {
+            writer.append(entry("entity-01", 0));
+            // Closed without finishing, as when archiving is interrupted
+        }
+        assertThat(file).doesNotExist();
+        assertThat(directory.resolve("audit_logs_p202401.0.seg.tmp")).doesNotExist();
+
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertThatThrownBy(() -> AuditSegment.open(file)).isInstanceOf(IOException.class);
+    }
+
+    /** Writes entities in ID order, each with its entries newest first, into small blocks. */
+    private static List<AuditSegment.Entry> writeSegment(Path file, int entities, int perEntity)
+            throws IOException {
+        List<AuditSegment.Entry> written = new ArrayList<>();
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(file, 512)) {
+            for (int e = 0; e < entities; e++) {
+                for (int n = perEntity - 1; n >= 0; n--) {
+                    AuditSegment.Entry entry = entry("entity-%02d".formatted(e), n);
+                    writer.append(entry);
+                    written.add(entry);
+                }
+            }
+            writer.finish();
+            assertThat(writer.entries()).isEqualTo((long) entities * perEntity);
+        }
+        return written;
+    }
+
+    private static AuditSegment.Entry entry(String entityId, int second) {
+        return new AuditSegment.Entry(
+                UUID.randomUUID(),
+                "Product",
+                entityId,
+                "UPDATE",
+                "admin",
+                null,
+                ("{\"n\":" + second + "}").getBytes(StandardCharsets.UTF_8),
+                null,
+                AuditSegment.Entry.toMicros(BASE.plusSeconds(second)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.thedavestack.productcatalog.model.AuditLog;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditTailTest {
+
+    private final AuditTail tail =
+            new AuditTail(new SimpleMeterRegistry(), 2, Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        tail.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_shouldDeliverMatchingEntriesOnly() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(null);
+        tail.register(entry -> "Product".equals(entry.getEntityType()), sink);
+
+        tail.publish(entry("Category", "c1"));
+        tail.publish(entry("Product", "p1"));
+
+        AuditLog received = sink.sent.poll(5, TimeUnit.SECONDS);
+        assertThat(received.getEntityId()).isEqualTo("p1");
+        assertThat(sink.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    void publish_shouldWaitForTheTransactionToCommit() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(null);
+        tail.register(entry -> true, sink);
+        TransactionSynchronizationManager.initSynchronization();
+
+        tail.publish(entry("Product", "p1"));
+        assertThat(sink.sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(sink.sent.poll(5, TimeUnit.SECONDS).getEntityId()).isEqualTo("p1");
+    }
+
+    @Test
+    void publish_shouldDisconnectSlowSubscribersWithoutBlocking() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        tail.register(entry -> true, slow);
+
+        // One entry is being sent and blocks; two fill the buffer; the next one overflows
+        for (int i = 0; i < 10; i++) {
+            tail.publish(entry("Product", "p" + i));
+        }
+        release.countDown();
+
+        assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(slow.overflow).isTrue();
+        assertThat(tail.subscriberCount()).isZero();
+    }
+
+    private static AuditLog entry(String entityType, String entityId) {
+        return AuditLog.builder()
+                .id(entityId)
+                .entityType(entityType)
+                .entityId(entityId)
+                .action(AuditLog.AuditAction.UPDATE)
+                .build();
+    }
+
+    private static final class RecordingSink implements AuditTail.Sink {
+
+        private final BlockingQueue<AuditLog> sent = new LinkedBlockingQueue<>();
+        private final CountDownLatch release;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean overflow;
+
+        private RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(AuditLog entry) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException("interrupted", e);
+                }
+            }
+            sent.add(entry);
+        }
+
+        @Override
+        public void heartbeat() {}
+
+        @Override
+        public void close(boolean overflow) {
+            this.overflow = overflow;
+            closed.countDown();
+        }
+    }
+}
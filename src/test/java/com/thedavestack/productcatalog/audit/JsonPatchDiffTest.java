@@ -0,0 +1,46 @@
+package com.thedavestack.productcatalog.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class JsonPatchDiffTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void diff_shouldEmitOnlyChangedFields() throws Exception {
+        JsonNode before =
+                objectMapper.readTree(
+                        "{\"name\":\"Lamp\",\"price\":10.0,\"a/b\":1,\"gone\":true,\"version\":1}");
+        JsonNode after =
+                objectMapper.readTree(
+                        "{\"name\":\"Lamp\",\"price\":12.5,\"a/b\":1,\"added\":\"x\",\"version\":2}");
+
+        ArrayNode patch = JsonPatchDiff.diff(before, after, Set.of("version"));
+
+        assertThat(patch.toString())
+                .isEqualTo(
+                        "[{\"op\":\"replace\",\"path\":\"/price\",\"value\":12.5},"
+                                + "{\"op\":\"add\",\"path\":\"/added\",\"value\":\"x\"},"
+                                + "{\"op\":\"remove\",\"path\":\"/gone\"}]");
+    }
+
+    @Test
+    void apply_shouldReproduceTheLaterSnapshot() throws Exception {
+        ObjectNode before =
+                (ObjectNode) objectMapper.readTree("{\"name\":\"Lamp\",\"x~y\":1,\"gone\":true}");
+        JsonNode after = objectMapper.readTree("{\"name\":\"Desk\",\"x~y\":2,\"added\":null}");
+
+        JsonPatchDiff.apply(before, JsonPatchDiff.diff(before, after, Set.of()));
+
+        assertThat(before).isEqualTo(after);
+    }
+}
@@ -0,0 +1,91 @@
+package com.thedavestack.productcatalog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock private DataSource pool;
+    @Mock private Connection connection;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void getConnection_shouldWaitForAPermitUntilTheTimeout() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = limiter(1, 10);
+
+        Connection first = dataSource.getConnection();
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Timed out");
+
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        assertThat(second).isNotNull();
+        assertThat(meterRegistry.counter("db.connections.limiter.rejected").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.connections.limiter.available").gauge().value()).isZero();
+    }
+
+    @Test
+    void getConnection_shouldRejectImmediatelyWhenTooManyThreadsWait() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = limiter(1, 0);
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Too many threads waiting");
+    }
+
+    @Test
+    void getConnection_shouldReturnThePermitWhenThePoolFails() throws SQLException {
+        when(pool.getConnection())
+                .thenThrow(new SQLTransientConnectionException("pool exhausted"))
+                .thenReturn(connection);
+        ConnectionLimitingDataSource dataSource = limiter(1, 10);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+        Connection connection = dataSource.getConnection();
+
+        connection.getAutoCommit();
+        verify(this.connection).getAutoCommit();
+    }
+
+    @Test
+    void close_shouldCloseThePool() throws Exception {
+        DataSource closeablePool =
+                mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+
+        new ConnectionLimitingDataSource(closeablePool, 1, Duration.ofMillis(50), 0, meterRegistry)
+                .close();
+
+        verify((AutoCloseable) closeablePool).close();
+    }
+
+    private ConnectionLimitingDataSource limiter(int maxConnections, int maxWaiting) {
+        return new ConnectionLimitingDataSource(
+                pool, maxConnections, Duration.ofMillis(50), maxWaiting, meterRegistry);
+    }
+}
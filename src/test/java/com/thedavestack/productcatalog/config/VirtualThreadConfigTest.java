@@ -0,0 +1,66 @@
+package com.thedavestack.productcatalog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VirtualThreadConfigTest {
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withConfiguration(
+                            AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+                    .withInitializer(
+                            context ->
+                                    context.getBeanFactory()
+                                            .setConversionService(
+                                                    ApplicationConversionService
+                                                            .getSharedInstance()))
+                    .withPropertyValues("spring.threads.virtual.enabled=true")
+                    .withUserConfiguration(PoolConfig.class, VirtualThreadConfig.class);
+
+    @Test
+    void closingTheContext_shouldCloseTheWrappedPool() {
+        HikariDataSource[] pool = new HikariDataSource[1];
+
+        contextRunner.run(
+                context -> {
+                    assertThat(context.getBean(DataSource.class))
+                            .isInstanceOf(ConnectionLimitingDataSource.class);
+                    pool[0] = context.getBean(PoolConfig.class).pool;
+                    assertThat(pool[0].isClosed()).isFalse();
+                });
+
+        assertThat(pool[0].isClosed()).isTrue();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class PoolConfig {
+
+        /** Never started, since nothing asks it for a connection. */
+        final HikariDataSource pool = new HikariDataSource();
+
+        @Bean
+        DataSource dataSource() {
+            return pool;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
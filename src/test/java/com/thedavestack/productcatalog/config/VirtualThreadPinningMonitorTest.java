@@ -0,0 +1,75 @@
+package com.thedavestack.productcatalog.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void record_shouldTagTheApplicationFrameBelowJdkInternalParking(@TempDir Path dir)
+            throws Exception {
+        List<RecordedEvent> events = recordPin(dir);
+        assertThat(events).isNotEmpty();
+        // The wait parks through jdk.internal.misc.VirtualThreads, under the java.* frames
+        assertThat(events.get(0).getStackTrace().getFrames())
+                .anyMatch(frame -> frame.getMethod().getType().getName().startsWith("jdk."));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        new VirtualThreadPinningMonitor(meterRegistry, Duration.ZERO).record(events.get(0));
+
+        Timer timer = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+        assertThat(timer.getId().getTag("frame"))
+                .isEqualTo(VirtualThreadPinningMonitorTest.class.getName() + ".waitWhileHolding");
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    /** Records a virtual thread that waits on a latch while holding a monitor. */
+    private List<RecordedEvent> recordPin(Path dir) throws Exception {
+        Path file = dir.resolve("pinned.jfr");
+        try (Recording recording = new Recording()) {
+            recording
+                    .enable(VirtualThreadPinningMonitor.EVENT)
+                    .withThreshold(Duration.ZERO)
+                    .withStackTrace();
+            recording.start();
+            Thread.ofVirtual().start(this::waitWhileHolding).join();
+            recording.stop();
+            recording.dump(file);
+        }
+        assertThat(Files.exists(file)).isTrue();
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(
+                        event ->
+                                event.getEventType()
+                                        .getName()
+                                        .equals(VirtualThreadPinningMonitor.EVENT))
+                .toList();
+    }
+
+    private void waitWhileHolding() {
+        synchronized (lock) {
+            try {
+                new CountDownLatch(1).await(20, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.not;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -427,4 +428,57 @@ public class ProductControllerE2ETest extends BaseE2ETest {
         logApiResponse("DELETE", "/api/v1/products/" + nonExistentId, 404, errorResponse);
         logger.info("404 error handling working correctly for deleting non-existent product.");
     }
+
+    @Test
+    @DisplayName("Should find products by name substring and by misspelled word")
+    void shouldSearchProductsBySubstringAndSimilarWord() {
+        logger.info("=== Test: Search Products ===");
+
+        given().contentType(ContentType.JSON)
+                .header("Authorization", adminToken)
+                .body(
+                        "{ \"name\": \"Ergonomic Office Chair\", \"price\": 249.00,"
+                                + " \"sku\": \"SEARCH-001\" }")
+                .when()
+                .post("/api/v1/products")
+                .then()
+                .statusCode(201);
+
+        // Substring match (ILIKE branch)
+        logApiCall("GET", "/api/v1/products/search?q=office", 200);
+        given().header("Authorization", userToken)
+                .queryParam("q", "office")
+                .when()
+                .get("/api/v1/products/search")
+                .then()
+                .statusCode(200)
+                .body("content.sku", hasItem("SEARCH-001"));
+
+        // Misspelled word, no substring match (trigram branch)
+        logApiCall("GET", "/api/v1/products/search?q=ergonmic", 200);
+        given().header("Authorization", userToken)
+                .queryParam("q", "ergonmic")
+                .when()
+                .get("/api/v1/products/search")
+                .then()
+                .statusCode(200)
+                .body("content.sku", hasItem("SEARCH-001"));
+        logger.info("Search matched by substring and by similar word.");
+    }
+
+    @Test
+    @DisplayName("Should return 400 for search terms shorter than 3 characters")
+    void shouldRejectShortSearchTerms() {
+        logger.info("=== Test: Search With Short Term ===");
+
+        logApiCall("GET", "/api/v1/products/search?q=ab", 400);
+        given().header("Authorization", userToken)
+                .queryParam("q", " ab ")
+                .when()
+                .get("/api/v1/products/search")
+                .then()
+                .statusCode(400)
+                .body("errorCode", equalTo("INVALID_SEARCH_QUERY"));
+        logger.info("Short search term rejected.");
+    }
 }
@@ -0,0 +1,40 @@
+package com.thedavestack.productcatalog.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import com.thedavestack.productcatalog.exception.InvalidCursorException;
+import com.thedavestack.productcatalog.model.AuditLog;
+
+class AuditLogCursorTest {
+
+    @Test
+    void encodeDecode_shouldRoundTripPosition() {
+        AuditLog last =
+                AuditLog.builder()
+                        .id("0198a2c4-7e5b-7c10-8a1e-3f4b5c6d7e8f")
+                        .createdAt(Instant.parse("2025-08-01T10:15:30.123456Z"))
+                        .build();
+
+        AuditLogCursor cursor = AuditLogCursor.after(last);
+        AuditLogCursor decoded = AuditLogCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.isFirst()).isFalse();
+    }
+
+    @Test
+    void decode_shouldTreatMissingTokenAsFirstPage() {
+        assertThat(AuditLogCursor.decode(null).isFirst()).isTrue();
+        assertThat(AuditLogCursor.decode(" ").isFirst()).isTrue();
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokens() {
+        assertThrows(InvalidCursorException.class, () -> AuditLogCursor.decode("not-a-cursor"));
+    }
+}
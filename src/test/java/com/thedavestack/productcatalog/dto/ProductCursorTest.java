@@ -0,0 +1,64 @@
+package com.thedavestack.productcatalog.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.thedavestack.productcatalog.exception.InvalidCursorException;
+import com.thedavestack.productcatalog.model.Product;
+
+class ProductCursorTest {
+
+    @Test
+    void encodeDecode_shouldRoundTripPositionAndSort() {
+        Product last = new Product();
+        last.setId("b3f1c2de-0000-0000-0000-000000000001");
+        last.setCreatedAt(Instant.parse("2025-08-01T10:15:30.123456Z"));
+
+        ProductCursor cursor = ProductCursor.first("createdAt", Sort.Direction.DESC).after(last);
+        ProductCursor decoded = ProductCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.isFirst()).isFalse();
+        assertThat(decoded.typedValue()).isEqualTo(last.getCreatedAt());
+    }
+
+    @Test
+    void typedValue_shouldKeepSeparatorInsideStringKeys() {
+        Product last = new Product();
+        last.setId("0198a2c4-7e5b-7c10-8a1e-3f4b5c6d7e8f");
+        last.setName("Cable: USB-C");
+
+        ProductCursor cursor = ProductCursor.first("name", Sort.Direction.ASC).after(last);
+
+        assertThat(ProductCursor.decode(cursor.encode()).typedValue()).isEqualTo("Cable: USB-C");
+    }
+
+    @Test
+    void typedValue_shouldParseNumericKeys() {
+        Product last = new Product();
+        last.setId("0198a2c4-7e5b-7c10-8a1e-3f4b5c6d7e8f");
+        last.setPrice(new BigDecimal("19.99"));
+
+        ProductCursor cursor = ProductCursor.first("price", Sort.Direction.ASC).after(last);
+
+        assertThat(cursor.typedValue()).isEqualTo(new BigDecimal("19.99"));
+    }
+
+    @Test
+    void decode_shouldRejectMalformedTokens() {
+        assertThrows(InvalidCursorException.class, () -> ProductCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void first_shouldRejectUnindexedSortFields() {
+        assertThrows(
+                InvalidCursorException.class,
+                () -> ProductCursor.first("description", Sort.Direction.ASC));
+    }
+}
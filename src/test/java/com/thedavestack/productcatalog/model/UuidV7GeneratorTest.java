@@ -0,0 +1,42 @@
+package com.thedavestack.productcatalog.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_shouldProduceVersion7RfcVariantUuids() {
+        UUID uuid = UuidV7Generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void next_shouldEmbedCurrentUnixMillis() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+
+        // The counter may borrow up to a few milliseconds ahead under heavy load
+        assertThat(timestamp).isBetween(before, after + 5);
+    }
+
+    @Test
+    void next_shouldBeStrictlyIncreasingInStringOrder() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(UuidV7Generator.next().toString());
+        }
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,71 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyUsageTrackerTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    @Captor private ArgumentCaptor<List<Object[]>> batch;
+
+    @Test
+    void flush_shouldWriteEachUsedKeyOnceInOneBatch() {
+        ApiKeyUsageTracker tracker =
+                new ApiKeyUsageTracker(jdbcTemplate, new SimpleMeterRegistry());
+        for (int i = 0; i < 1000; i++) {
+            tracker.recordUse("key-" + (i % 3));
+        }
+
+        tracker.flush();
+        tracker.flush();
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getValue())
+                .extracting(row -> row[1])
+                .containsExactlyInAnyOrder("key-0", "key-1", "key-2");
+    }
+
+    @Test
+    void flush_shouldKeepUsesWhoseBatchFailed() {
+        ApiKeyUsageTracker tracker =
+                new ApiKeyUsageTracker(jdbcTemplate, new SimpleMeterRegistry());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[] {1});
+        tracker.recordUse("key-0");
+
+        tracker.flush();
+        tracker.flush();
+        tracker.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batch.capture());
+        assertThat(batch.getAllValues().get(1)).extracting(row -> row[1]).containsExactly("key-0");
+    }
+
+    @Test
+    void flush_shouldSkipTheDatabaseWhenNothingWasUsed() {
+        new ApiKeyUsageTracker(jdbcTemplate, new SimpleMeterRegistry()).flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
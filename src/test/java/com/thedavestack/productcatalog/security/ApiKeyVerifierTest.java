@@ -0,0 +1,124 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.thedavestack.productcatalog.model.ApiKey;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.repository.ApiKeyRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyVerifierTest {
+
+    private static final String KEY = "pc_abcd1234_c2VjcmV0LXBhcnQtb2YtdGhlLWtleQ";
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    @Mock private ApiKeyRepository apiKeyRepository;
+
+    private ApiKeyVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier =
+                new ApiKeyVerifier(
+                        apiKeyRepository,
+                        passwordEncoder,
+                        new SimpleMeterRegistry(),
+                        100,
+                        Duration.ofMinutes(1),
+                        Duration.ofSeconds(10));
+    }
+
+    @Test
+    void verify_shouldMatchTheHashOfACandidateSharingThePrefix() {
+        ApiKey other = apiKey("key-1", "pc_abcd1234_another-secret", null);
+        ApiKey match = apiKey("key-2", KEY, null);
+        when(apiKeyRepository.findByKeyPrefixAndEnabledTrue("abcd1234"))
+                .thenReturn(List.of(other, match));
+
+        ApiKeyVerifier.VerifiedApiKey verified = verifier.verify(KEY).orElseThrow();
+
+        assertThat(verified.keyId()).isEqualTo("key-2");
+        assertThat(verified.username()).isEqualTo("machine");
+        assertThat(verified.scopes()).containsExactly("READ");
+        // Served from the cache the second time
+        assertThat(verifier.verify(KEY)).contains(verified);
+        verify(apiKeyRepository, times(1)).findByKeyPrefixAndEnabledTrue("abcd1234");
+    }
+
+    @Test
+    void verify_shouldRejectMalformedWrongAndExpiredKeys() {
+        when(apiKeyRepository.findByKeyPrefixAndEnabledTrue("abcd1234"))
+                .thenReturn(List.of(apiKey("key-1", KEY, Instant.now().minusSeconds(1))));
+
+        assertThat(verifier.verify(KEY)).isEmpty();
+        assertThat(verifier.verify("pc_abcd1234_wrong-secret")).isEmpty();
+        assertThat(verifier.verify("not-a-key")).isEmpty();
+        assertThat(verifier.verify("pc_short_x")).isEmpty();
+    }
+
+    @Test
+    void verify_shouldCacheFailuresSoReplayedJunkKeysSkipTheQueryAndHash() {
+        when(apiKeyRepository.findByKeyPrefixAndEnabledTrue("abcd1234"))
+                .thenReturn(List.of(apiKey("key-1", KEY, null)));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(verifier.verify("pc_abcd1234_wrong-secret")).isEmpty();
+        }
+        verify(apiKeyRepository, times(1)).findByKeyPrefixAndEnabledTrue("abcd1234");
+
+        // The real key is unaffected
+        assertThat(verifier.verify(KEY)).isPresent();
+    }
+
+    @Test
+    void evictAfterCommit_shouldStopServingARevokedKeyFromTheCache() {
+        when(apiKeyRepository.findByKeyPrefixAndEnabledTrue("abcd1234"))
+                .thenReturn(List.of(apiKey("key-1", KEY, null)))
+                .thenReturn(List.of());
+        assertThat(verifier.verify(KEY)).isPresent();
+
+        verifier.evictAfterCommit("key-1");
+
+        assertThat(verifier.verify(KEY)).isEmpty();
+    }
+
+    @Test
+    void prefixOf_shouldOnlyAcceptTheKeyFormat() {
+        assertThat(ApiKeyVerifier.prefixOf(KEY)).isEqualTo("abcd1234");
+        assertThat(ApiKeyVerifier.prefixOf("pc_abcd1234_")).isNull();
+        assertThat(ApiKeyVerifier.prefixOf("xx_abcd1234_secret")).isNull();
+        verify(apiKeyRepository, never()).findByKeyPrefixAndEnabledTrue(any());
+    }
+
+    private ApiKey apiKey(String id, String key, Instant expiresAt) {
+        User owner = new User();
+        owner.setUsername("machine");
+        ApiKey apiKey = new ApiKey();
+        apiKey.setId(id);
+        apiKey.setUser(owner);
+        apiKey.setKeyPrefix(ApiKeyVerifier.prefixOf(key));
+        apiKey.setKeyHash(passwordEncoder.encode(key));
+        apiKey.setScopes(List.of("READ"));
+        apiKey.setExpiresAt(expiresAt);
+        return apiKey;
+    }
+}
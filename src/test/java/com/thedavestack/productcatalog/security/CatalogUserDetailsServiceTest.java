@@ -0,0 +1,104 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.thedavestack.productcatalog.model.Role;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogUserDetailsServiceTest {
+
+    @Mock private UserRepository userRepository;
+
+    private CatalogUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService =
+                new CatalogUserDetailsService(
+                        userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void loadUserByUsername_shouldResolveRoleAndPermissionsOnce() {
+        when(userRepository.findByUsername("alice"))
+                .thenReturn(Optional.of(user("alice", "MANAGER", "READ", "WRITE")));
+
+        CatalogUserDetails first = userDetailsService.loadUserByUsername("alice");
+        CatalogUserDetails second = userDetailsService.loadUserByUsername("alice");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getRole()).isEqualTo("MANAGER");
+        assertThat(first.getPermissions()).containsExactlyInAnyOrder("READ", "WRITE");
+        assertThat(first.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_MANAGER", "READ", "WRITE");
+        verify(userRepository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void loadUserByUsername_shouldRejectUnknownUsers() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void invalidateAfterCommit_shouldReplaceTheCachedRole() {
+        when(userRepository.findByUsername("alice"))
+                .thenReturn(Optional.of(user("alice", "USER", "READ")))
+                .thenReturn(Optional.of(user("alice", "ADMIN", "READ", "WRITE", "DELETE")));
+        assertThat(userDetailsService.loadUserByUsername("alice").getRole()).isEqualTo("USER");
+
+        userDetailsService.invalidateAfterCommit("alice");
+
+        // The eviction is followed by a background reload
+        verify(userRepository, timeout(1000).times(2)).findByUsername("alice");
+        assertThat(userDetailsService.loadUserByUsername("alice").getRole()).isEqualTo("ADMIN");
+    }
+
+    @Test
+    void warmUp_shouldServeEnabledUsersWithoutFurtherQueries() {
+        when(userRepository.findByEnabledTrue(any()))
+                .thenReturn(List.of(user("alice", "USER", "READ"), user("bob", "ADMIN", "READ")));
+
+        userDetailsService.warmUp();
+
+        assertThat(userDetailsService.loadUserByUsername("bob").getRole()).isEqualTo("ADMIN");
+        verify(userRepository, times(0)).findByUsername(any());
+    }
+
+    private static User user(String username, String roleName, String... permissions) {
+        Role role = new Role();
+        role.setId(roleName);
+        role.setName(roleName);
+        role.setPermissions(List.of(permissions));
+        User user = new User();
+        user.setUsername(username);
+        user.setPasswordHash("$2a$10$hash");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * JwtAuthenticationFilterBenchmark.java
+ *
+ * <p>Purpose: - Measures the per-request cost of JWT authentication in {@link
+ * JwtAuthenticationFilter}, to check the filter keeps up with 20k requests per second.
+ *
+ * <p>Logic Overview: - {@code cachedToken} replays the same token, as a client does between logins.
+ * - {@code uncachedToken} disables the verified-token cache, so every request parses and checks the
+ * signature once. - {@code fourParses} reproduces the previous filter, which built a new parser and
+ * verified the token four times per request. - Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thedavestack.productcatalog.security.JwtAuthenticationFilterBenchmark}.
+ */
+package com.thedavestack.productcatalog.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.thedavestack.productcatalog.model.Role;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.repository.UserRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKey123456789012345678901234567890123";
+
+    private JwtAuthenticationFilter cachedFilter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtUtil cached = new JwtUtil(new SimpleMeterRegistry(), SECRET, 3600, 10_000);
+        JwtUtil uncached = new JwtUtil(new SimpleMeterRegistry(), SECRET, 3600, 0);
+        // The principal cache is warmed, as it is once the application is ready
+        Role role = new Role();
+        role.setName("ADMIN");
+        role.setPermissions(List.of("READ", "WRITE"));
+        User admin = new User();
+        admin.setUsername("admin");
+        admin.setPasswordHash("{noop}");
+        admin.setRole(role);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEnabledTrue(any())).thenReturn(List.of(admin));
+        CatalogUserDetailsService users =
+                new CatalogUserDetailsService(
+                        userRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        users.warmUp();
+        cachedFilter = new JwtAuthenticationFilter(cached, users);
+        uncachedFilter = new JwtAuthenticationFilter(uncached, users);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        token = cached.generateToken("admin", "ADMIN");
+    }
+
+    @Benchmark
+    public Object cachedToken() throws ServletException, IOException {
+        return authenticate(cachedFilter);
+    }
+
+    @Benchmark
+    public Object uncachedToken() throws ServletException, IOException {
+        return authenticate(uncachedFilter);
+    }
+
+    @Benchmark
+    public void fourParses(Blackhole blackhole) {
+        // isTokenValid, isTokenExpired, extractUsername and extractRole each parsed the token
+        blackhole.consume(parse());
+        blackhole.consume(parse().getExpiration().before(new Date()));
+        blackhole.consume(parse().getSubject());
+        blackhole.consume(parse().get("role", String.class));
+    }
+
+    private Object authenticate(JwtAuthenticationFilter filter)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    private Claims parse() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(key.getEncoded()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
@@ -0,0 +1,50 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "testSecretKey1234567890123456789012345678901234567890";
+
+    private final JwtUtil jwtUtil = jwtUtil(SECRET, 3600);
+
+    @Test
+    void verify_shouldReturnClaimsOfAValidToken() {
+        String token = jwtUtil.generateToken("admin", "ADMIN");
+
+        JwtUtil.VerifiedToken verified = jwtUtil.verify(token).orElseThrow();
+
+        assertThat(verified.username()).isEqualTo("admin");
+        assertThat(verified.role()).isEqualTo("ADMIN");
+        assertThat(verified.expiresAt()).isAfter(Instant.now().plusSeconds(3500));
+        // The second lookup is served from the cache
+        assertThat(jwtUtil.verify(token)).containsSame(verified);
+    }
+
+    @Test
+    void verify_shouldRejectTokensSignedWithAnotherKey() {
+        String forged =
+                jwtUtil("otherSecretKey123456789012345678901234567890123456789", 3600)
+                        .generateToken("admin", "ADMIN");
+
+        assertThat(jwtUtil.verify(forged)).isEmpty();
+        assertThat(jwtUtil.verify("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void verify_shouldRejectExpiredTokens() {
+        String expired = jwtUtil(SECRET, -60).generateToken("admin", "ADMIN");
+
+        assertThat(jwtUtil.verify(expired)).isEmpty();
+    }
+
+    private static JwtUtil jwtUtil(String secret, int expirationSeconds) {
+        return new JwtUtil(new SimpleMeterRegistry(), secret, expirationSeconds, 100);
+    }
+}
@@ -0,0 +1,82 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class PermissionAuthorizationManagerTest {
+
+    @Test
+    void compile_shouldSetOneBitPerKnownPermission() {
+        PermissionSet set = PermissionSet.compile(List.of("READ", "DELETE", "EXPORT"));
+
+        assertThat(set.toSet()).containsExactly(Permission.READ, Permission.DELETE);
+        assertThat(set.contains(Permission.WRITE)).isFalse();
+        assertThat(set).isEqualTo(PermissionSet.of(Permission.DELETE, Permission.READ));
+        assertThat(set.containsAll(PermissionSet.of(Permission.READ))).isTrue();
+        assertThat(set.intersect(PermissionSet.of(Permission.READ, Permission.WRITE)))
+                .isEqualTo(PermissionSet.of(Permission.READ));
+    }
+
+    @Test
+    void authorize_shouldTestTheCallersPermissionBit() {
+        CatalogAuthenticationToken reader =
+                new CatalogAuthenticationToken(
+                        "reader",
+                        PermissionSet.of(Permission.READ),
+                        List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        assertThat(
+                        PermissionAuthorizationManager.requires(Permission.READ)
+                                .authorize(() -> reader, null)
+                                .isGranted())
+                .isTrue();
+        // The role name plays no part
+        assertThat(
+                        PermissionAuthorizationManager.requires(Permission.WRITE)
+                                .authorize(() -> reader, null)
+                                .isGranted())
+                .isFalse();
+    }
+
+    @Test
+    void authorize_shouldDenyAuthenticationsWithoutCompiledPermissions() {
+        UsernamePasswordAuthenticationToken other =
+                UsernamePasswordAuthenticationToken.authenticated(
+                        "admin", null, List.of(new SimpleGrantedAuthority("READ")));
+
+        assertThat(
+                        PermissionAuthorizationManager.requires(Permission.READ)
+                                .authorize(() -> other, null)
+                                .isGranted())
+                .isFalse();
+        assertThat(
+                        PermissionAuthorizationManager.requires(Permission.READ)
+                                .authorize(() -> null, null)
+                                .isGranted())
+                .isFalse();
+    }
+
+    @Test
+    void requiresLogin_shouldDenyRequestsAuthenticatedWithAnApiKey() {
+        PermissionSet all = PermissionSet.of(Permission.values());
+        CatalogAuthenticationToken login = new CatalogAuthenticationToken("admin", all, List.of());
+        CatalogAuthenticationToken key =
+                new CatalogAuthenticationToken("admin", all, List.of(), "key-1");
+
+        assertThat(
+                        PermissionAuthorizationManager.requiresLogin(Permission.READ)
+                                .authorize(() -> login, null)
+                                .isGranted())
+                .isTrue();
+        assertThat(
+                        PermissionAuthorizationManager.requiresLogin(Permission.READ)
+                                .authorize(() -> key, null)
+                                .isGranted())
+                .isFalse();
+    }
+}
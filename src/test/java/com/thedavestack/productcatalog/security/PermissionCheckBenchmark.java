@@ -0,0 +1,88 @@
+/**
+ * PermissionCheckBenchmark.java
+ *
+ * <p>Purpose: - Measures the cost of one authorization decision with compiled permission bitsets
+ * against the string-based checks they replace.
+ *
+ * <p>Logic Overview: - {@code bitset} runs {@link PermissionAuthorizationManager}, a single bit
+ * test. - {@code authorityManager} runs Spring's {@code AuthorityAuthorizationManager} for {@code
+ * hasAnyRole("USER", "ADMIN")}, the rule previously used for reads. - {@code stringSet} checks a
+ * permission name in a {@code Set<String>}, as a scope check on the raw database values would. -
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.thedavestack.productcatalog.security.PermissionCheckBenchmark}.
+ */
+package com.thedavestack.productcatalog.security;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    private static final List<String> PERMISSIONS =
+            List.of("READ", "WRITE", "DELETE", "USER_MANAGEMENT", "AUDIT");
+
+    private Authentication authentication;
+    private AuthorizationManager<Object> bitsetManager;
+    private AuthorizationManager<Object> authorityManager;
+    private Set<String> permissionNames;
+
+    @Setup
+    public void setUp() {
+        // Same authorities as an admin resolved by CatalogUserDetailsService
+        CatalogUserDetails admin =
+                new CatalogUserDetails("admin", "{noop}", "ADMIN", PERMISSIONS, true);
+        authentication =
+                new CatalogAuthenticationToken(
+                        "admin", admin.getPermissionSet(), admin.getAuthorities());
+        bitsetManager = PermissionAuthorizationManager.requires(Permission.AUDIT);
+        authorityManager = AuthorityAuthorizationManager.hasAnyRole("USER", "ADMIN");
+        permissionNames = Set.copyOf(PERMISSIONS);
+    }
+
+    @Benchmark
+    public boolean bitset() {
+        return bitsetManager.authorize(() -> authentication, null).isGranted();
+    }
+
+    @Benchmark
+    public boolean authorityManager() {
+        return authorityManager.authorize(() -> authentication, null).isGranted();
+    }
+
+    @Benchmark
+    public boolean stringSet() {
+        return permissionNames.contains("AUDIT");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(
+                        new OptionsBuilder()
+                                .include(PermissionCheckBenchmark.class.getSimpleName())
+                                .build())
+                .run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class PermissionToolCallbackTest {
+
+    private final ToolCallback[] tools =
+            PermissionToolCallback.guard(
+                    new ToolCallback[] {tool("findById"), tool("createProduct")},
+                    Map.of("createProduct", Permission.WRITE),
+                    Permission.READ);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void guard_shouldRequireTheMappedPermissionOrTheDefault() {
+        authenticate(Permission.READ);
+
+        assertThat(tools[0].call("{}")).isEqualTo("findById done");
+        assertThatThrownBy(() -> tools[1].call("{}"))
+                .isInstanceOf(AccessDeniedException.class)
+                .hasMessage("Tool 'createProduct' requires the WRITE permission");
+
+        authenticate(Permission.READ, Permission.WRITE);
+        assertThat(tools[1].call("{}")).isEqualTo("createProduct done");
+        assertThat(tools[1].getToolDefinition().name()).isEqualTo("createProduct");
+    }
+
+    @Test
+    void guard_shouldDenyCallersWithoutACatalogToken() {
+        assertThatThrownBy(() -> tools[0].call("{}")).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void guard_shouldSeeTheCallerOnTheWorkerThreadMcpToolsRunOn() {
+        authenticate(Permission.READ, Permission.WRITE);
+        Hooks.enableAutomaticContextPropagation();
+        try {
+            String result =
+                    Mono.fromCallable(() -> tools[1].call("{}"))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .block();
+
+            assertThat(result).isEqualTo("createProduct done");
+        } finally {
+            Hooks.disableAutomaticContextPropagation();
+        }
+    }
+
+    private static void authenticate(Permission... permissions) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new CatalogAuthenticationToken(
+                                "alice", PermissionSet.of(permissions), List.of()));
+    }
+
+    private static ToolCallback tool(String name) {
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return ToolDefinition.builder()
+                        .name(name)
+                        .description(name)
+                        .inputSchema("{}")
+                        .build();
+            }
+
+            @Override
+            public String call(String toolInput) {
+                return name + " done";
+            }
+        };
+    }
+}
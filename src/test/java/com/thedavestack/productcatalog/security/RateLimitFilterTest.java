@@ -0,0 +1,219 @@
+package com.thedavestack.productcatalog.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.RemoteIpValve;
+import org.apache.catalina.valves.ValveBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.thedavestack.productcatalog.config.RateLimitProperties;
+import com.thedavestack.productcatalog.config.RateLimitProperties.EndpointClass;
+import com.thedavestack.productcatalog.config.RateLimitProperties.Limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RateLimitFilter filter =
+            new RateLimitFilter(
+                    new RateLimitProperties(
+                            true,
+                            Duration.ofMinutes(10),
+                            1000,
+                            Map.of(
+                                    "ANONYMOUS",
+                                    Map.of(EndpointClass.READ, Limit.valueOf("1/s burst 2")),
+                                    "DEFAULT",
+                                    Map.of(EndpointClass.READ, Limit.valueOf("0.5/s burst 3")))),
+                    meterRegistry);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldRejectRequestsBeyondTheBurstWith429AndHeaders() throws Exception {
+        authenticate("alice", "ROLE_USER");
+
+        assertThat(get("/api/v1/products").getHeader("RateLimit-Remaining")).isEqualTo("2");
+        get("/api/v1/products");
+        MockHttpServletResponse last = get("/api/v1/products");
+        MockHttpServletResponse rejected = get("/api/v1/products");
+
+        assertThat(last.getStatus()).isEqualTo(200);
+        assertThat(last.getHeader("RateLimit-Limit")).isEqualTo("3");
+        assertThat(last.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(rejected.getContentAsString()).contains("RATE_LIMIT_EXCEEDED");
+        assertThat(
+                        meterRegistry
+                                .counter(
+                                        "http.server.requests.rate-limited",
+                                        "role",
+                                        "USER",
+                                        "endpoint.class",
+                                        "READ")
+                                .count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerPrincipalAndApiKey() throws Exception {
+        authenticate("alice", "ROLE_USER");
+        for (int i = 0; i < 3; i++) {
+            get("/api/v1/products");
+        }
+        assertThat(get("/api/v1/products").getStatus()).isEqualTo(429);
+
+        authenticate("bob", "ROLE_USER");
+        assertThat(get("/api/v1/products").getStatus()).isEqualTo(200);
+
+        // A key of alice's has a budget of its own
+        authenticate("alice", "ROLE_USER");
+        MockHttpServletRequest keyRequest = new MockHttpServletRequest("GET", "/api/v1/products");
+        keyRequest.setAttribute(ApiKeyAuthenticationFilter.API_KEY_ID_ATTRIBUTE, "key-1");
+        MockHttpServletResponse keyResponse = new MockHttpServletResponse();
+        filter.doFilter(keyRequest, keyResponse, new MockFilterChain());
+        assertThat(keyResponse.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldLeaveUnconfiguredEndpointClassesAndHealthChecksUnlimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(get("/actuator/health").getStatus()).isEqualTo(200);
+        }
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(post, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("RateLimit-Limit")).isNull();
+    }
+
+    @Test
+    void shouldKeepSeparateBucketsPerForwardedClientBehindTrustedProxy() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertThat(anonymousGet(resolveClientAddress("172.18.0.2", "203.0.113.7")).getStatus())
+                    .isEqualTo(200);
+        }
+        assertThat(anonymousGet(resolveClientAddress("172.18.0.2", "203.0.113.7")).getStatus())
+                .isEqualTo(429);
+
+        // Another client behind the same proxy is unaffected
+        assertThat(anonymousGet(resolveClientAddress("172.18.0.2", "198.51.100.4")).getStatus())
+                .isEqualTo(200);
+    }
+
+    @Test
+    void shouldIgnoreForwardedForFromUntrustedPeers() throws Exception {
+        assertThat(resolveClientAddress("203.0.113.7", "198.51.100.4")).isEqualTo("203.0.113.7");
+        assertThat(resolveClientAddress("172.18.0.2", "198.51.100.4")).isEqualTo("198.51.100.4");
+    }
+
+    @Test
+    void classify_shouldSeparateMcpAndStreamingTraffic() {
+        assertThat(RateLimitFilter.classify(new MockHttpServletRequest("GET", "/sse")))
+                .isEqualTo(EndpointClass.MCP);
+        assertThat(RateLimitFilter.classify(new MockHttpServletRequest("POST", "/mcp/message")))
+                .isEqualTo(EndpointClass.MCP);
+        assertThat(
+                        RateLimitFilter.classify(
+                                new MockHttpServletRequest("GET", "/api/v1/audit/stream")))
+                .isEqualTo(EndpointClass.STREAM);
+        assertThat(
+                        RateLimitFilter.classify(
+                                new MockHttpServletRequest("PATCH", "/api/v1/products/1")))
+                .isEqualTo(EndpointClass.WRITE);
+    }
+
+    @Test
+    void limit_shouldParseRateAndBurst() {
+        assertThat(Limit.valueOf("50/s burst 100")).isEqualTo(new Limit(50, 100));
+        assertThat(Limit.valueOf("2.5/s")).isEqualTo(new Limit(2.5, 3));
+    }
+
+    @Test
+    void properties_shouldBindLimitsPerRoleAndEndpointClass() {
+        RateLimitProperties bound =
+                new Binder(
+                                new MapConfigurationPropertySource(
+                                        Map.of(
+                                                "app.rate-limit.limits.ADMIN.write",
+                                                "50/s burst 100",
+                                                "app.rate-limit.limits.DEFAULT.read",
+                                                "10/s")))
+                        .bindOrCreate("app.rate-limit", RateLimitProperties.class);
+
+        assertThat(bound.enabled()).isTrue();
+        assertThat(bound.limitFor("ADMIN", EndpointClass.WRITE)).isEqualTo(new Limit(50, 100));
+        assertThat(bound.limitFor("MANAGER", EndpointClass.READ)).isEqualTo(new Limit(10, 10));
+        assertThat(bound.limitFor("ANONYMOUS", EndpointClass.READ)).isNull();
+    }
+
+    private MockHttpServletResponse get(String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+        return response;
+    }
+
+    private MockHttpServletResponse anonymousGet(String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    /**
+     * Runs a request through the RemoteIpValve that server.forward-headers-strategy=NATIVE
+     * installs, with its default internal-proxies, and returns the client address it resolves.
+     */
+    private static String resolveClientAddress(String peer, String forwardedFor) throws Exception {
+        org.apache.coyote.Request coyoteRequest = new org.apache.coyote.Request();
+        coyoteRequest.getMimeHeaders().addValue("X-Forwarded-For").setString(forwardedFor);
+        Request request = new Request(new Connector());
+        request.setCoyoteRequest(coyoteRequest);
+        request.setRemoteAddr(peer);
+        request.setRemoteHost(peer);
+
+        AtomicReference<String> resolved = new AtomicReference<>();
+        RemoteIpValve valve = new RemoteIpValve();
+        valve.setNext(
+                new ValveBase() {
+                    @Override
+                    public void invoke(Request request, Response response) {
+                        resolved.set(request.getRemoteAddr());
+                    }
+                });
+        valve.invoke(request, new Response());
+        return resolved.get();
+    }
+
+    private static void authenticate(String username, String role) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new UsernamePasswordAuthenticationToken(
+                                username, null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
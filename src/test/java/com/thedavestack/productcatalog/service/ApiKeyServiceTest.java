@@ -0,0 +1,97 @@
+package com.thedavestack.productcatalog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.thedavestack.productcatalog.dto.ApiKeyResponse;
+import com.thedavestack.productcatalog.exception.InvalidApiKeyRequestException;
+import com.thedavestack.productcatalog.model.User;
+import com.thedavestack.productcatalog.repository.ApiKeyRepository;
+import com.thedavestack.productcatalog.repository.UserRepository;
+import com.thedavestack.productcatalog.security.ApiKeyVerifier;
+import com.thedavestack.productcatalog.security.CatalogAuthenticationToken;
+import com.thedavestack.productcatalog.security.Permission;
+import com.thedavestack.productcatalog.security.PermissionSet;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyServiceTest {
+
+    @Mock private ApiKeyRepository apiKeyRepository;
+    @Mock private UserRepository userRepository;
+    @Mock private ApiKeyVerifier apiKeyVerifier;
+    @Mock private PasswordEncoder passwordEncoder;
+
+    @InjectMocks private ApiKeyService apiKeyService;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void createKey_shouldRejectRequestsAuthenticatedWithAnApiKey() {
+        // An admin's READ-scoped key must not mint a key with the admin's full permissions
+        authenticate(PermissionSet.of(Permission.READ), "key-1");
+
+        assertThatThrownBy(() -> apiKeyService.createKey("wider", null, null))
+                .isInstanceOf(InvalidApiKeyRequestException.class);
+        assertThatThrownBy(
+                        () ->
+                                apiKeyService.createKey(
+                                        "wider", Set.of("READ", "USER_MANAGEMENT"), null))
+                .isInstanceOf(InvalidApiKeyRequestException.class);
+        assertThatThrownBy(() -> apiKeyService.revokeKey("key-2"))
+                .isInstanceOf(InvalidApiKeyRequestException.class);
+        verify(apiKeyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createKey_shouldCapScopesAtTheCallersPermissions() {
+        authenticate(PermissionSet.of(Permission.READ), null);
+
+        assertThatThrownBy(() -> apiKeyService.createKey("writer", Set.of("WRITE"), null))
+                .isInstanceOf(InvalidApiKeyRequestException.class);
+        assertThatThrownBy(() -> apiKeyService.createKey("unknown", Set.of("EVERYTHING"), null))
+                .isInstanceOf(InvalidApiKeyRequestException.class);
+    }
+
+    @Test
+    void createKey_shouldDefaultToTheCallersPermissions() {
+        authenticate(PermissionSet.of(Permission.READ, Permission.WRITE), null);
+        User owner = new User();
+        owner.setUsername("alice");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(owner));
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(apiKeyRepository.saveAndFlush(any())).thenAnswer(call -> call.getArgument(0));
+
+        ApiKeyResponse created = apiKeyService.createKey("sync", null, null);
+
+        assertThat(created.scopes()).isEqualTo(List.of("READ", "WRITE"));
+        assertThat(created.key()).startsWith(ApiKeyVerifier.KEY_MARKER + created.keyPrefix());
+        assertThat(ApiKeyVerifier.prefixOf(created.key())).isEqualTo(created.keyPrefix());
+    }
+
+    private static void authenticate(PermissionSet permissions, String apiKeyId) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(
+                        new CatalogAuthenticationToken("alice", permissions, List.of(), apiKeyId));
+    }
+}
@@ -0,0 +1,273 @@
+package com.thedavestack.productcatalog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thedavestack.productcatalog.audit.AuditArchive;
+import com.thedavestack.productcatalog.audit.AuditLogWriter;
+import com.thedavestack.productcatalog.audit.AuditOutbox;
+import com.thedavestack.productcatalog.audit.AuditPartitionMaintenance;
+import com.thedavestack.productcatalog.audit.AuditTail;
+import com.thedavestack.productcatalog.model.AuditLog;
+import com.thedavestack.productcatalog.model.Category;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.repository.AuditLogRepository;
+
+@ExtendWith(MockitoExtension.class)
+class AuditServiceTest {
+
+    @Mock private AuditLogRepository auditLogRepository;
+    @Mock private AuditLogWriter auditLogWriter;
+    @Mock private AuditOutbox auditOutbox;
+    @Mock private AuditPartitionMaintenance auditPartitionMaintenance;
+    @Mock private AuditArchive auditArchive;
+    @Mock private AuditTail auditTail;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private AuditService auditService;
+
+    @BeforeEach
+    void setUp() {
+        auditService =
+                new AuditService(
+                        auditLogRepository,
+                        auditLogWriter,
+                        auditOutbox,
+                        auditPartitionMaintenance,
+                        auditArchive,
+                        auditTail,
+                        objectMapper);
+        ReflectionTestUtils.setField(auditService, "snapshotInterval", 10);
+    }
+
+    @Test
+    void logUpdate_shouldStoreOnlyChangedFields() throws Exception {
+        Product product = product();
+        JsonNode before = auditService.snapshot(product);
+        String fullSnapshot = objectMapper.writeValueAsString(product);
+        product.setPrice(new BigDecimal("24.99"));
+        product.setUpdatedAt(Instant.parse("2025-02-01T00:00:00Z"));
+
+        auditService.logUpdate("Product", product.getId(), before, product, 4L);
+
+        AuditLog entry = captured();
+        assertThat(entry.getChanges())
+                .isEqualTo(
+                        "[{\"op\":\"replace\",\"path\":\"/price\",\"value\":24.99},"
+                                + "{\"op\":\"replace\",\"path\":\"/version\",\"value\":4}]");
+        assertThat(entry.getOldValues()).isNull();
+        assertThat(entry.getNewValues()).isNull();
+        // The old format stored both snapshots plus a marker string
+        int previousSize = 2 * fullSnapshot.length() + "Updated".length();
+        assertThat(entry.getChanges().length() * 5).isLessThan(previousSize);
+    }
+
+    @Test
+    void logUpdate_shouldAddSnapshotEveryIntervalVersions() {
+        Product product = product();
+        JsonNode before = auditService.snapshot(product);
+        product.setName("Renamed");
+
+        auditService.logUpdate("Product", product.getId(), before, product, 10L);
+
+        AuditLog entry = captured();
+        assertThat(entry.getNewValues()).contains("\"name\":\"Renamed\"", "\"version\":10");
+    }
+
+    @Test
+    void logPartialUpdate_shouldRecordOneChangeOfABatchForItsCaller() {
+        Product product = product();
+
+        // 40 after the batch; this caller's change took the stock from 30 to 35
+        auditService.logPartialUpdate(
+                "Product",
+                product.getId(),
+                Map.of("stockQuantity", 30),
+                Map.of("stockQuantity", 35),
+                product,
+                null,
+                "alice");
+
+        AuditLog entry = captured();
+        assertThat(entry.getUsername()).isEqualTo("alice");
+        assertThat(entry.getChanges())
+                .isEqualTo("[{\"op\":\"replace\",\"path\":\"/stockQuantity\",\"value\":35}]");
+    }
+
+    @Test
+    void reconstruct_shouldApplyPatchesAfterTheNearestSnapshot() throws Exception {
+        Product product = product();
+        String created = objectMapper.writeValueAsString(product);
+        when(auditLogRepository.findWithFiltersAfter(any(), any(), anyInt()))
+                .thenReturn(
+                        List.of(
+                                entry(
+                                        AuditLog.AuditAction.UPDATE,
+                                        "[{\"op\":\"replace\",\"path\":\"/stockQuantity\",\"value\":35}]",
+                                        null,
+                                        "2025-01-03T00:00:00Z"),
+                                entry(
+                                        AuditLog.AuditAction.UPDATE,
+                                        "[{\"op\":\"replace\",\"path\":\"/price\",\"value\":24.99}]",
+                                        null,
+                                        "2025-01-02T00:00:00Z"),
+                                entry(
+                                        AuditLog.AuditAction.CREATE,
+                                        null,
+                                        created,
+                                        "2025-01-01T00:00:00Z")));
+
+        Product asOf =
+                auditService
+                        .reconstruct(
+                                "Product",
+                                product.getId(),
+                                Instant.parse("2025-01-03T12:00:00Z"),
+                                Product.class)
+                        .orElseThrow();
+
+        assertThat(asOf.getPrice()).isEqualByComparingTo("24.99");
+        assertThat(asOf.getStockQuantity()).isEqualTo(35);
+        assertThat(asOf.getName()).isEqualTo("Desk Lamp");
+        assertThat(asOf.getVersion()).isEqualTo(5L);
+        assertThat(asOf.getUpdatedAt()).isEqualTo(Instant.parse("2025-01-03T00:00:00Z"));
+        // A snapshot every 10 versions bounds the read to one page
+        verify(auditLogRepository).findWithFiltersAfter(any(), any(), eq(12));
+    }
+
+    @Test
+    void reconstruct_shouldTakeTheVersionOfACoalescedWriteFromItsEntries() throws Exception {
+        Product product = product();
+        String created = objectMapper.writeValueAsString(product);
+        // Version 4 was recorded without its version; one statement then wrote three adjustments
+        // as version 5
+        when(auditLogRepository.findWithFiltersAfter(any(), any(), anyInt()))
+                .thenReturn(
+                        List.of(
+                                entry(
+                                        AuditLog.AuditAction.UPDATE,
+                                        stockTo(30, 5),
+                                        null,
+                                        "2025-01-03T00:00:02Z"),
+                                entry(
+                                        AuditLog.AuditAction.UPDATE,
+                                        stockTo(32, 5),
+                                        null,
+                                        "2025-01-03T00:00:01Z"),
+                                entry(
+                                        AuditLog.AuditAction.UPDATE,
+                                        stockTo(35, 5),
+                                        null,
+                                        "2025-01-03T00:00:00Z"),
+                                entry(
+                                        AuditLog.AuditAction.UPDATE,
+                                        "[{\"op\":\"replace\",\"path\":\"/price\",\"value\":24.99}]",
+                                        null,
+                                        "2025-01-02T00:00:00Z"),
+                                entry(
+                                        AuditLog.AuditAction.CREATE,
+                                        null,
+                                        created,
+                                        "2025-01-01T00:00:00Z")));
+
+        Product asOf =
+                auditService
+                        .reconstruct(
+                                "Product",
+                                product.getId(),
+                                Instant.parse("2025-01-04T00:00:00Z"),
+                                Product.class)
+                        .orElseThrow();
+
+        assertThat(asOf.getStockQuantity()).isEqualTo(30);
+        assertThat(asOf.getPrice()).isEqualByComparingTo("24.99");
+        assertThat(asOf.getVersion()).isEqualTo(5L);
+    }
+
+    @Test
+    void reconstruct_shouldBeEmptyAfterDeletion() {
+        when(auditLogRepository.findWithFiltersAfter(any(), any(), anyInt()))
+                .thenReturn(
+                        List.of(
+                                entry(
+                                        AuditLog.AuditAction.DELETE,
+                                        null,
+                                        null,
+                                        "2025-01-05T00:00:00Z")));
+
+        assertThat(
+                        auditService.reconstruct(
+                                "Product",
+                                "0190a1b2-0000-7000-8000-000000000001",
+                                Instant.parse("2025-02-01T00:00:00Z"),
+                                Product.class))
+                .isEmpty();
+    }
+
+    private static String stockTo(int stockQuantity, long version) {
+        return "[{\"op\":\"replace\",\"path\":\"/stockQuantity\",\"value\":"
+                + stockQuantity
+                + "},{\"op\":\"replace\",\"path\":\"/version\",\"value\":"
+                + version
+                + "}]";
+    }
+
+    private static AuditLog entry(
+            AuditLog.AuditAction action, String changes, String newValues, String createdAt) {
+        return AuditLog.builder()
+                .id(UUID.randomUUID().toString())
+                .entityType("Product")
+                .entityId("0190a1b2-0000-7000-8000-000000000001")
+                .action(action)
+                .changes(changes)
+                .newValues(newValues)
+                .createdAt(Instant.parse(createdAt))
+                .build();
+    }
+
+    private AuditLog captured() {
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(auditLogWriter).write(captor.capture());
+        return captor.getValue();
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setId("0190a1b2-0000-7000-8000-000000000001");
+        product.setSku("LAMP-001");
+        product.setName("Desk Lamp");
+        product.setDescription("Adjustable LED desk lamp with a weighted base");
+        product.setPrice(new BigDecimal("19.99"));
+        product.setCategory(Category.HOME_GARDEN);
+        product.setStockQuantity(40);
+        product.setMinStockLevel(5);
+        product.setImageUrl("https://example.com/images/lamp.jpg");
+        product.setWeight(new BigDecimal("1.200"));
+        product.setDimensions("30x15x45 cm");
+        product.setCreatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        product.setUpdatedAt(Instant.parse("2025-01-01T00:00:00Z"));
+        product.setVersion(3L);
+        return product;
+    }
+}
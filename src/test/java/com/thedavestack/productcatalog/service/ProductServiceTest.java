@@ -17,6 +17,9 @@ package com.thedavestack.productcatalog.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -24,20 +27,35 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.thedavestack.productcatalog.cache.ProductCache;
+import com.thedavestack.productcatalog.exception.DuplicateSkuException;
+import com.thedavestack.productcatalog.exception.InvalidSearchQueryException;
 import com.thedavestack.productcatalog.exception.ProductNotFoundException;
+import com.thedavestack.productcatalog.exception.ProductVersionMismatchException;
 import com.thedavestack.productcatalog.model.Product;
 import com.thedavestack.productcatalog.repository.ProductRepository;
+import com.thedavestack.productcatalog.repository.ProductRepositoryCustom.PatchResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @ExtendWith(MockitoExtension.class)
 class ProductServiceTest {
@@ -46,6 +64,10 @@ class ProductServiceTest {
 
     @Mock private AuditService auditService;
 
+    @Spy
+    private ProductCache productCache =
+            new ProductCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
     @InjectMocks private ProductService productService;
 
     private Product product1;
@@ -88,6 +110,32 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById("1");
     }
 
+    @Test
+    void findById_shouldServeRepeatedLookupsFromCache() {
+        when(productRepository.findById("1")).thenReturn(Optional.of(product1));
+
+        productService.findById("1");
+        Optional<Product> foundProduct = productService.findById("1");
+
+        assertThat(foundProduct).isPresent();
+        assertThat(foundProduct.get().getName()).isEqualTo("Test Product 1");
+        verify(productRepository, times(1)).findById("1");
+    }
+
+    @Test
+    void findById_shouldReturnEmptyWithoutQuery_afterProductIsDeleted() {
+        when(productRepository.findById("1")).thenReturn(Optional.of(product1));
+        doNothing().when(productRepository).delete(product1);
+
+        productService.findById("1");
+        productService.deleteProduct("1");
+        Optional<Product> foundProduct = productService.findById("1");
+
+        assertThat(foundProduct).isNotPresent();
+        // One lookup for the cache miss, one inside deleteProduct
+        verify(productRepository, times(2)).findById("1");
+    }
+
     @Test
     void createProduct_shouldSaveAndReturnProduct() {
         Product productToCreate = new Product();
@@ -113,7 +161,8 @@ class ProductServiceTest {
 
     @Test
     void createMultipleProducts_shouldSaveAndReturnAllProducts() {
-        when(productRepository.save(any(Product.class)))
+        when(productRepository.findExistingSkus(anySet())).thenReturn(Set.of());
+        when(productRepository.insertAll(anyList()))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
         List<Product> productsToCreate = Arrays.asList(new Product(), new Product());
@@ -121,7 +170,39 @@ class ProductServiceTest {
 
         assertThat(createdProducts).hasSize(2);
         createdProducts.forEach(p -> assertThat(p.getSku()).isNotNull());
-        verify(productRepository, times(2)).save(any(Product.class));
+        verify(productRepository, times(1)).insertAll(productsToCreate);
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void createMultipleProducts_shouldRejectBatch_whenAnySkuExists() {
+        Product existing = new Product();
+        existing.setSku("SKU-1");
+        Product fresh = new Product();
+        fresh.setSku("SKU-2");
+        when(productRepository.findExistingSkus(Set.of("SKU-1", "SKU-2")))
+                .thenReturn(Set.of("SKU-1"));
+
+        assertThrows(
+                DuplicateSkuException.class,
+                () -> productService.createMultipleProducts(List.of(existing, fresh)));
+
+        verify(productRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void createMultipleProducts_shouldRejectBatch_whenSkuRepeatsWithinBatch() {
+        Product first = new Product();
+        first.setSku("SKU-1");
+        Product second = new Product();
+        second.setSku("SKU-1");
+
+        assertThrows(
+                DuplicateSkuException.class,
+                () -> productService.createMultipleProducts(List.of(first, second)));
+
+        verify(productRepository, never()).findExistingSkus(anySet());
+        verify(productRepository, never()).insertAll(anyList());
     }
 
     @Test
@@ -152,6 +233,62 @@ class ProductServiceTest {
         verify(productRepository, times(1)).save(product1);
     }
 
+    @Test
+    void patchProduct_shouldWriteOnlyChangedFieldsWithoutReading() {
+        Product patched = new Product();
+        patched.setId("1");
+        patched.setName("Test Product 1");
+        patched.setPrice(BigDecimal.valueOf(12.5));
+        patched.setVersion(4L);
+        Map<String, Object> changes = Map.of("price", BigDecimal.valueOf(12.5));
+        when(productRepository.updateFields("1", changes, 3L))
+                .thenReturn(
+                        Optional.of(
+                                new PatchResult(
+                                        patched, Map.of("price", BigDecimal.valueOf(10.0)))));
+
+        Product changesOnly = new Product();
+        changesOnly.setStockQuantity(null);
+        changesOnly.setMinStockLevel(null);
+        changesOnly.setActive(null);
+        changesOnly.setPrice(BigDecimal.valueOf(12.5));
+
+        Product result = productService.patchProduct("1", changesOnly, 3L);
+
+        assertThat(result.getVersion()).isEqualTo(4L);
+        verify(productRepository, never()).findById(any());
+        verify(auditService)
+                .logPartialUpdate(
+                        "Product", "1", Map.of("price", BigDecimal.valueOf(10.0)), patched, 4L);
+    }
+
+    @Test
+    void patchProduct_shouldThrowVersionMismatch_whenVersionIsStale() {
+        product1.setVersion(5L);
+        when(productRepository.updateFields(any(), anyMap(), any())).thenReturn(Optional.empty());
+        when(productRepository.findById("1")).thenReturn(Optional.of(product1));
+
+        Product changes = new Product();
+        changes.setName("Renamed");
+
+        assertThrows(
+                ProductVersionMismatchException.class,
+                () -> productService.patchProduct("1", changes, 3L));
+    }
+
+    @Test
+    void patchProduct_shouldThrowNotFound_whenProductDoesNotExist() {
+        when(productRepository.updateFields(any(), anyMap(), any())).thenReturn(Optional.empty());
+
+        Product changes = new Product();
+        changes.setName("Renamed");
+
+        assertThrows(
+                ProductNotFoundException.class,
+                () -> productService.patchProduct("1", changes, null));
+        verify(auditService, never()).logPartialUpdate(any(), any(), any(), any(), any());
+    }
+
     @Test
     void deleteProduct_shouldDeleteProduct() {
         when(productRepository.findById("1")).thenReturn(Optional.of(product1));
@@ -173,6 +310,44 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById("1");
     }
 
+    @Test
+    void searchByName_shouldPassTheTrimmedTermAndIgnoreSorting() {
+        Page<Product> page = new PageImpl<>(List.of(new Product()));
+        when(productRepository.searchByName("lamp", PageRequest.of(1, 10))).thenReturn(page);
+
+        Page<Product> result =
+                productService.searchByName(
+                        "  lamp ", PageRequest.of(1, 10, Sort.by("name").descending()));
+
+        assertThat(result).isSameAs(page);
+    }
+
+    @Test
+    void searchByName_shouldRejectTermsTooShortForTheTrigramIndex() {
+        for (String query : Arrays.asList(null, "", "   ", "a", " ab ")) {
+            assertThrows(
+                    InvalidSearchQueryException.class,
+                    () -> productService.searchByName(query, PageRequest.of(0, 20)));
+        }
+
+        verify(productRepository, never()).searchByName(any(), any());
+    }
+
+    @Test
+    void findWithFilters_shouldMatchLikeWildcardsLiterally() {
+        Page<Product> page = new PageImpl<>(List.of());
+        when(productRepository.findWithFilters(
+                        "50\\% off\\_sale\\\\", null, null, PageRequest.of(0, 20)))
+                .thenReturn(page);
+        when(productRepository.countWithFilters("50\\% off\\_sale\\\\", null, null)).thenReturn(0L);
+
+        assertThat(
+                        productService.findWithFilters(
+                                "50% off_sale\\", null, null, PageRequest.of(0, 20)))
+                .isSameAs(page);
+        assertThat(productService.countWithFilters("50% off_sale\\", null, null)).isZero();
+    }
+
     @Test
     void updateProduct_shouldThrowException_whenProductDoesNotExist() {
         when(productRepository.findById("1")).thenReturn(Optional.empty());
@@ -0,0 +1,239 @@
+package com.thedavestack.productcatalog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.thedavestack.productcatalog.cache.ProductCache;
+import com.thedavestack.productcatalog.exception.InsufficientStockException;
+import com.thedavestack.productcatalog.exception.ProductNotFoundException;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.repository.ProductRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StockAdjustmentServiceTest {
+
+    private static final String ID = "0190a1b2-0000-7000-8000-000000000001";
+
+    @Mock private ProductRepository productRepository;
+    @Mock private AuditService auditService;
+    @Mock private TransactionTemplate transactionTemplate;
+
+    private final ProductCache productCache =
+            new ProductCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+    /** Stands in for the row: applies the guarded increment the way the UPDATE does. */
+    private final AtomicInteger stock = new AtomicInteger();
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        lenient()
+                .when(transactionTemplate.execute(any()))
+                .thenAnswer(
+                        invocation ->
+                                invocation
+                                        .<TransactionCallback<?>>getArgument(0)
+                                        .doInTransaction(null));
+        lenient()
+                .when(productRepository.adjustStock(eq(ID), anyLong(), anyLong()))
+                .thenAnswer(
+                        invocation -> {
+                            long delta = invocation.getArgument(1);
+                            long guard = invocation.getArgument(2);
+                            writes.incrementAndGet();
+                            synchronized (stock) {
+                                if (stock.get() < guard) {
+                                    return Optional.empty();
+                                }
+                                return Optional.of(product(stock.addAndGet((int) delta)));
+                            }
+                        });
+    }
+
+    @Test
+    void adjustStock_shouldApplyDeltaInOneWrite() {
+        stock.set(10);
+        StockAdjustmentService service = service(Duration.ZERO);
+
+        Product product = service.adjustStock(ID, -4, null);
+
+        assertThat(product.getStockQuantity()).isEqualTo(6);
+        verify(productRepository).adjustStock(ID, -4, 4);
+    }
+
+    @Test
+    void adjustStock_shouldRejectChangeBelowFloor() {
+        stock.set(5);
+        when(productRepository.findById(ID)).thenReturn(Optional.of(product(5)));
+        StockAdjustmentService service = service(Duration.ZERO);
+
+        assertThrows(InsufficientStockException.class, () -> service.adjustStock(ID, -3, 3));
+        assertThat(stock.get()).isEqualTo(5);
+    }
+
+    @Test
+    void adjustStock_shouldThrowNotFound_whenProductDoesNotExist() {
+        when(productRepository.adjustStock(eq("missing"), anyLong(), anyLong()))
+                .thenReturn(Optional.empty());
+        when(productRepository.findById("missing")).thenReturn(Optional.empty());
+        StockAdjustmentService service = service(Duration.ZERO);
+
+        assertThrows(ProductNotFoundException.class, () -> service.adjustStock("missing", 1, null));
+    }
+
+    @Test
+    void adjustStock_shouldCoalesceConcurrentDeltasIntoFewerWrites() throws Exception {
+        int callers = 200;
+        StockAdjustmentService service = service(Duration.ofMillis(20));
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try {
+            List<Future<Product>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> service.adjustStock(ID, 1, null)));
+            }
+            for (Future<Product> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdown();
+            service.shutdown();
+        }
+
+        assertThat(stock.get()).isEqualTo(callers);
+        assertThat(writes.get()).isLessThan(callers);
+    }
+
+    @Test
+    void adjustStock_shouldRejectOnlyOffendingAdjustments_whenBatchGuardFails() throws Exception {
+        stock.set(2);
+        when(productRepository.findById(ID)).thenAnswer(invocation -> Optional.of(product(0)));
+        StockAdjustmentService service = service(Duration.ofMillis(50));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<Product>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> service.adjustStock(ID, -1, null)));
+            }
+            int rejected = 0;
+            for (Future<Product> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(InsufficientStockException.class);
+                    rejected++;
+                }
+            }
+            assertThat(rejected).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+            service.shutdown();
+        }
+
+        assertThat(stock.get()).isZero();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void adjustStock_shouldAuditEachCoalescedAdjustmentForItsCaller() throws Exception {
+        stock.set(10);
+        StockAdjustmentService service = service(Duration.ofMillis(200));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Product> alice = executor.submit(() -> adjustAs("alice", service, -3));
+            Future<Product> bob = executor.submit(() -> adjustAs("bob", service, 5));
+            alice.get();
+            bob.get();
+        } finally {
+            executor.shutdown();
+            service.shutdown();
+        }
+
+        assertThat(writes.get()).isEqualTo(1);
+        ArgumentCaptor<Map<String, ?>> before = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Map<String, ?>> after = ArgumentCaptor.forClass(Map.class);
+        ArgumentCaptor<Long> versions = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<String> usernames = ArgumentCaptor.forClass(String.class);
+        verify(auditService, times(2))
+                .logPartialUpdate(
+                        eq("Product"),
+                        eq(ID),
+                        before.capture(),
+                        after.capture(),
+                        any(),
+                        versions.capture(),
+                        usernames.capture());
+        // Both entries belong to the one write, so both carry the version it produced
+        assertThat(versions.getAllValues()).containsExactly(12L, 12L);
+        assertThat(usernames.getAllValues()).containsExactlyInAnyOrder("alice", "bob");
+        for (int i = 0; i < 2; i++) {
+            long delta =
+                    (long) after.getAllValues().get(i).get("stockQuantity")
+                            - (long) before.getAllValues().get(i).get("stockQuantity");
+            assertThat(delta).isEqualTo(usernames.getAllValues().get(i).equals("alice") ? -3 : 5);
+        }
+        // The entries chain from the stock before the batch to the stock after it
+        assertThat(before.getAllValues().get(0).get("stockQuantity")).isEqualTo(10L);
+        assertThat(after.getAllValues().get(1).get("stockQuantity")).isEqualTo(12L);
+    }
+
+    private static Product adjustAs(String username, StockAdjustmentService service, int delta) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new TestingAuthenticationToken(username, null));
+        try {
+            return service.adjustStock(ID, delta, null);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private StockAdjustmentService service(Duration coalesceWindow) {
+        return new StockAdjustmentService(
+                productRepository,
+                productCache,
+                auditService,
+                transactionTemplate,
+                coalesceWindow,
+                2);
+    }
+
+    private static Product product(int stockQuantity) {
+        Product product = new Product();
+        product.setId(ID);
+        product.setSku("SKU-1");
+        product.setStockQuantity(stockQuantity);
+        product.setVersion((long) stockQuantity);
+        return product;
+    }
+}
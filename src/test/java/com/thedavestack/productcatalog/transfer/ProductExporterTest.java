@@ -0,0 +1,88 @@
+package com.thedavestack.productcatalog.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.thedavestack.productcatalog.mapper.ProductMapper;
+import com.thedavestack.productcatalog.model.Category;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.service.ProductService;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExporterTest {
+
+    @Mock private ProductService productService;
+
+    private ProductExporter productExporter;
+
+    @BeforeEach
+    void setUp() {
+        productExporter =
+                new ProductExporter(
+                        productService,
+                        new ProductMapper(),
+                        new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        Product plain = new Product();
+        plain.setId("1");
+        plain.setSku("SKU-1");
+        plain.setName("Plain");
+        plain.setPrice(new BigDecimal("10.00"));
+        plain.setCategory(Category.BOOKS);
+
+        Product quoted = new Product();
+        quoted.setId("2");
+        quoted.setSku("SKU-2");
+        quoted.setName("Cable, \"braided\"");
+        quoted.setPrice(new BigDecimal("5.50"));
+
+        doAnswer(
+                        invocation -> {
+                            Consumer<Product> consumer = invocation.getArgument(0);
+                            List.of(plain, quoted).forEach(consumer);
+                            return null;
+                        })
+                .when(productService)
+                .exportProducts(any());
+    }
+
+    @Test
+    void export_shouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productExporter.export(ProductFileFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":\"1\"").contains("\"category\":\"Books\"");
+        assertThat(lines[1]).contains("\"name\":\"Cable, \\\"braided\\\"\"");
+    }
+
+    @Test
+    void export_shouldWriteHeaderAndEscapedCsvRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        productExporter.export(ProductFileFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,sku,name,");
+        assertThat(lines[1]).startsWith("1,SKU-1,Plain,,10.00,Books,0,0,");
+        assertThat(lines[2]).startsWith("2,SKU-2,\"Cable, \"\"braided\"\"\",,5.50,,");
+    }
+}
@@ -0,0 +1,192 @@
+package com.thedavestack.productcatalog.transfer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.thedavestack.productcatalog.dto.ProductImportResponse;
+import com.thedavestack.productcatalog.mapper.ProductMapper;
+import com.thedavestack.productcatalog.model.Category;
+import com.thedavestack.productcatalog.model.Product;
+import com.thedavestack.productcatalog.service.AuditService;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class ProductImporterTest {
+
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private TransactionTemplate transactionTemplate;
+    @Mock private AuditService auditService;
+
+    private static final Instant CREATED_AT = Instant.parse("2025-03-01T10:15:30Z");
+
+    private ProductImporter productImporter;
+
+    private boolean inTransaction;
+
+    @BeforeEach
+    void setUp() {
+        productImporter =
+                new ProductImporter(
+                        jdbcTemplate,
+                        transactionTemplate,
+                        Validation.buildDefaultValidatorFactory().getValidator(),
+                        new ObjectMapper(),
+                        new ProductMapper(),
+                        auditService);
+        ReflectionTestUtils.setField(productImporter, "chunkSize", 100);
+        ReflectionTestUtils.setField(productImporter, "maxReportedErrors", 10);
+    }
+
+    @Test
+    void importProducts_ReportsInvalidMalformedAndDuplicateRows() throws Exception {
+        // The staging insert only accepts the first SKU-1 row
+        insertReturns("SKU-1");
+        String ndjson =
+                """
+                {"name":"Lamp","price":10.00,"sku":"SKU-1","category":"Home & Garden"}
+                {"name":"","price":5.00}
+                not json
+
+                {"name":"Lamp again","price":12.00,"sku":"SKU-1"}
+                """;
+
+        ProductImportResponse response =
+                productImporter.importProducts(ProductFileFormat.NDJSON, stream(ndjson));
+
+        assertThat(response.totalRows()).isEqualTo(4);
+        assertThat(response.importedRows()).isEqualTo(1);
+        assertThat(response.failedRows()).isEqualTo(3);
+        assertThat(response.errors())
+                .extracting(ProductImportResponse.RowError::row)
+                .containsExactly(2L, 3L, 4L);
+        assertThat(response.errors().get(2).message()).contains("already exists");
+        assertThat(response.errorsTruncated()).isFalse();
+    }
+
+    @Test
+    void importProducts_AuditsInsertedRowsInTheTransactionWithDatabaseValues() throws Exception {
+        insertReturns("SKU-1");
+        AtomicBoolean auditedInTransaction = new AtomicBoolean();
+        doAnswer(invocation -> auditedInTransaction.compareAndSet(false, inTransaction))
+                .when(auditService)
+                .logCreateAll(eq("Product"), anyList(), any());
+
+        productImporter.importProducts(
+                ProductFileFormat.NDJSON,
+                stream("{\"name\":\"Lamp\",\"price\":10.00,\"sku\":\"SKU-1\"}\n"));
+
+        ArgumentCaptor<List<Product>> audited = ArgumentCaptor.captor();
+        verify(auditService).logCreateAll(eq("Product"), audited.capture(), any());
+        assertThat(auditedInTransaction).isTrue();
+        Product product = audited.getValue().get(0);
+        assertThat(product.getSku()).isEqualTo("SKU-1");
+        assertThat(product.getVersion()).isZero();
+        assertThat(product.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(product.getUpdatedAt()).isEqualTo(CREATED_AT);
+    }
+
+    @Test
+    void importProducts_ReadsCsvWithHeader() throws Exception {
+        insertReturns("SKU-2");
+        String csv = "sku,name,price,stockQuantity,id\nSKU-2,\"Desk, oak\",99.90,,ignored\n";
+
+        ProductImportResponse response =
+                productImporter.importProducts(ProductFileFormat.CSV, stream(csv));
+
+        assertThat(response.totalRows()).isEqualTo(1);
+        assertThat(response.importedRows()).isEqualTo(1);
+        assertThat(response.errors()).isEmpty();
+    }
+
+    @Test
+    void toCopyCsv_QuotesTextAndLeavesNullsEmpty() {
+        Product product = new Product();
+        product.setId("0190a1b2-0000-7000-8000-000000000001");
+        product.setSku("SKU-3");
+        product.setName("Cable, \"braided\"");
+        product.setPrice(new BigDecimal("5.50"));
+        product.setCategory(Category.ELECTRONICS);
+        product.setActive(true);
+
+        String csv = ProductImporter.toCopyCsv(List.of(new ProductImporter.StagedRow(7, product)));
+
+        assertThat(csv)
+                .isEqualTo(
+                        "7,0190a1b2-0000-7000-8000-000000000001,\"SKU-3\",\"Cable,"
+                                + " \"\"braided\"\"\",,5.50,\"Electronics\",0,0,,,,true\n");
+    }
+
+    /** Runs each chunk's transaction against a connection whose INSERT returns these SKUs. */
+    @SuppressWarnings("unchecked")
+    private void insertReturns(String sku) throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(mock(CopyManager.class));
+        when(statement.executeQuery(any())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getString("sku")).thenReturn(sku);
+        when(resultSet.getLong("version")).thenReturn(0L);
+        when(resultSet.getTimestamp("created_at")).thenReturn(Timestamp.from(CREATED_AT));
+        when(resultSet.getTimestamp("updated_at")).thenReturn(Timestamp.from(CREATED_AT));
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(
+                        invocation -> {
+                            inTransaction = true;
+                            try {
+                                return invocation
+                                        .<TransactionCallback<?>>getArgument(0)
+                                        .doInTransaction(null);
+                            } finally {
+                                inTransaction = false;
+                            }
+                        });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(
+                        invocation ->
+                                invocation
+                                        .<ConnectionCallback<?>>getArgument(0)
+                                        .doInConnection(connection));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}